@@ -16,11 +16,12 @@
  */
 package dev.wfj.gwtpdfbox.fontbox.ttf;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import dev.wfj.gwtpdfbox.io.IOUtils;
+import dev.wfj.gwtpdfbox.io.RandomAccessInputStream;
 import dev.wfj.gwtpdfbox.io.RandomAccessRead;
 import dev.wfj.gwtpdfbox.io.RandomAccessReadBuffer;
 
@@ -32,7 +33,7 @@ class RandomAccessReadDataStream extends TTFDataStream
 {
     private final RandomAccessRead randomAccessRead;
     private final long length;
-    private final byte[] data;
+    private final ByteBuffer data;
     
     /**
      * Constructor.
@@ -44,15 +45,24 @@ class RandomAccessReadDataStream extends TTFDataStream
     RandomAccessReadDataStream(RandomAccessRead randomAccessRead) throws IOException
     {
         length = randomAccessRead.length();
-        data = new byte[(int) length];
-        int remainingBytes = data.length;
-        int amountRead;
-        while ((amountRead = randomAccessRead.read(data, data.length - remainingBytes,
-                remainingBytes)) > 0)
+        if (randomAccessRead instanceof RandomAccessReadBuffer)
         {
-            remainingBytes -= amountRead;
+            // the data is kept in memory already, it is only copied if it is split into several chunks
+            data = ((RandomAccessReadBuffer) randomAccessRead).readBuffer((int) length);
         }
-        this.randomAccessRead = new RandomAccessReadBuffer(data);
+        else
+        {
+            byte[] bytes = new byte[(int) length];
+            int remainingBytes = bytes.length;
+            int amountRead;
+            while ((amountRead = randomAccessRead.read(bytes, bytes.length - remainingBytes,
+                    remainingBytes)) > 0)
+            {
+                remainingBytes -= amountRead;
+            }
+            data = ByteBuffer.wrap(bytes);
+        }
+        this.randomAccessRead = new RandomAccessReadBuffer(data.duplicate());
     }
     
     /**
@@ -64,9 +74,9 @@ class RandomAccessReadDataStream extends TTFDataStream
      */
     RandomAccessReadDataStream(InputStream inputStream) throws IOException
     {
-        data = IOUtils.toByteArray(inputStream);
-        length = data.length;
-        this.randomAccessRead = new RandomAccessReadBuffer(data);
+        data = ByteBuffer.wrap(IOUtils.toByteArray(inputStream));
+        length = data.capacity();
+        this.randomAccessRead = new RandomAccessReadBuffer(data.duplicate());
     }
 
     /**
@@ -163,7 +173,7 @@ class RandomAccessReadDataStream extends TTFDataStream
     @Override
     public InputStream getOriginalData() throws IOException
     {
-        return new ByteArrayInputStream(data);
+        return new RandomAccessInputStream(new RandomAccessReadBuffer(data.duplicate()));
     }
 
     /**
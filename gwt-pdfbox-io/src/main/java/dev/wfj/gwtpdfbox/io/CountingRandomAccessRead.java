@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import java.io.IOException;
+
+/**
+ * A decorator counting the I/O operations of a RandomAccessRead, see {@link RandomAccessReadStatistics}. Views
+ * created by {@link #createView(long, long)} are counted as well.
+ * 
+ * <p>Only consumed bytes are counted, i.e. bytes which are read or skipped. Peeking and lookahead windows aren't
+ * counted. Only calls of {@link #seek(long)} changing the position are counted as seeks. Bytes read again after
+ * seeking back are counted by {@link RandomAccessReadStatistics#getBytesRead()} each time, but only once by
+ * {@link RandomAccessReadStatistics#getDistinctBytesRead()}.</p>
+ * 
+ * <p>Pass an instance to {@code Loader.loadPDF} to collect the statistics while parsing, they are available from
+ * {@code PDDocument.getIOStatistics()} afterwards.</p>
+ */
+public class CountingRandomAccessRead implements RandomAccessRead
+{
+    private final RandomAccessRead randomAccessRead;
+    private final RandomAccessReadStatistics statistics;
+    // position of this instance within the counted source, views start at an offset
+    private final long sourceOffset;
+
+    /**
+     * Constructor.
+     * 
+     * @param randomAccessRead the random access read to be counted, it is closed when this instance is closed
+     */
+    public CountingRandomAccessRead(RandomAccessRead randomAccessRead)
+    {
+        this(randomAccessRead, new RandomAccessReadStatistics(), 0);
+    }
+
+    private CountingRandomAccessRead(RandomAccessRead randomAccessRead, RandomAccessReadStatistics statistics,
+            long sourceOffset)
+    {
+        this.randomAccessRead = randomAccessRead;
+        this.statistics = statistics;
+        this.sourceOffset = sourceOffset;
+    }
+
+    /**
+     * Returns the statistics of this instance and all of its views.
+     * 
+     * @return the statistics
+     */
+    public RandomAccessReadStatistics getStatistics()
+    {
+        return statistics;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException
+    {
+        long position = randomAccessRead.getPosition();
+        int value = randomAccessRead.read();
+        statistics.recordRead(sourceOffset + position, value > -1 ? 1 : 0);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] b, int offset, int length) throws IOException
+    {
+        long position = randomAccessRead.getPosition();
+        int bytesRead = randomAccessRead.read(b, offset, length);
+        statistics.recordRead(sourceOffset + position, bytesRead);
+        return bytesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int peek() throws IOException
+    {
+        // the byte isn't consumed, it is counted when it is read
+        return randomAccessRead.peek();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RandomAccessReadWindow lookahead(int length) throws IOException
+    {
+        // the bytes aren't consumed, they are counted when they are skipped or read
+        return randomAccessRead.lookahead(length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPosition() throws IOException
+    {
+        return randomAccessRead.getPosition();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void seek(long position) throws IOException
+    {
+        long oldPosition = randomAccessRead.getPosition();
+        randomAccessRead.seek(position);
+        statistics.recordSeek(oldPosition, randomAccessRead.getPosition());
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>Rewinding isn't counted as a seek, it is used by the parsers to unread bytes.</p>
+     */
+    @Override
+    public void rewind(int bytes) throws IOException
+    {
+        randomAccessRead.rewind(bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>The skipped bytes are counted as a read, the parsers consume a {@link #lookahead(int)} window this way.</p>
+     */
+    @Override
+    public void skip(int length) throws IOException
+    {
+        long oldPosition = randomAccessRead.getPosition();
+        randomAccessRead.skip(length);
+        long skipped = randomAccessRead.getPosition() - oldPosition;
+        if (skipped > 0)
+        {
+            statistics.recordRead(sourceOffset + oldPosition, (int) skipped);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long length() throws IOException
+    {
+        return randomAccessRead.length();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available() throws IOException
+    {
+        return randomAccessRead.available();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isClosed()
+    {
+        return randomAccessRead.isClosed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEOF() throws IOException
+    {
+        return randomAccessRead.isEOF();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException
+    {
+        randomAccessRead.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>The I/O of the view is added to the statistics of this instance.</p>
+     */
+    @Override
+    public RandomAccessReadView createView(long startPosition, long streamLength) throws IOException
+    {
+        return new RandomAccessReadView(new CountingRandomAccessRead(
+                randomAccessRead.createView(startPosition, streamLength), statistics, sourceOffset + startPosition), 0,
+                streamLength, true);
+    }
+}
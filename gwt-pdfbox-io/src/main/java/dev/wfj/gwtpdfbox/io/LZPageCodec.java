@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A fast LZ77 codec for scratch file pages using the LZ4 block format: a sequence of tokens each holding a run of
+ * literals followed by a back reference of at least 4 bytes. It trades compression ratio for speed, which suits pages
+ * being compressed and decompressed while a document is edited.
+ *
+ * <p>An instance keeps its hash table between calls and is not thread safe.</p>
+ */
+final class LZPageCodec
+{
+    private static final int MIN_MATCH = 4;
+    private static final int HASH_LOG = 12;
+    /** the last bytes are always literals */
+    private static final int LAST_LITERALS = 5;
+    /** a match has to start this many bytes before the end */
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int RUN_MASK = 15;
+
+    private final int[] hashTable = new int[1 << HASH_LOG];
+
+    /**
+     * Compresses the given data.
+     *
+     * @param src the data to be compressed
+     * @param srcLen the number of bytes to be compressed
+     * @param dst the array to write the compressed data to
+     * @return the length of the compressed data or <code>-1</code> if it doesn't fit into the given array
+     */
+    int compress(byte[] src, int srcLen, byte[] dst)
+    {
+        Arrays.fill(hashTable, -1);
+        int anchor = 0;
+        int dOff = 0;
+        int sOff = 0;
+        int matchLimit = srcLen - MF_LIMIT;
+        while (sOff < matchLimit)
+        {
+            int sequence = readInt(src, sOff);
+            int hash = (sequence * -1640531535) >>> (32 - HASH_LOG);
+            int ref = hashTable[hash];
+            hashTable[hash] = sOff;
+            if (ref < 0 || sOff - ref > MAX_DISTANCE || readInt(src, ref) != sequence)
+            {
+                sOff++;
+                continue;
+            }
+            // extend the match backwards into the pending literals
+            while (sOff > anchor && ref > 0 && src[sOff - 1] == src[ref - 1])
+            {
+                sOff--;
+                ref--;
+            }
+            int matchLen = MIN_MATCH;
+            int limit = srcLen - LAST_LITERALS;
+            while (sOff + matchLen < limit && src[sOff + matchLen] == src[ref + matchLen])
+            {
+                matchLen++;
+            }
+            dOff = writeSequence(src, anchor, sOff - anchor, sOff - ref, matchLen, dst, dOff);
+            if (dOff < 0)
+            {
+                return -1;
+            }
+            sOff += matchLen;
+            anchor = sOff;
+        }
+        return writeSequence(src, anchor, srcLen - anchor, 0, 0, dst, dOff);
+    }
+
+    /**
+     * Decompresses the given data.
+     *
+     * @param src the compressed data
+     * @param srcLen the length of the compressed data
+     * @param dst the array to write the decompressed data to
+     * @param dstLen the expected length of the decompressed data
+     * @throws IOException if the compressed data is corrupt
+     */
+    static void decompress(byte[] src, int srcLen, byte[] dst, int dstLen) throws IOException
+    {
+        int sOff = 0;
+        int dOff = 0;
+        while (sOff < srcLen)
+        {
+            int token = src[sOff++] & 0xff;
+            int literalLen = token >>> 4;
+            if (literalLen == RUN_MASK)
+            {
+                int b;
+                do
+                {
+                    b = src[sOff++] & 0xff;
+                    literalLen += b;
+                }
+                while (b == 255);
+            }
+            if (dOff + literalLen > dstLen || sOff + literalLen > srcLen)
+            {
+                throw new IOException("Corrupt compressed page, literals exceed the page");
+            }
+            System.arraycopy(src, sOff, dst, dOff, literalLen);
+            sOff += literalLen;
+            dOff += literalLen;
+            if (sOff >= srcLen)
+            {
+                // the last sequence has no match
+                break;
+            }
+            int offset = (src[sOff++] & 0xff) | ((src[sOff++] & 0xff) << 8);
+            int matchLen = token & RUN_MASK;
+            if (matchLen == RUN_MASK)
+            {
+                int b;
+                do
+                {
+                    b = src[sOff++] & 0xff;
+                    matchLen += b;
+                }
+                while (b == 255);
+            }
+            matchLen += MIN_MATCH;
+            int ref = dOff - offset;
+            if (offset == 0 || ref < 0 || dOff + matchLen > dstLen)
+            {
+                throw new IOException("Corrupt compressed page, invalid back reference");
+            }
+            if (offset >= matchLen)
+            {
+                System.arraycopy(dst, ref, dst, dOff, matchLen);
+                dOff += matchLen;
+            }
+            else
+            {
+                // overlapping match, repeats the last offset bytes
+                for (int i = 0; i < matchLen; i++)
+                {
+                    dst[dOff++] = dst[ref++];
+                }
+            }
+        }
+        if (dOff != dstLen)
+        {
+            throw new IOException("Corrupt compressed page, expected " + dstLen + " bytes but got " + dOff);
+        }
+    }
+
+    /**
+     * Writes a token with the given literals and match.
+     *
+     * @return the new offset within the destination or <code>-1</code> if the destination is too small
+     */
+    private static int writeSequence(byte[] src, int literalOff, int literalLen, int offset, int matchLen,
+            byte[] dst, int dOff)
+    {
+        int extraMatchLen = matchLen - MIN_MATCH;
+        int needed = 1 + literalLen + lengthBytes(literalLen) + (matchLen > 0 ? 2 + lengthBytes(extraMatchLen) : 0);
+        if (dOff + needed > dst.length)
+        {
+            return -1;
+        }
+        int token = Math.min(literalLen, RUN_MASK) << 4;
+        if (matchLen > 0)
+        {
+            token |= Math.min(extraMatchLen, RUN_MASK);
+        }
+        dst[dOff++] = (byte) token;
+        dOff = writeLength(literalLen, dst, dOff);
+        System.arraycopy(src, literalOff, dst, dOff, literalLen);
+        dOff += literalLen;
+        if (matchLen > 0)
+        {
+            dst[dOff++] = (byte) offset;
+            dst[dOff++] = (byte) (offset >>> 8);
+            dOff = writeLength(extraMatchLen, dst, dOff);
+        }
+        return dOff;
+    }
+
+    private static int lengthBytes(int length)
+    {
+        return length >= RUN_MASK ? (length - RUN_MASK) / 255 + 1 : 0;
+    }
+
+    private static int writeLength(int length, byte[] dst, int dOff)
+    {
+        if (length >= RUN_MASK)
+        {
+            int remaining = length - RUN_MASK;
+            while (remaining >= 255)
+            {
+                dst[dOff++] = (byte) 255;
+                remaining -= 255;
+            }
+            dst[dOff++] = (byte) remaining;
+        }
+        return dOff;
+    }
+
+    private static int readInt(byte[] b, int off)
+    {
+        return (b[off] & 0xff) | (b[off + 1] & 0xff) << 8 | (b[off + 2] & 0xff) << 16 | (b[off + 3] & 0xff) << 24;
+    }
+}
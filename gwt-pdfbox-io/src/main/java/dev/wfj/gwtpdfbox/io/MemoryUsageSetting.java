@@ -35,6 +35,15 @@ public final class MemoryUsageSetting
      *  <code>-1</code> means 'unrestricted' */
     private final long maxStorageBytes;
 
+    /** if <code>true</code> main-memory pages are taken from a pool shared by all instances */
+    private final boolean usePagePool;
+
+    /** directory to be used for scratch file */
+    private String tempDir;
+
+    /** if <code>true</code> main-memory pages are kept compressed */
+    private boolean usePageCompression;
+
     /**
      * Implementation of the function to create an instance of ScratchFile using the current settings.
      */
@@ -60,6 +69,21 @@ public final class MemoryUsageSetting
      */
     private MemoryUsageSetting(boolean useMainMemory, boolean useTempFile,
                         long maxMainMemoryBytes, long maxStorageBytes)
+    {
+        this(useMainMemory, useTempFile, maxMainMemoryBytes, maxStorageBytes, false);
+    }
+
+    /**
+     * Private constructor for setup buffering memory usage called by one of the setup methods.
+     * 
+     * @param useMainMemory see {@link #MemoryUsageSetting(boolean, boolean, long, long)}
+     * @param useTempFile see {@link #MemoryUsageSetting(boolean, boolean, long, long)}
+     * @param maxMainMemoryBytes see {@link #MemoryUsageSetting(boolean, boolean, long, long)}
+     * @param maxStorageBytes see {@link #MemoryUsageSetting(boolean, boolean, long, long)}
+     * @param usePagePool if <code>true</code> main-memory pages are taken from a shared pool
+     */
+    private MemoryUsageSetting(boolean useMainMemory, boolean useTempFile,
+                        long maxMainMemoryBytes, long maxStorageBytes, boolean usePagePool)
     {
         // do some checks; adjust values as needed to get consistent setting
         boolean locUseMainMemory = !useTempFile || useMainMemory;
@@ -93,6 +117,7 @@ public final class MemoryUsageSetting
         this.useTempFile = useTempFile;
         this.maxMainMemoryBytes = locMaxMainMemoryBytes;
         this.maxStorageBytes = locMaxStorageBytes;
+        this.usePagePool = usePagePool && locUseMainMemory;
     }
     
     /**
@@ -119,6 +144,33 @@ public final class MemoryUsageSetting
     }
     
     
+    /**
+     * Setups buffering memory usage to only use main-memory taken from a page pool which is shared by all instances
+     * using this setup. The pool is made of large off-heap buffers and pages are recycled when a document is closed,
+     * which avoids garbage collection pressure when many documents are opened and closed. The size is not restricted.
+     * Unused pool memory beyond the first 16 MB is given back when a document is closed.
+     * 
+     * @return returns an instance of MemoryUsageSetting set up to use pooled main memory
+     */
+    public static MemoryUsageSetting setupMainMemoryPooled()
+    {
+        return setupMainMemoryPooled(-1);
+    }
+
+    /**
+     * Setups buffering memory usage to only use main-memory taken from a shared page pool, see
+     * {@link #setupMainMemoryPooled()}, with the defined maximum per instance.
+     * 
+     * @param maxMainMemoryBytes maximum number of main-memory to be used; <code>-1</code> for no restriction;
+     * <code>0</code> will also be interpreted here as no restriction
+     * 
+     * @return returns an instance of MemoryUsageSetting set up to use pooled main memory
+     */
+    public static MemoryUsageSetting setupMainMemoryPooled(long maxMainMemoryBytes)
+    {
+        return new MemoryUsageSetting(true, false, maxMainMemoryBytes, maxMainMemoryBytes, true);
+    }
+
     /**
      * Setups buffering memory usage to use a portion of main-memory and additionally temporary file(s) in case the
      * specified portion is exceeded.
@@ -149,6 +201,42 @@ public final class MemoryUsageSetting
         return new MemoryUsageSetting(true, true, maxMainMemoryBytes, maxStorageBytes);
     }
 
+    /**
+     * Setups buffering memory usage to only use temporary file(s) (no main-memory) with not restricted size.
+     * 
+     * @return returns an instance of MemoryUsageSetting set up to use temporary files
+     */
+    public static MemoryUsageSetting setupTempFileOnly()
+    {
+        return setupTempFileOnly(-1);
+    }
+
+    /**
+     * Setups buffering memory usage to only use temporary file(s) (no main-memory) with the specified maximum size.
+     * 
+     * @param maxStorageBytes maximum size the temporary file(s) may have all together; <code>-1</code> for no
+     * restriction; <code>0</code> will also be interpreted here as no restriction
+     * 
+     * @return returns an instance of MemoryUsageSetting set up to use temporary files
+     */
+    public static MemoryUsageSetting setupTempFileOnly(long maxStorageBytes)
+    {
+        return new MemoryUsageSetting(false, true, 0, maxStorageBytes);
+    }
+
+    /**
+     * Sets directory to be used for temporary files. Temporary files are only supported on the JVM.
+     * 
+     * @param tempDir directory for temporary files; <code>null</code> to use the default temporary directory
+     * 
+     * @return this instance
+     */
+    public MemoryUsageSetting setTempDir(String tempDir)
+    {
+        this.tempDir = tempDir;
+        return this;
+    }
+
     
     /**
      * Returns <code>true</code> if main-memory is to be used.
@@ -178,6 +266,43 @@ public final class MemoryUsageSetting
         return useTempFile;
     }
     
+    /**
+     * Enables compression of main-memory pages. Recently used pages are kept uncompressed in a small cache, all other
+     * pages are compressed and the main-memory limit applies to the compressed size. This allows to hold much more
+     * stream data within the same amount of memory at the price of compressing and decompressing pages on access.
+     * 
+     * <p>Compression is only applied for setups using main-memory only without a page pool.</p>
+     * 
+     * @param usePageCompression <code>true</code> to compress main-memory pages
+     * 
+     * @return this instance
+     */
+    public MemoryUsageSetting setPageCompression(boolean usePageCompression)
+    {
+        this.usePageCompression = usePageCompression;
+        return this;
+    }
+
+    /**
+     * Returns <code>true</code> if main-memory pages are to be compressed.
+     * 
+     * @return true if this instance is set up to compress main-memory pages
+     */
+    public boolean usePageCompression()
+    {
+        return usePageCompression && useMainMemory && !useTempFile && !usePagePool;
+    }
+
+    /**
+     * Returns <code>true</code> if main-memory pages are taken from the shared page pool.
+     * 
+     * @return true if this instance is set up to use pooled main memory
+     */
+    public boolean usePagePool()
+    {
+        return usePagePool;
+    }
+    
     /**
      * Returns <code>true</code> if maximum main memory is restricted to a specific number of bytes.
      * 
@@ -217,6 +342,16 @@ public final class MemoryUsageSetting
     {
         return maxStorageBytes;
     }
+
+    /**
+     * Returns directory to be used for temporary files or <code>null</code> if it was not set.
+     * 
+     * @return the directory to be used for temporary files
+     */
+    public String getTempDir()
+    {
+        return tempDir;
+    }
     
     @Override
     public String toString()
@@ -225,8 +360,10 @@ public final class MemoryUsageSetting
                    (useTempFile ? "Mixed mode with max. of " + maxMainMemoryBytes + " main memory bytes" +
                                   (isStorageRestricted() ? " and max. of " + maxStorageBytes + " storage bytes" :
                                                            " and unrestricted scratch file size") :
-                                  (isMainMemoryRestricted() ? "Main memory only with max. of " + maxMainMemoryBytes + " bytes" :
-                                                              "Main memory only with no size restriction")):
+                                  (usePagePool ? "Pooled main memory" : "Main memory") +
+                                  (isMainMemoryRestricted() ? " only with max. of " + maxMainMemoryBytes + " bytes" :
+                                                              " only with no size restriction") +
+                                  (usePageCompression() ? " using page compression" : "")):
                    (isStorageRestricted() ? "Scratch file only with max. of " + maxStorageBytes + " bytes" :
                                             "Scratch file only with no size restriction");
     }
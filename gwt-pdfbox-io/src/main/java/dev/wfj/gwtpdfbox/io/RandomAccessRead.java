@@ -149,6 +149,40 @@ public interface RandomAccessRead extends Closeable
         seek(getPosition() + length);
     }
 
+    /**
+     * Returns a window on the next bytes without changing the position. It allows parsers to scan the input in a
+     * tight loop over an array instead of calling {@link #read()} for every byte. The caller advances the position
+     * using {@link #skip(int)} for the bytes consumed.
+     *
+     * <p>The default implementation copies the bytes to a new array using {@link #read(byte[], int, int)} and
+     * {@link #rewind(int)}. It is only a fallback, as the parsers call this method for every token all
+     * implementations should override it, either returning their internal storage or re-using one array for all
+     * windows.</p>
+     *
+     * @param length the maximum number of bytes of the window
+     * @return the window holding the next <code>min(length, available())</code> bytes
+     * @throws IOException if an I/O error occurs while reading data
+     */
+    default RandomAccessReadWindow lookahead(int length) throws IOException
+    {
+        byte[] bytes = new byte[Math.max(0, Math.min(length, available()))];
+        int bytesRead = 0;
+        while (bytesRead < bytes.length)
+        {
+            int read = read(bytes, bytesRead, bytes.length - bytesRead);
+            if (read <= 0)
+            {
+                break;
+            }
+            bytesRead += read;
+        }
+        if (bytesRead > 0)
+        {
+            rewind(bytesRead);
+        }
+        return new RandomAccessReadWindow(bytes, 0, bytesRead);
+    }
+
     /**
      * Creates a random access read view starting at the given position with the given length.
      * 
@@ -25,11 +25,16 @@ import java.util.List;
 /**
  * An implementation of the RandomAccessRead interface to store data in memory. The data will be stored in chunks
  * organized in an ArrayList.
+ *
+ * <p>Contiguous regions can be obtained as {@link ByteBuffer} using {@link #readBuffer(int)} and
+ * {@link #slice(long, int)}. Regions within a single chunk are returned without copying any data.</p>
  */
 public class RandomAccessReadBuffer implements RandomAccessRead
 {
     // default chunk size is 4kb
     private static final int DEFAULT_CHUNK_SIZE_4KB = 1 << 12;
+    // upper limit of the chunk size chosen for input streams of a known length
+    private static final int MAX_CHUNK_SIZE_16MB = 1 << 24;
     // use the default chunk size
     private int chunkSize = DEFAULT_CHUNK_SIZE_4KB;
     // list containing all chunks
@@ -46,6 +51,8 @@ public class RandomAccessReadBuffer implements RandomAccessRead
     private int bufferListIndex = 0;
     // maximum chunk list index
     private int bufferListMaxIndex = 0;
+    // re-used for lookahead windows spanning chunks
+    private byte[] lookaheadBuffer;
 
     /**
      * Default constructor.
@@ -100,7 +107,8 @@ public class RandomAccessReadBuffer implements RandomAccessRead
      */
     public RandomAccessReadBuffer(InputStream input) throws IOException
     {
-        this();
+        // use the number of available bytes as size hint, it is exact for in-memory streams
+        this(chooseChunkSize(input.available()));
         int bytesRead = 0;
         int remainingBytes = chunkSize;
         int offset = 0;
@@ -124,6 +132,19 @@ public class RandomAccessReadBuffer implements RandomAccessRead
         seek(0);
     }
 
+    /**
+     * Choose the chunk size for a stream with the given expected length. The whole stream fits into a single chunk if
+     * possible, so that it can be read without switching chunks.
+     */
+    private static int chooseChunkSize(int expectedLength)
+    {
+        if (expectedLength <= DEFAULT_CHUNK_SIZE_4KB)
+        {
+            return DEFAULT_CHUNK_SIZE_4KB;
+        }
+        return Math.min(expectedLength, MAX_CHUNK_SIZE_16MB);
+    }
+
     private RandomAccessReadBuffer(RandomAccessReadBuffer parent)
     {
         chunkSize = parent.chunkSize;
@@ -223,62 +244,135 @@ public class RandomAccessReadBuffer implements RandomAccessRead
     public int read(byte[] b, int offset, int length) throws IOException
     {
         checkClosed();
-        int bytesRead = readRemainingBytes(b, offset, length);
-        if (bytesRead == -1)
+        if (pointer >= size)
         {
-            if (available() > 0)
-            {
-                bytesRead = 0;
-            }
-            else
-            {
-                return -1;
-            }
+            return -1;
         }
-        while (bytesRead < length && available() > 0)
+        int bytesToRead = (int) Math.min(length, size - pointer);
+        int bytesRead = 0;
+        while (bytesRead < bytesToRead)
         {
             if (currentBufferPointer == chunkSize)
             {
                 nextBuffer();
             }
-            bytesRead += readRemainingBytes(b, offset + bytesRead, length - bytesRead);
+            // copy as many bytes as possible from the current chunk
+            int chunkBytes = Math.min(bytesToRead - bytesRead, chunkSize - currentBufferPointer);
+            currentBuffer.position(currentBufferPointer);
+            currentBuffer.get(b, offset + bytesRead, chunkBytes);
+            currentBufferPointer += chunkBytes;
+            pointer += chunkBytes;
+            bytesRead += chunkBytes;
         }
         return bytesRead;
     }
 
-    private int readRemainingBytes(byte[] b, int offset, int length)
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The window is backed by the internal chunk if the bytes are located within a single chunk.</p>
+     */
+    @Override
+    public RandomAccessReadWindow lookahead(int length) throws IOException
     {
-        if (pointer >= size)
+        checkClosed();
+        int windowLength = (int) Math.max(0, Math.min(length, size - pointer));
+        if (currentBufferPointer == chunkSize && windowLength > 0)
         {
-            return -1;
+            nextBuffer();
         }
-        int maxLength = (int) Math.min(length, size - pointer);
-        int remainingBytes = chunkSize - currentBufferPointer;
-        // no more bytes left
-        if (remainingBytes == 0)
+        if (currentBufferPointer + windowLength <= chunkSize && currentBuffer.hasArray())
         {
-            return -1;
+            return new RandomAccessReadWindow(currentBuffer.array(),
+                    currentBuffer.arrayOffset() + currentBufferPointer, windowLength);
         }
-        if (maxLength >= remainingBytes)
+        // the window spans chunks
+        if (lookaheadBuffer == null || lookaheadBuffer.length < windowLength)
         {
-            // copy the remaining bytes from the current buffer
-            currentBuffer.position(currentBufferPointer);
-            currentBuffer.get(b, offset, remainingBytes);
-            // end of file reached
-            currentBufferPointer += remainingBytes;
-            pointer += remainingBytes;
-            return remainingBytes;
+            lookaheadBuffer = new byte[windowLength];
         }
-        else
+        long oldPosition = pointer;
+        int bytesRead = Math.max(0, read(lookaheadBuffer, 0, windowLength));
+        seek(oldPosition);
+        return new RandomAccessReadWindow(lookaheadBuffer, 0, bytesRead);
+    }
+
+    /**
+     * Reads up to the given number of bytes starting at the current position and returns them as read-only
+     * {@link ByteBuffer}. The data isn't copied if it is located within a single chunk, otherwise it is copied to a
+     * new buffer. The position is advanced by the number of bytes returned.
+     *
+     * @param length the maximum number of bytes to be read
+     * @return a buffer holding the bytes read, an empty buffer if the end of the data was reached
+     * @throws IOException if this buffer has been closed
+     */
+    public ByteBuffer readBuffer(int length) throws IOException
+    {
+        ByteBuffer buffer = slice(pointer, length);
+        skip(buffer.remaining());
+        return buffer;
+    }
+
+    /**
+     * Returns the given region of the data as read-only {@link ByteBuffer}. The data isn't copied if the region is
+     * located within a single chunk, otherwise it is copied to a new buffer. The current position isn't changed.
+     *
+     * @param position the start position of the region
+     * @param length the maximum number of bytes of the region, it is truncated at the end of the data
+     * @return a buffer holding the region, an empty buffer if the position is beyond the end of the data
+     * @throws IOException if this buffer has been closed or the arguments are invalid
+     */
+    public ByteBuffer slice(long position, int length) throws IOException
+    {
+        checkClosed();
+        if (position < 0 || length < 0)
         {
-            // copy the remaining bytes from the whole buffer
-            currentBuffer.position(currentBufferPointer);
-            currentBuffer.get(b, offset, maxLength);
-            // end of file reached
-            currentBufferPointer += maxLength;
-            pointer += maxLength;
-            return maxLength;
+            throw new IOException("Invalid region at " + position + " with length " + length);
+        }
+        int regionLength = (int) Math.max(0, Math.min(length, size - position));
+        if (regionLength == 0)
+        {
+            return ByteBuffer.allocate(0);
+        }
+        ByteBuffer region = sliceChunk(position, regionLength);
+        if (region != null)
+        {
+            return region.asReadOnlyBuffer();
+        }
+        // the region spans several chunks, copy it chunk by chunk
+        int chunkIndex = (int) (position / chunkSize);
+        int positionInChunk = (int) (position % chunkSize);
+        byte[] data = new byte[regionLength];
+        int copied = 0;
+        while (copied < regionLength)
+        {
+            ByteBuffer chunk = bufferList.get(chunkIndex++).duplicate();
+            int chunkBytes = Math.min(regionLength - copied, chunkSize - positionInChunk);
+            chunk.position(positionInChunk);
+            chunk.get(data, copied, chunkBytes);
+            copied += chunkBytes;
+            positionInChunk = 0;
         }
+        return ByteBuffer.wrap(data).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the given region without copying it if it is located within a single chunk.
+     *
+     * @return a buffer sharing the data of the chunk or null if the region spans several chunks
+     */
+    private ByteBuffer sliceChunk(long position, int length)
+    {
+        int chunkIndex = (int) (position / chunkSize);
+        int positionInChunk = (int) (position % chunkSize);
+        if (positionInChunk + length > chunkSize)
+        {
+            return null;
+        }
+        ByteBuffer region = bufferList.get(chunkIndex).duplicate();
+        region.limit(positionInChunk + length);
+        region.position(positionInChunk);
+        return region.slice();
     }
 
     /**
@@ -357,9 +451,25 @@ public class RandomAccessReadBuffer implements RandomAccessRead
         return pointer >= size;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A view of a region within a single chunk reads a slice of that chunk, otherwise the view reads a copy of
+     * this buffer sharing all chunks.</p>
+     */
     @Override
     public RandomAccessReadView createView(long startPosition, long streamLength) throws IOException
     {
+        checkClosed();
+        if (startPosition >= 0 && startPosition < size && streamLength > 0)
+        {
+            long regionLength = Math.min(streamLength, size - startPosition);
+            ByteBuffer region = regionLength <= chunkSize ? sliceChunk(startPosition, (int) regionLength) : null;
+            if (region != null)
+            {
+                return new RandomAccessReadView(new RandomAccessReadBuffer(region), 0, streamLength, true);
+            }
+        }
         return new RandomAccessReadView(new RandomAccessReadBuffer(this), startPosition,
                 streamLength, true);
     }
@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An implementation of the RandomAccessRead interface using a memory mapped file. The file is mapped in windows of
+ * 1 GB so that files exceeding the 2 GB limit of a single mapped buffer can be read as well. Nothing is copied to the
+ * heap, the operating system pages the data in on demand.
+ *
+ * <p>This class is only available on the JVM.</p>
+ */
+@GwtIncompatible("memory mapped files aren't available in the browser")
+public class RandomAccessReadMemoryMappedFile implements RandomAccessRead
+{
+    // each window covers 1 GB of the file
+    private static final int WINDOW_SHIFT = 30;
+    private static final long WINDOW_SIZE = 1L << WINDOW_SHIFT;
+    private static final long WINDOW_MASK = WINDOW_SIZE - 1;
+
+    // mapped windows, duplicated for every view so that the buffer positions are independent
+    private ByteBuffer[] windows;
+    // the underlying file channel, null for views
+    private FileChannel fileChannel;
+    // size of the whole file
+    private final long size;
+    // current position within the file
+    private long position = 0;
+    // re-used for the lookahead windows
+    private byte[] lookaheadBuffer;
+
+    /**
+     * Default constructor.
+     *
+     * @param filename the filename of the file to be read.
+     * @throws IOException If there is an IO error opening the file.
+     */
+    public RandomAccessReadMemoryMappedFile(String filename) throws IOException
+    {
+        this(Paths.get(filename));
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param file the file to be read.
+     * @throws IOException If there is an IO error opening the file.
+     */
+    public RandomAccessReadMemoryMappedFile(File file) throws IOException
+    {
+        this(file.toPath());
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param path the path of the file to be read.
+     * @throws IOException If there is an IO error opening the file.
+     */
+    public RandomAccessReadMemoryMappedFile(Path path) throws IOException
+    {
+        fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        try
+        {
+            size = fileChannel.size();
+            int windowCount = (int) ((size + WINDOW_MASK) >>> WINDOW_SHIFT);
+            windows = new ByteBuffer[windowCount];
+            for (int i = 0; i < windowCount; i++)
+            {
+                long start = i * WINDOW_SIZE;
+                windows[i] = fileChannel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(WINDOW_SIZE, size - start));
+            }
+        }
+        catch (IOException exception)
+        {
+            fileChannel.close();
+            throw exception;
+        }
+    }
+
+    private RandomAccessReadMemoryMappedFile(RandomAccessReadMemoryMappedFile parent)
+    {
+        size = parent.size;
+        windows = new ByteBuffer[parent.windows.length];
+        for (int i = 0; i < windows.length; i++)
+        {
+            windows[i] = parent.windows[i].duplicate();
+        }
+        // the view doesn't own the file channel
+        fileChannel = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException
+    {
+        // the mapped memory is released when the buffers are garbage collected
+        windows = null;
+        if (fileChannel != null)
+        {
+            fileChannel.close();
+            fileChannel = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void seek(long newPosition) throws IOException
+    {
+        checkClosed();
+        if (newPosition < 0)
+        {
+            throw new IOException("Invalid position " + newPosition);
+        }
+        // it is allowed to jump beyond the end of the file
+        // jump to the end of the file
+        position = Math.min(newPosition, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPosition() throws IOException
+    {
+        checkClosed();
+        return position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException
+    {
+        checkClosed();
+        if (position >= size)
+        {
+            return -1;
+        }
+        ByteBuffer window = windows[(int) (position >>> WINDOW_SHIFT)];
+        int value = window.get((int) (position & WINDOW_MASK)) & 0xff;
+        position++;
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] b, int offset, int length) throws IOException
+    {
+        checkClosed();
+        if (position >= size)
+        {
+            return -1;
+        }
+        int bytesToRead = (int) Math.min(length, size - position);
+        int bytesRead = 0;
+        while (bytesRead < bytesToRead)
+        {
+            // a read may span two windows
+            ByteBuffer window = windows[(int) (position >>> WINDOW_SHIFT)];
+            int positionInWindow = (int) (position & WINDOW_MASK);
+            int chunk = Math.min(bytesToRead - bytesRead, window.limit() - positionInWindow);
+            window.position(positionInWindow);
+            window.get(b, offset + bytesRead, chunk);
+            bytesRead += chunk;
+            position += chunk;
+        }
+        return bytesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The bytes are copied to an array which is re-used for all windows of this instance.</p>
+     */
+    @Override
+    public RandomAccessReadWindow lookahead(int length) throws IOException
+    {
+        checkClosed();
+        int windowLength = (int) Math.max(0, Math.min(length, size - position));
+        if (lookaheadBuffer == null || lookaheadBuffer.length < windowLength)
+        {
+            lookaheadBuffer = new byte[windowLength];
+        }
+        if (windowLength > 0)
+        {
+            long oldPosition = position;
+            read(lookaheadBuffer, 0, windowLength);
+            position = oldPosition;
+        }
+        return new RandomAccessReadWindow(lookaheadBuffer, 0, windowLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long length() throws IOException
+    {
+        checkClosed();
+        return size;
+    }
+
+    /**
+     * Ensure that the RandomAccessReadMemoryMappedFile is not closed
+     *
+     * @throws IOException If RandomAccessReadMemoryMappedFile already closed
+     */
+    private void checkClosed() throws IOException
+    {
+        if (isClosed())
+        {
+            throw new IOException(getClass().getName() + " already closed");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isClosed()
+    {
+        return windows == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEOF() throws IOException
+    {
+        checkClosed();
+        return position >= size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The view shares the mapped memory with this instance, no data is copied.</p>
+     */
+    @Override
+    public RandomAccessReadView createView(long startPosition, long streamLength) throws IOException
+    {
+        checkClosed();
+        return new RandomAccessReadView(new RandomAccessReadMemoryMappedFile(this), startPosition,
+                streamLength, true);
+    }
+}
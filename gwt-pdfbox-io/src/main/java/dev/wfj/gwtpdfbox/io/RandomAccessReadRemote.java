@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An implementation of the RandomAccessRead interface loading the data on demand using a {@link RangeFetcher}. The
+ * data is fetched in blocks of a fixed size which are kept in a bounded cache of recently used blocks. Consecutive
+ * missing blocks of a read are fetched using a single request. When a PDF is parsed only the trailer, the cross
+ * reference table and the dereferenced objects are fetched, not the whole file.
+ *
+ * <p>Views created by {@link #createView(long, long)} share the block cache with this instance.</p>
+ */
+public class RandomAccessReadRemote implements RandomAccessRead
+{
+    // default block size is 64kb
+    private static final int DEFAULT_BLOCK_SIZE_64KB = 1 << 16;
+    // keep up to 4mb using the default block size
+    private static final int DEFAULT_MAX_CACHED_BLOCKS = 64;
+
+    // the block cache shared by this instance and all of its views
+    private final BlockCache blockCache;
+    // size of the whole data
+    private final long size;
+    // true if this instance owns the block cache and the fetcher
+    private final boolean isParent;
+    private boolean isClosed = false;
+    // current position within the data
+    private long position = 0;
+    // the block holding the current position, kept to avoid a cache lookup for each byte
+    private byte[] currentBlock;
+    private long currentBlockIndex = -1;
+    // re-used for lookahead windows spanning two blocks
+    private byte[] lookaheadBuffer;
+
+    /**
+     * Create a random access read using the given fetcher with the default block size of 64 KB and a cache of up to
+     * 64 blocks.
+     *
+     * @param fetcher the fetcher providing the data, it is closed when this instance is closed
+     * @throws IOException if the length of the data couldn't be determined
+     */
+    public RandomAccessReadRemote(RangeFetcher fetcher) throws IOException
+    {
+        this(fetcher, DEFAULT_BLOCK_SIZE_64KB, DEFAULT_MAX_CACHED_BLOCKS);
+    }
+
+    /**
+     * Create a random access read using the given fetcher.
+     *
+     * @param fetcher the fetcher providing the data, it is closed when this instance is closed
+     * @param blockSize the number of bytes of a block
+     * @param maxCachedBlocks the maximum number of blocks to be kept in the cache
+     * @throws IOException if the length of the data couldn't be determined
+     */
+    public RandomAccessReadRemote(RangeFetcher fetcher, int blockSize, int maxCachedBlocks) throws IOException
+    {
+        if (blockSize <= 0 || maxCachedBlocks <= 0)
+        {
+            throw new IllegalArgumentException(
+                    "Invalid block size " + blockSize + " or block count " + maxCachedBlocks);
+        }
+        size = fetcher.length();
+        blockCache = new BlockCache(fetcher, size, blockSize, maxCachedBlocks);
+        isParent = true;
+    }
+
+    private RandomAccessReadRemote(RandomAccessReadRemote parent)
+    {
+        size = parent.size;
+        blockCache = parent.blockCache;
+        isParent = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (isClosed)
+        {
+            return;
+        }
+        isClosed = true;
+        currentBlock = null;
+        if (isParent)
+        {
+            blockCache.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void seek(long newPosition) throws IOException
+    {
+        checkClosed();
+        if (newPosition < 0)
+        {
+            throw new IOException("Invalid position " + newPosition);
+        }
+        // it is allowed to jump beyond the end of the data
+        // jump to the end of the data
+        position = Math.min(newPosition, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPosition() throws IOException
+    {
+        checkClosed();
+        return position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException
+    {
+        checkClosed();
+        if (position >= size)
+        {
+            return -1;
+        }
+        byte[] block = getBlock(position / blockCache.blockSize, position / blockCache.blockSize);
+        return block[(int) (position++ % blockCache.blockSize)] & 0xff;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] b, int offset, int length) throws IOException
+    {
+        checkClosed();
+        if (position >= size)
+        {
+            return -1;
+        }
+        int bytesToRead = (int) Math.min(length, size - position);
+        long lastBlockIndex = (position + bytesToRead - 1) / blockCache.blockSize;
+        int bytesRead = 0;
+        while (bytesRead < bytesToRead)
+        {
+            byte[] block = getBlock(position / blockCache.blockSize, lastBlockIndex);
+            int positionInBlock = (int) (position % blockCache.blockSize);
+            int blockBytes = Math.min(bytesToRead - bytesRead, block.length - positionInBlock);
+            System.arraycopy(block, positionInBlock, b, offset + bytesRead, blockBytes);
+            bytesRead += blockBytes;
+            position += blockBytes;
+        }
+        return bytesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The window is backed by the cached block if the bytes are located within a single block.</p>
+     */
+    @Override
+    public RandomAccessReadWindow lookahead(int length) throws IOException
+    {
+        checkClosed();
+        int windowLength = (int) Math.max(0, Math.min(length, size - position));
+        if (windowLength == 0)
+        {
+            return new RandomAccessReadWindow(new byte[0], 0, 0);
+        }
+        long blockIndex = position / blockCache.blockSize;
+        long lastBlockIndex = (position + windowLength - 1) / blockCache.blockSize;
+        if (blockIndex == lastBlockIndex)
+        {
+            // the blocks aren't modified, so the window can't be changed by other reads
+            return new RandomAccessReadWindow(getBlock(blockIndex, lastBlockIndex),
+                    (int) (position % blockCache.blockSize), windowLength);
+        }
+        if (lookaheadBuffer == null || lookaheadBuffer.length < windowLength)
+        {
+            lookaheadBuffer = new byte[windowLength];
+        }
+        long oldPosition = position;
+        read(lookaheadBuffer, 0, windowLength);
+        position = oldPosition;
+        return new RandomAccessReadWindow(lookaheadBuffer, 0, windowLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long length() throws IOException
+    {
+        checkClosed();
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isClosed()
+    {
+        return isClosed || blockCache.isClosed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEOF() throws IOException
+    {
+        checkClosed();
+        return position >= size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The view shares the block cache with this instance.</p>
+     */
+    @Override
+    public RandomAccessReadView createView(long startPosition, long streamLength) throws IOException
+    {
+        checkClosed();
+        return new RandomAccessReadView(new RandomAccessReadRemote(this), startPosition, streamLength, true);
+    }
+
+    /**
+     * Returns the number of range requests sent to the fetcher so far.
+     *
+     * @return the number of range requests
+     */
+    public long getFetchCount()
+    {
+        return blockCache.fetchCount;
+    }
+
+    /**
+     * Returns the number of bytes fetched so far. It includes blocks fetched again after being evicted from the
+     * cache.
+     *
+     * @return the number of fetched bytes
+     */
+    public long getFetchedBytes()
+    {
+        return blockCache.fetchedBytes;
+    }
+
+    private byte[] getBlock(long blockIndex, long lastBlockIndex) throws IOException
+    {
+        if (blockIndex != currentBlockIndex)
+        {
+            currentBlock = blockCache.getBlock(blockIndex, lastBlockIndex);
+            currentBlockIndex = blockIndex;
+        }
+        return currentBlock;
+    }
+
+    /**
+     * Ensure that the RandomAccessReadRemote is not closed
+     *
+     * @throws IOException If RandomAccessReadRemote already closed
+     */
+    private void checkClosed() throws IOException
+    {
+        if (isClosed())
+        {
+            throw new IOException(getClass().getName() + " already closed");
+        }
+    }
+
+    /**
+     * The blocks fetched so far, limited to the given number of recently used blocks.
+     */
+    private static final class BlockCache
+    {
+        private final RangeFetcher fetcher;
+        private final long size;
+        private final int blockSize;
+        private final int maxCachedBlocks;
+        private final Map<Long, byte[]> blocks;
+        private boolean isClosed = false;
+        private long fetchCount = 0;
+        private long fetchedBytes = 0;
+
+        BlockCache(RangeFetcher fetcher, long size, int blockSize, int maxCachedBlocks)
+        {
+            this.fetcher = fetcher;
+            this.size = size;
+            this.blockSize = blockSize;
+            this.maxCachedBlocks = maxCachedBlocks;
+            blocks = new LinkedHashMap<Long, byte[]>(Math.min(maxCachedBlocks, 256), 0.75f, true)
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest)
+                {
+                    return size() > BlockCache.this.maxCachedBlocks;
+                }
+            };
+        }
+
+        /**
+         * Returns the block with the given index. If it has to be fetched, the following missing blocks up to the
+         * given last block index are fetched using the same request.
+         */
+        synchronized byte[] getBlock(long blockIndex, long lastBlockIndex) throws IOException
+        {
+            byte[] block = blocks.get(blockIndex);
+            if (block != null)
+            {
+                return block;
+            }
+            // extend the request to the following missing blocks, but don't fetch more than the cache can hold
+            // and more than fits into a single array
+            long endBlockIndex = blockIndex + 1;
+            long maxBlockCount = Math.max(1, Math.min(maxCachedBlocks, Integer.MAX_VALUE / blockSize));
+            long maxEndBlockIndex = Math.min(lastBlockIndex + 1, blockIndex + maxBlockCount);
+            while (endBlockIndex < maxEndBlockIndex && !blocks.containsKey(endBlockIndex))
+            {
+                endBlockIndex++;
+            }
+            long start = blockIndex * blockSize;
+            int length = (int) Math.min((endBlockIndex - blockIndex) * blockSize, size - start);
+            byte[] data = fetcher.fetch(start, length);
+            fetchCount++;
+            fetchedBytes += data.length;
+            if (data.length < length)
+            {
+                throw new IOException("Expected " + length + " bytes at position " + start + " but got "
+                        + data.length);
+            }
+            // split the fetched range into blocks, the first one is added last so that it is the most recent one
+            for (long index = endBlockIndex - 1; index >= blockIndex; index--)
+            {
+                long blockStart = (index - blockIndex) * blockSize;
+                int blockLength = (int) Math.min(blockSize, (long) length - blockStart);
+                block = new byte[blockLength];
+                System.arraycopy(data, (int) blockStart, block, 0, blockLength);
+                blocks.put(index, block);
+            }
+            return block;
+        }
+
+        synchronized boolean isClosed()
+        {
+            return isClosed;
+        }
+
+        synchronized void close() throws IOException
+        {
+            isClosed = true;
+            blocks.clear();
+            fetcher.close();
+        }
+    }
+}
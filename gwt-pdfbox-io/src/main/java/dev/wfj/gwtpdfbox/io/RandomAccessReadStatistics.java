@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * I/O counters collected by a {@link CountingRandomAccessRead} and all of its views.
+ *
+ * <p>This class is thread safe.</p>
+ */
+public final class RandomAccessReadStatistics
+{
+    /** number of buckets of the read size histogram, the last one holds all reads of 1 GB or more */
+    public static final int HISTOGRAM_BUCKETS = 31;
+
+    private long bytesRead = 0;
+    private long distinctBytesRead = 0;
+    private long readCount = 0;
+    private long seekCount = 0;
+    private long backwardSeekCount = 0;
+    private long backwardSeekDistance = 0;
+    private final long[] readSizeHistogram = new long[HISTOGRAM_BUCKETS];
+    // disjoint and non-adjacent ranges of the source read so far, start position to end position (exclusive)
+    private final TreeMap<Long, Long> readRanges = new TreeMap<>();
+
+    synchronized void recordRead(long position, int bytes)
+    {
+        readCount++;
+        if (bytes > 0)
+        {
+            bytesRead += bytes;
+            readSizeHistogram[Math.min(31 - Integer.numberOfLeadingZeros(bytes), HISTOGRAM_BUCKETS - 1)]++;
+            addReadRange(position, position + bytes);
+        }
+    }
+
+    /**
+     * Adds the given range to the ranges read so far, merging it with all overlapping and adjacent ones.
+     */
+    private void addReadRange(long start, long end)
+    {
+        Map.Entry<Long, Long> previous = readRanges.floorEntry(start);
+        if (previous != null && previous.getValue() >= start)
+        {
+            if (previous.getValue() >= end)
+            {
+                // the range was read before
+                return;
+            }
+            start = previous.getKey();
+        }
+        Map.Entry<Long, Long> range = readRanges.ceilingEntry(start);
+        while (range != null && range.getKey() <= end)
+        {
+            end = Math.max(end, range.getValue());
+            distinctBytesRead -= range.getValue() - range.getKey();
+            readRanges.remove(range.getKey());
+            range = readRanges.ceilingEntry(start);
+        }
+        readRanges.put(start, end);
+        distinctBytesRead += end - start;
+    }
+
+    synchronized void recordSeek(long from, long to)
+    {
+        if (from == to)
+        {
+            return;
+        }
+        seekCount++;
+        if (to < from)
+        {
+            backwardSeekCount++;
+            backwardSeekDistance += from - to;
+        }
+    }
+
+    /**
+     * Returns the number of bytes consumed by reading or skipping them. Bytes which are read again after seeking
+     * back are counted again, see {@link #getDistinctBytesRead()} for the number of different bytes.
+     * 
+     * @return the number of bytes read
+     */
+    public synchronized long getBytesRead()
+    {
+        return bytesRead;
+    }
+
+    /**
+     * Returns the number of different bytes of the source consumed by reading or skipping them, bytes read by views
+     * are located by their position within the source. The difference to {@link #getBytesRead()} is the number of
+     * bytes read more than once.
+     * 
+     * @return the number of different bytes read
+     */
+    public synchronized long getDistinctBytesRead()
+    {
+        return distinctBytesRead;
+    }
+
+    /**
+     * Returns the number of read and skip calls, including read calls at the end of the data.
+     * 
+     * @return the number of read calls
+     */
+    public synchronized long getReadCount()
+    {
+        return readCount;
+    }
+
+    /**
+     * Returns the number of seeks changing the position. Skips and rewinds aren't counted as seeks.
+     * 
+     * @return the number of seeks
+     */
+    public synchronized long getSeekCount()
+    {
+        return seekCount;
+    }
+
+    /**
+     * Returns the number of seeks to a position before the current one.
+     * 
+     * @return the number of backward seeks
+     */
+    public synchronized long getBackwardSeekCount()
+    {
+        return backwardSeekCount;
+    }
+
+    /**
+     * Returns the sum of the distances of all backward seeks.
+     * 
+     * @return the backward seek distance in bytes
+     */
+    public synchronized long getBackwardSeekDistance()
+    {
+        return backwardSeekDistance;
+    }
+
+    /**
+     * Returns the histogram of the read sizes. Bucket <code>i</code> counts the reads of
+     * <code>2<sup>i</sup></code> up to <code>2<sup>i+1</sup>-1</code> bytes, the last bucket counts all larger reads.
+     * Reads without any data aren't counted.
+     * 
+     * @return a copy of the histogram
+     */
+    public synchronized long[] getReadSizeHistogram()
+    {
+        return Arrays.copyOf(readSizeHistogram, HISTOGRAM_BUCKETS);
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return "bytes read: " + bytesRead + ", distinct bytes read: " + distinctBytesRead + ", reads: " + readCount + ", seeks: " + seekCount
+                + ", backward seeks: " + backwardSeekCount + ", backward seek distance: " + backwardSeekDistance;
+    }
+}
@@ -126,6 +126,19 @@ public class RandomAccessReadView implements RandomAccessRead
         return readBytes;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The window is provided by the underlying random access read.</p>
+     */
+    @Override
+    public RandomAccessReadWindow lookahead(int length) throws IOException
+    {
+        checkClosed();
+        restorePosition();
+        return randomAccessRead.lookahead(Math.min(length, available()));
+    }
+
     /**
      * {@inheritDoc}
      */
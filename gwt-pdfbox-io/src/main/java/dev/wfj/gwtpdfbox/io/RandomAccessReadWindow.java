@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+/**
+ * A window on the next bytes of a {@link RandomAccessRead}, see {@link RandomAccessRead#lookahead(int)}. The bytes are
+ * located in the given array starting at the given offset. The array may be the internal storage of the
+ * RandomAccessRead or an array re-used for all windows, so it must not be modified and it is only valid until the next
+ * lookahead or until the RandomAccessRead is modified or closed.
+ */
+public final class RandomAccessReadWindow
+{
+    private final byte[] array;
+    private final int offset;
+    private final int length;
+
+    /**
+     * Constructor.
+     * 
+     * @param array the array holding the bytes
+     * @param offset the offset of the first byte within the array
+     * @param length the number of bytes
+     */
+    public RandomAccessReadWindow(byte[] array, int offset, int length)
+    {
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns the array holding the bytes.
+     * 
+     * @return the array, it must not be modified
+     */
+    public byte[] getArray()
+    {
+        return array;
+    }
+
+    /**
+     * Returns the offset of the first byte within the array.
+     * 
+     * @return the offset of the first byte
+     */
+    public int getOffset()
+    {
+        return offset;
+    }
+
+    /**
+     * Returns the number of bytes of the window.
+     * 
+     * @return the number of bytes
+     */
+    public int getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Returns the byte at the given index within the window.
+     * 
+     * @param index the index within the window
+     * @return the unsigned value of the byte
+     */
+    public int get(int index)
+    {
+        return array[offset + index] & 0xff;
+    }
+}
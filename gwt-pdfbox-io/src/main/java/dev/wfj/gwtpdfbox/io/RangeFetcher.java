@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A source of byte ranges, e.g. a remote file fetched using HTTP range requests. It is used by
+ * {@link RandomAccessReadRemote} to load the parts of a file which are actually read.
+ *
+ * <p>Implementations have to be synchronous, e.g. a synchronous XMLHttpRequest within a web worker.</p>
+ */
+public interface RangeFetcher extends Closeable
+{
+    /**
+     * Returns the total length of the data.
+     *
+     * @return the length in bytes
+     * @throws IOException if the length couldn't be determined
+     */
+    long length() throws IOException;
+
+    /**
+     * Fetches the given range of the data.
+     *
+     * @param position the start position of the range
+     * @param length the number of bytes of the range
+     * @return the bytes of the range; shorter than the requested length only if the range exceeds the end of the data
+     * @throws IOException if the range couldn't be fetched
+     */
+    byte[] fetch(long position, int length) throws IOException;
+
+    /**
+     * Releases the resources of this fetcher. The default implementation does nothing.
+     *
+     * @throws IOException if something went wrong
+     */
+    @Override
+    default void close() throws IOException
+    {
+    }
+}
@@ -18,8 +18,10 @@ package dev.wfj.gwtpdfbox.io;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.BitSet;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import elemental2.dom.DomGlobal;
 
@@ -57,19 +59,45 @@ public class ScratchFile implements RandomAccessStreamCache
     /** in case of unrestricted main memory usage this is the initial number of pages
      *  {@link #inMemoryPages} is setup for */
     private static final int INIT_UNRESTRICTED_MAINMEM_PAGECOUNT = 100000;
+    /** in case of unrestricted pooled main memory usage this is the initial number of pages
+     *  {@link #pooledPageSlots} is setup for */
+    private static final int INIT_UNRESTRICTED_POOLED_PAGECOUNT = 1024;
     private static final int PAGE_SIZE = 4096;
+    /** number of recently used scratch file pages kept in {@link #hotPages} */
+    private static final int HOT_PAGE_COUNT = 16;
     
     private final Object ioLock = new Object();
+    private final String scratchFileDirectory;
     /** random access to scratch file; only to be accessed under synchronization of {@link #ioLock} */
-    private volatile int pageCount = 0;
-    private final BitSet freePages = new BitSet();
+    private ScratchFilePageFile pageFile;
+    /** recently used pages of the scratch file; only to be accessed under synchronization of {@link #ioLock} */
+    private final Map<Integer, byte[]> hotPages = new LinkedHashMap<Integer, byte[]>(HOT_PAGE_COUNT, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, byte[]> eldest)
+        {
+            return size() > HOT_PAGE_COUNT;
+        }
+    };
+    /** free and used pages, allocation doesn't require {@link #ioLock} unless new pages have to be added */
+    private final ScratchFilePageAllocator pageAllocator;
     /** holds pointers to in-memory page content; will be initialized once in case of restricted
      *  main memory, otherwise it is enlarged as needed and first initialized to a size of
      *  {@link #INIT_UNRESTRICTED_MAINMEM_PAGECOUNT} */
     private volatile byte[][] inMemoryPages;
+    /** shared page pool used instead of {@link #inMemoryPages} if configured, <code>null</code> otherwise */
+    private final ScratchFilePageArena pageArena;
+    /** holds the pool slots of in-memory pages (<code>-1</code> if not written yet) in case of a page pool;
+     *  initialized and enlarged like {@link #inMemoryPages} */
+    private volatile int[] pooledPageSlots;
+    /** compressed page storage used instead of {@link #inMemoryPages} if configured, <code>null</code> otherwise */
+    private final ScratchFileCompressedPages compressedPages;
     private final int inMemoryMaxPageCount;
     private final int maxPageCount;
     private final boolean maxMainMemoryIsRestricted;
+    private final boolean useScratchFile;
 
     private final List<ScratchFileBuffer> buffers = new ArrayList<>();
 
@@ -80,7 +108,8 @@ public class ScratchFile implements RandomAccessStreamCache
      * then the scratch file will be created in that directory.
      * 
      * <p>Depending on the size of allowed memory usage a number of pages (memorySize/{@link #PAGE_SIZE})
-     * will be stored in-memory and only additional pages will be written to/read from scratch file.</p>
+     * will be stored in-memory and only additional pages will be written to/read from scratch file. The most
+     * recently used scratch file pages are kept in memory as well.</p>
      * 
      * @param memUsageSetting set how memory/temporary files are used for buffering streams etc. 
      * 
@@ -90,25 +119,62 @@ public class ScratchFile implements RandomAccessStreamCache
     {
         maxMainMemoryIsRestricted = !memUsageSetting.useMainMemory()
                 || memUsageSetting.isMainMemoryRestricted();
+        useScratchFile = maxMainMemoryIsRestricted && memUsageSetting.useTempFile();
+        pageArena = memUsageSetting.usePagePool() ? ScratchFilePageArena.getSharedInstance(PAGE_SIZE) : null;
+        // the main memory limit applies to the compressed size, the number of pages isn't limited
+        compressedPages = memUsageSetting.usePageCompression()
+                ? new ScratchFileCompressedPages(PAGE_SIZE, INIT_UNRESTRICTED_POOLED_PAGECOUNT,
+                        memUsageSetting.getMaxMainMemoryBytes())
+                : null;
+        scratchFileDirectory = useScratchFile ? memUsageSetting.getTempDir() : null;
+
+        if (scratchFileDirectory != null)
+        {
+            ScratchFilePageFile.checkDirectory(scratchFileDirectory);
+        }
         
-        maxPageCount = memUsageSetting.isStorageRestricted() ?
+        maxPageCount = memUsageSetting.isStorageRestricted() && compressedPages == null ?
                            (int) Math.min(Integer.MAX_VALUE, memUsageSetting.getMaxStorageBytes() / PAGE_SIZE) :
                            Integer.MAX_VALUE;
                 
         inMemoryMaxPageCount = memUsageSetting.useMainMemory() ? 
-                                   (memUsageSetting.isMainMemoryRestricted() ?
+                                   (memUsageSetting.isMainMemoryRestricted() && compressedPages == null ?
                                        (int) Math.min(Integer.MAX_VALUE, memUsageSetting.getMaxMainMemoryBytes() / PAGE_SIZE) :
                                        Integer.MAX_VALUE) :
                                    0;
+        pageAllocator = new ScratchFilePageAllocator(inMemoryMaxPageCount);
+        if (compressedPages != null)
+        {
+            pageAllocator.addPages(0, compressedPages.getCapacity());
+        }
     }
 
     private void initPages()
     {
-        if (inMemoryPages == null)
+        if (compressedPages != null || inMemoryPages != null || pooledPageSlots != null)
         {
-            inMemoryPages = new byte[maxMainMemoryIsRestricted ? inMemoryMaxPageCount
-                    : INIT_UNRESTRICTED_MAINMEM_PAGECOUNT][];
-            freePages.set(0, inMemoryPages.length);
+            // page indexes are already setup, compressed pages are setup by the constructor
+            return;
+        }
+        synchronized (ioLock)
+        {
+            if (pageArena != null)
+            {
+                if (pooledPageSlots == null)
+                {
+                    int[] newPooledPageSlots = new int[maxMainMemoryIsRestricted ? inMemoryMaxPageCount
+                            : INIT_UNRESTRICTED_POOLED_PAGECOUNT];
+                    Arrays.fill(newPooledPageSlots, -1);
+                    pooledPageSlots = newPooledPageSlots;
+                    pageAllocator.addPages(0, newPooledPageSlots.length);
+                }
+            }
+            else if (inMemoryPages == null)
+            {
+                inMemoryPages = new byte[maxMainMemoryIsRestricted ? inMemoryMaxPageCount
+                        : INIT_UNRESTRICTED_MAINMEM_PAGECOUNT][];
+                pageAllocator.addPages(0, inMemoryPages.length);
+            }
         }
     }
 
@@ -163,31 +229,37 @@ public class ScratchFile implements RandomAccessStreamCache
      */
     int getNewPage() throws IOException
     {
-        synchronized (freePages)
+        initPages();
+        int idx = pageAllocator.allocate();
+        
+        if (idx < 0)
         {
-            initPages();
-            int idx = freePages.nextSetBit( 0 );
-            
-            if (idx < 0)
+            synchronized (ioLock)
             {
-                enlarge();
-                
-                idx = freePages.nextSetBit( 0 );
+                // another thread may have added pages in the meantime
+                idx = pageAllocator.allocate();
                 if (idx < 0)
                 {
-                    throw new IOException("Maximum allowed scratch file memory exceeded.");
+                    enlarge();
+                    idx = pageAllocator.allocate();
                 }
             }
-            
-            freePages.clear(idx);
-            
-            if (idx >= pageCount)
+            if (idx < 0)
             {
-                pageCount = idx + 1;
+                throw new IOException("Maximum allowed scratch file memory exceeded.");
             }
-            
-            return idx;
         }
+        // a compressed page counts with its full size until it is written
+        if (compressedPages != null && !compressedPages.reservePage(idx))
+        {
+            if (pageAllocator.release(idx))
+            {
+                pageAllocator.recycle(idx);
+            }
+            throw new IOException("Maximum allowed scratch file memory exceeded.");
+        }
+        
+        return idx;
     }
 
     /**
@@ -202,7 +274,7 @@ public class ScratchFile implements RandomAccessStreamCache
      * <p>If scratch file usage is allowed and scratch file does not exist already
      * it will be created.</p>
      * 
-     * <p>Only to be called under synchronization on {@link #freePages}.</p>
+     * <p>Only to be called under synchronization on {@link #ioLock}.</p>
      */
     private void enlarge() throws IOException
     {
@@ -210,12 +282,57 @@ public class ScratchFile implements RandomAccessStreamCache
         {
             checkClosed();
      
+            // all pages are in use, so the highest page index is the number of pages
+            int pageCount = pageAllocator.getPageCount();
             if (pageCount >= maxPageCount)
             {
                 return;
             }
 
-            if (!maxMainMemoryIsRestricted)
+            if (useScratchFile)
+            {
+                // create scratch file is needed
+                if (pageFile == null)
+                {
+                    pageFile = new ScratchFilePageFile(scratchFileDirectory, PAGE_SIZE);
+                }
+
+                long fileLen = pageFile.length();
+                long expectedFileLen = ((long) pageCount - inMemoryMaxPageCount) * PAGE_SIZE;
+
+                if (expectedFileLen != fileLen)
+                {
+                    throw new IOException("Expected scratch file size of " + expectedFileLen + " but found "
+                            + fileLen + " in file " + pageFile);
+                }
+
+                // enlarge without exceeding the storage limit, this handles integer overflow too
+                int newPageCount = (int) Math.min(((long) pageCount) + ENLARGE_PAGE_COUNT, maxPageCount);
+                pageFile.setPageCount(newPageCount - inMemoryMaxPageCount);
+                pageAllocator.addPages(pageCount, newPageCount);
+            }
+            else if (compressedPages != null)
+            {
+                // increase number of compressed in-memory pages, the memory limit is checked by getNewPage
+                int oldSize = compressedPages.getCapacity();
+                int newSize = compressedPages.enlarge();
+                pageAllocator.addPages(oldSize, newSize);
+            }
+            else if (!maxMainMemoryIsRestricted && pageArena != null)
+            {
+                // increase number of pooled in-memory pages
+                int oldSize = pooledPageSlots.length;
+                int newSize = (int) Math.min( ((long)oldSize) * 2, Integer.MAX_VALUE);  // this handles integer overflow
+                if (newSize > oldSize)
+                {
+                    int[] newPooledPageSlots = Arrays.copyOf(pooledPageSlots, newSize);
+                    Arrays.fill(newPooledPageSlots, oldSize, newSize, -1);
+                    pooledPageSlots = newPooledPageSlots;
+                    
+                    pageAllocator.addPages(oldSize, newSize);
+                }
+            }
+            else if (!maxMainMemoryIsRestricted)
             {
                 // increase number of in-memory pages
                 int oldSize = inMemoryPages.length;
@@ -226,7 +343,7 @@ public class ScratchFile implements RandomAccessStreamCache
                     System.arraycopy(inMemoryPages, 0, newInMemoryPages, 0, oldSize);
                     inMemoryPages = newInMemoryPages;
                     
-                    freePages.set(oldSize, newSize);
+                    pageAllocator.addPages(oldSize, newSize);
                 }
             }
         }
@@ -253,6 +370,7 @@ public class ScratchFile implements RandomAccessStreamCache
      */
     byte[] readPage(int pageIdx) throws IOException
     {
+        int pageCount = pageAllocator.getPageCount();
         if ((pageIdx < 0) || (pageIdx >= pageCount))
         {
             checkClosed();
@@ -262,6 +380,19 @@ public class ScratchFile implements RandomAccessStreamCache
         // check if we have the page in memory
         if (pageIdx < inMemoryMaxPageCount)
         {
+            if (compressedPages != null)
+            {
+                byte[] page = new byte[PAGE_SIZE];
+                compressedPages.read(pageIdx, page);
+                return page;
+            }
+            if (pageArena != null)
+            {
+                byte[] page = new byte[PAGE_SIZE];
+                readPooledPage(pageIdx, page);
+                return page;
+            }
+
             byte[] page = inMemoryPages[pageIdx];
             
             // handle case that we are closed
@@ -276,13 +407,71 @@ public class ScratchFile implements RandomAccessStreamCache
         
         synchronized (ioLock)
         {
-            
-            byte[] page = new byte[PAGE_SIZE];
-            
+            if (pageFile == null)
+            {
+                checkClosed();
+                throw new IOException("Missing scratch file to read page with index " + pageIdx + " from.");
+            }
+
+            byte[] page = hotPages.get(pageIdx);
+            if (page == null)
+            {
+                page = new byte[PAGE_SIZE];
+                pageFile.readPage(pageIdx - inMemoryMaxPageCount, page);
+                hotPages.put(pageIdx, page);
+            }
             return page;
         }
     }
     
+    /**
+     * Reads the page with specified index into the given array. In contrast to {@link #readPage(int)} the
+     * returned data is always a copy, so the caller may re-use the array for other pages.
+     * 
+     * @param pageIdx index of page to read
+     * @param page byte array of size {@link #PAGE_SIZE} to be filled with the page data
+     * 
+     * @throws IOException
+     */
+    void readPage(int pageIdx, byte[] page) throws IOException
+    {
+        boolean inRange = pageIdx >= 0 && pageIdx < Math.min(pageAllocator.getPageCount(), inMemoryMaxPageCount);
+        if (compressedPages != null && inRange)
+        {
+            compressedPages.read(pageIdx, page);
+        }
+        else if (pageArena != null && inRange)
+        {
+            readPooledPage(pageIdx, page);
+        }
+        else
+        {
+            System.arraycopy(readPage(pageIdx), 0, page, 0, PAGE_SIZE);
+        }
+    }
+
+    private void readPooledPage(int pageIdx, byte[] page) throws IOException
+    {
+        int slot = pooledPageSlots[pageIdx];
+        if (slot < 0)
+        {
+            checkClosed();
+            throw new IOException("Requested page with index " + pageIdx + " was not written before.");
+        }
+        pageArena.read(slot, page);
+    }
+
+    /**
+     * Returns <code>true</code> if page content is copied when a page is written (pooled or compressed pages), so the
+     * provided page array may be re-used for other pages afterwards.
+     * 
+     * @return true if pages are copied on write
+     */
+    boolean isPageCopiedOnWrite()
+    {
+        return pageArena != null || compressedPages != null;
+    }
+
     /**
      * Writes updated page. Page is either kept in-memory if pageIdx &lt; {@link #inMemoryMaxPageCount}
      * or is written to scratch file.
@@ -298,6 +487,7 @@ public class ScratchFile implements RandomAccessStreamCache
      */
     void writePage(int pageIdx, byte[] page) throws IOException
     {
+        int pageCount = pageAllocator.getPageCount();
         if ((pageIdx<0) || (pageIdx>=pageCount))
         {
             checkClosed();
@@ -311,7 +501,26 @@ public class ScratchFile implements RandomAccessStreamCache
         
         if (pageIdx < inMemoryMaxPageCount)
         {
-            if (maxMainMemoryIsRestricted)
+            if (compressedPages != null)
+            {
+                compressedPages.write(pageIdx, page);
+            }
+            else if (pageArena != null)
+            {
+                if (maxMainMemoryIsRestricted)
+                {
+                    writePooledPage(pageIdx, page);
+                }
+                else
+                {
+                    // need synchronization since pooledPageSlots may change
+                    synchronized (ioLock)
+                    {
+                        writePooledPage(pageIdx, page);
+                    }
+                }
+            }
+            else if (maxMainMemoryIsRestricted)
             {
                 inMemoryPages[pageIdx] = page;
             }
@@ -332,10 +541,47 @@ public class ScratchFile implements RandomAccessStreamCache
             synchronized (ioLock)
             {
                 checkClosed();
+                pageFile.writePage(pageIdx - inMemoryMaxPageCount, page);
+                // the page is written through, the cached copy is always clean
+                hotPages.put(pageIdx, page);
             }
         }
     }
     
+    private void writePooledPage(int pageIdx, byte[] page)
+    {
+        int slot = pooledPageSlots[pageIdx];
+        if (slot < 0)
+        {
+            slot = pageArena.allocate();
+            pooledPageSlots[pageIdx] = slot;
+        }
+        pageArena.write(slot, page);
+    }
+
+    /**
+     * Returns the ratio of the uncompressed to the compressed size of the compressed main memory pages, see
+     * {@link MemoryUsageSetting#setPageCompression(boolean)}.
+     * 
+     * @return the compression ratio, <code>1</code> if page compression isn't used or nothing was compressed yet
+     */
+    public double getPageCompressionRatio()
+    {
+        return compressedPages != null ? compressedPages.getCompressionRatio() : 1;
+    }
+
+    /**
+     * Returns the share of page reads served by the cache of decompressed pages, see
+     * {@link MemoryUsageSetting#setPageCompression(boolean)}.
+     * 
+     * @return the hit rate between <code>0</code> and <code>1</code>, <code>0</code> if page compression isn't used
+     * or no page was read yet
+     */
+    public double getPageCacheHitRate()
+    {
+        return compressedPages != null ? compressedPages.getHitRate() : 0;
+    }
+
     /**
      * Checks if this page handler has already been closed. If so,
      * an {@link IOException} is thrown.
@@ -383,25 +629,60 @@ public class ScratchFile implements RandomAccessStreamCache
      */
     void markPagesAsFree(int[] pageIndexes, int off, int count) {
         
-        synchronized (freePages)
+        for (int aIdx = off; aIdx < count; aIdx++)
         {
-            for (int aIdx = off; aIdx < count; aIdx++)
+            int pageIdx = pageIndexes[aIdx];
+            // the page content is dropped before the page may be handed out again
+            if ((pageIdx>=0) && (pageIdx<pageAllocator.getPageCount()) && pageAllocator.release(pageIdx))
             {
-                int pageIdx = pageIndexes[aIdx];
-                if ((pageIdx>=0) && (pageIdx<pageCount) && (!freePages.get(pageIdx)))
+                if (compressedPages != null)
+                {
+                    compressedPages.free(pageIdx);
+                }
+                else if (pageArena != null && pageIdx < inMemoryMaxPageCount)
                 {
-                    freePages.set(pageIdx);
-                    if (pageIdx < inMemoryMaxPageCount)
+                    // give the page back to the pool to be re-used by any instance
+                    synchronized (ioLock)
                     {
-                        inMemoryPages[pageIdx] = null;  // remark: not in ioLock synchronization since behavior won't
-                                                        // change even in case of parallel called 'enlarge' method
+                        releasePooledPage(pageIdx);
                     }
                 }
-                    
+                else if (pageIdx < inMemoryMaxPageCount)
+                {
+                    inMemoryPages[pageIdx] = null;  // remark: not in ioLock synchronization; a parallel called
+                                                    // 'enlarge' method may keep the old reference, which is
+                                                    // harmless since a page is written before it is read
+                }
+                else
+                {
+                    // the page stays in the scratch file to be re-used, only drop the cached copy
+                    synchronized (ioLock)
+                    {
+                        hotPages.remove(pageIdx);
+                    }
+                }
+                pageAllocator.recycle(pageIdx);
             }
         }
     }
     
+    /**
+     * Gives the pool slot of the given page back to the page pool.
+     * 
+     * <p>Only to be called under synchronization on {@link #ioLock}.</p>
+     * 
+     * @param pageIdx index of the page to release
+     */
+    private void releasePooledPage(int pageIdx)
+    {
+        int slot = pooledPageSlots[pageIdx];
+        if (slot >= 0)
+        {
+            pooledPageSlots[pageIdx] = -1;
+            pageArena.release(slot);
+        }
+    }
+
     /**
      * Closes and deletes the temporary file. No further interaction with
      * the scratch file or associated buffers can happen after this method is called.
@@ -431,12 +712,39 @@ public class ScratchFile implements RandomAccessStreamCache
                 }
             }
             buffers.clear();
+
+            hotPages.clear();
+            if (compressedPages != null)
+            {
+                DomGlobal.console.debug("Scratch file page compression ratio: " + getPageCompressionRatio()
+                        + ", page cache hit rate: " + getPageCacheHitRate());
+                compressedPages.clear();
+            }
+            if (pageFile != null)
+            {
+                ioexc = IOUtils.closeAndLogException(pageFile, "scratch file", ioexc);
+                pageFile = null;
+            }
+        }
+        
+        if (pooledPageSlots != null)
+        {
+            // recycle pages which weren't released by a buffer
+            synchronized (ioLock)
+            {
+                int pageCount = pageAllocator.getPageCount();
+                for (int pageIdx = 0; pageIdx < Math.min(pageCount, pooledPageSlots.length); pageIdx++)
+                {
+                    releasePooledPage(pageIdx);
+                }
+            }
+            pageArena.trim();
         }
+        pageAllocator.clear();
         
-        synchronized (freePages)
+        if (ioexc != null)
         {
-            freePages.clear();
-            pageCount = 0;
+            throw ioexc;
         }
     }
 }
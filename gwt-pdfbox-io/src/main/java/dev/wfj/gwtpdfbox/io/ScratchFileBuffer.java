@@ -18,6 +18,7 @@ package dev.wfj.gwtpdfbox.io;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Implementation of {@link RandomAccess} as sequence of multiple fixed size pages handled
@@ -54,11 +55,18 @@ class ScratchFileBuffer implements RandomAccess
      * <code>true</code> if current page was changed by a write method
      */
     private boolean currentPageContentChanged = false;
+    /**
+     * <code>true</code> if the page handler copies the content of written pages, {@link #currentPage} is
+     * re-used for all pages in that case
+     */
+    private final boolean reuseCurrentPage;
 
     /** contains ordered list of pages with the index the page is known by page handler ({@link ScratchFile}) */
     private int[] pageIndexes = new int[16];
     /** number of pages held by this buffer */
     private int pageCount = 0;
+    /** re-used for lookahead windows spanning pages */
+    private byte[] lookaheadBuffer;
     
     /**
      * Creates a new buffer using pages handled by provided {@link ScratchFile}.
@@ -74,6 +82,7 @@ class ScratchFileBuffer implements RandomAccess
         this.pageHandler = pageHandler;
         
         pageSize = this.pageHandler.getPageSize();
+        reuseCurrentPage = this.pageHandler.isPageCopiedOnWrite();
         
         addPage();
     }
@@ -123,10 +132,36 @@ class ScratchFileBuffer implements RandomAccess
         currentPagePositionInPageIndexes = pageCount;
         currentPageOffset = ((long)pageCount) * pageSize; 
         pageCount++;
-        currentPage = new byte[pageSize];
+        if (reuseCurrentPage && currentPage != null)
+        {
+            Arrays.fill(currentPage, (byte) 0);
+        }
+        else
+        {
+            currentPage = new byte[pageSize];
+        }
         positionInPage = 0;
     }
     
+    /**
+     * Reads the page at the given position within {@link #pageIndexes} into {@link #currentPage}.
+     * 
+     * @param pagePositionInPageIndexes position of the page within this buffer
+     * 
+     * @throws IOException if reading the page fails
+     */
+    private void loadPage(int pagePositionInPageIndexes) throws IOException
+    {
+        if (reuseCurrentPage)
+        {
+            pageHandler.readPage(pageIndexes[pagePositionInPageIndexes], currentPage);
+        }
+        else
+        {
+            currentPage = pageHandler.readPage(pageIndexes[pagePositionInPageIndexes]);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -168,7 +203,7 @@ class ScratchFileBuffer implements RandomAccess
             if (currentPagePositionInPageIndexes+1 < pageCount)
             {
                 // we already have more pages assigned (there was a backward seek before)
-                currentPage = pageHandler.readPage(pageIndexes[++currentPagePositionInPageIndexes]);
+                loadPage(++currentPagePositionInPageIndexes);
                 currentPageOffset = ((long)currentPagePositionInPageIndexes) * pageSize;
                 positionInPage = 0;
             }
@@ -261,7 +296,7 @@ class ScratchFileBuffer implements RandomAccess
         // change to first page if we are not already there
         if (currentPagePositionInPageIndexes > 0)
         {
-            currentPage = pageHandler.readPage(pageIndexes[0]);
+            loadPage(0);
             currentPagePositionInPageIndexes = 0;
             currentPageOffset = 0;
         }
@@ -323,7 +358,7 @@ class ScratchFileBuffer implements RandomAccess
                 newPagePosition--; // PDFBOX-4756: Prevent seeking a non-yet-existent page...
             }
             
-            currentPage = pageHandler.readPage(pageIndexes[newPagePosition]);
+            loadPage(newPagePosition);
             currentPagePositionInPageIndexes = newPagePosition;
             currentPageOffset = ((long)currentPagePositionInPageIndexes) * pageSize;
             positionInPage = (int) (seekToPosition - currentPageOffset);
@@ -410,6 +445,36 @@ class ScratchFileBuffer implements RandomAccess
         return totalBytesRead;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The window is backed by the current page if the bytes are located within a single page.</p>
+     */
+    @Override
+    public RandomAccessReadWindow lookahead(int length) throws IOException
+    {
+        checkClosed();
+        long position = currentPageOffset + positionInPage;
+        int windowLength = (int) Math.max(0, Math.min(length, size - position));
+        if (windowLength > 0 && !ensureAvailableBytesInPage(false))
+        {
+            // should not happen, we checked it before
+            throw new IOException("Unexpectedly no bytes available for read in buffer.");
+        }
+        if (positionInPage + windowLength <= pageSize)
+        {
+            return new RandomAccessReadWindow(currentPage, positionInPage, windowLength);
+        }
+        // the window spans pages
+        if (lookaheadBuffer == null || lookaheadBuffer.length < windowLength)
+        {
+            lookaheadBuffer = new byte[windowLength];
+        }
+        read(lookaheadBuffer, 0, windowLength);
+        seek(position);
+        return new RandomAccessReadWindow(lookaheadBuffer, 0, windowLength);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Main memory page storage of a {@link ScratchFile} keeping cold pages compressed with {@link LZPageCodec}. The
+ * most recently used pages are held decompressed in a small cache, a page is compressed when it drops out of it.
+ * Memory usage is accounted in compressed bytes, so more pages fit into the main memory limit. A page which was handed
+ * out but not written yet is accounted with its full size.
+ *
+ * <p>This class is thread safe.</p>
+ */
+final class ScratchFileCompressedPages
+{
+    /** number of decompressed pages kept in {@link #hotPages} */
+    private static final int HOT_PAGE_COUNT = 8;
+
+    private final int pageSize;
+    /** maximum number of bytes to be used; <code>-1</code> means 'unrestricted' */
+    private final long maxBytes;
+    private final LZPageCodec codec = new LZPageCodec();
+    /** buffer for compressing a page, a page which doesn't compress into it is stored as is */
+    private final byte[] compressBuffer;
+    /** compressed page content; a page with a length of {@link #pageSize} is stored uncompressed */
+    private byte[][] coldPages;
+    /** decompressed recently used pages in access order */
+    private final LinkedHashMap<Integer, byte[]> hotPages = new LinkedHashMap<>(HOT_PAGE_COUNT * 2, 0.75f, true);
+    /** an evicted page array to be re-used */
+    private byte[] sparePage;
+    /** pages which were handed out but not written yet */
+    private final BitSet reservedPages = new BitSet();
+    private int reservedPageCount = 0;
+
+    private long coldPageCount = 0;
+    private long compressedBytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param pageSize byte size of a page
+     * @param initialPageCount initial number of page indexes
+     * @param maxBytes maximum number of main memory bytes to be used; <code>-1</code> means 'unrestricted'
+     */
+    ScratchFileCompressedPages(int pageSize, int initialPageCount, long maxBytes)
+    {
+        this.pageSize = pageSize;
+        this.maxBytes = maxBytes;
+        compressBuffer = new byte[pageSize - 1];
+        coldPages = new byte[initialPageCount][];
+    }
+
+    /**
+     * Returns the number of page indexes.
+     *
+     * @return the number of page indexes
+     */
+    synchronized int getCapacity()
+    {
+        return coldPages.length;
+    }
+
+    /**
+     * Doubles the number of page indexes.
+     *
+     * @return the new number of page indexes
+     */
+    synchronized int enlarge()
+    {
+        int newSize = (int) Math.min(((long) coldPages.length) * 2, Integer.MAX_VALUE);
+        coldPages = Arrays.copyOf(coldPages, newSize);
+        return newSize;
+    }
+
+    /**
+     * Reserves the memory of the page with the given index which was just handed out, if it fits into the memory limit
+     * even if it doesn't compress at all. The reservation is released when the page is written or freed.
+     *
+     * @param pageIdx index of the page
+     * @return true if the page was reserved, false if there is no room for another page
+     */
+    synchronized boolean reservePage(int pageIdx)
+    {
+        if (maxBytes >= 0
+                && compressedBytes + ((long) hotPages.size() + reservedPageCount + 1) * pageSize > maxBytes)
+        {
+            return false;
+        }
+        if (!reservedPages.get(pageIdx))
+        {
+            reservedPages.set(pageIdx);
+            reservedPageCount++;
+        }
+        return true;
+    }
+
+    /**
+     * Copies the page with the given index into the given array.
+     *
+     * @param pageIdx index of the page
+     * @param page array to be filled with the page data
+     * @throws IOException if the page wasn't written before
+     */
+    synchronized void read(int pageIdx, byte[] page) throws IOException
+    {
+        byte[] hotPage = hotPages.get(pageIdx);
+        if (hotPage != null)
+        {
+            hits++;
+            System.arraycopy(hotPage, 0, page, 0, pageSize);
+            return;
+        }
+        byte[] coldPage = coldPages[pageIdx];
+        if (coldPage == null)
+        {
+            throw new IOException("Requested page with index " + pageIdx + " was not written before.");
+        }
+        misses++;
+        if (coldPage.length == pageSize)
+        {
+            System.arraycopy(coldPage, 0, page, 0, pageSize);
+        }
+        else
+        {
+            LZPageCodec.decompress(coldPage, coldPage.length, page, pageSize);
+        }
+        // keep the compressed copy, the page is clean as long as it isn't written
+        hotPage = takeSparePage();
+        System.arraycopy(page, 0, hotPage, 0, pageSize);
+        hotPages.put(pageIdx, hotPage);
+        evictColdPages();
+    }
+
+    /**
+     * Stores a copy of the given page.
+     *
+     * @param pageIdx index of the page
+     * @param page the page data
+     */
+    synchronized void write(int pageIdx, byte[] page)
+    {
+        // the page is accounted as a hot page from now on
+        releaseReservation(pageIdx);
+        byte[] hotPage = hotPages.get(pageIdx);
+        if (hotPage == null)
+        {
+            hotPage = takeSparePage();
+            hotPages.put(pageIdx, hotPage);
+        }
+        System.arraycopy(page, 0, hotPage, 0, pageSize);
+        // the compressed copy is outdated
+        dropColdPage(pageIdx);
+        evictColdPages();
+    }
+
+    /**
+     * Releases the page with the given index.
+     *
+     * @param pageIdx index of the page
+     */
+    synchronized void free(int pageIdx)
+    {
+        byte[] hotPage = hotPages.remove(pageIdx);
+        if (hotPage != null)
+        {
+            sparePage = hotPage;
+        }
+        dropColdPage(pageIdx);
+        releaseReservation(pageIdx);
+    }
+
+    /**
+     * Releases all pages.
+     */
+    synchronized void clear()
+    {
+        hotPages.clear();
+        Arrays.fill(coldPages, null);
+        coldPageCount = 0;
+        compressedBytes = 0;
+        sparePage = null;
+        reservedPages.clear();
+        reservedPageCount = 0;
+    }
+
+    /**
+     * Returns the ratio of the uncompressed to the compressed size of all compressed pages.
+     *
+     * @return the compression ratio, <code>1</code> if there aren't any compressed pages
+     */
+    synchronized double getCompressionRatio()
+    {
+        return compressedBytes > 0 ? (double) (coldPageCount * pageSize) / compressedBytes : 1;
+    }
+
+    /**
+     * Returns the share of page reads served from the decompressed page cache.
+     *
+     * @return the hit rate between <code>0</code> and <code>1</code>, <code>0</code> if there weren't any reads
+     */
+    synchronized double getHitRate()
+    {
+        long reads = hits + misses;
+        return reads > 0 ? (double) hits / reads : 0;
+    }
+
+    private void dropColdPage(int pageIdx)
+    {
+        byte[] coldPage = coldPages[pageIdx];
+        if (coldPage != null)
+        {
+            coldPages[pageIdx] = null;
+            coldPageCount--;
+            compressedBytes -= coldPage.length;
+        }
+    }
+
+    private void releaseReservation(int pageIdx)
+    {
+        if (reservedPages.get(pageIdx))
+        {
+            reservedPages.clear(pageIdx);
+            reservedPageCount--;
+        }
+    }
+
+    private byte[] takeSparePage()
+    {
+        byte[] page = sparePage;
+        sparePage = null;
+        return page != null ? page : new byte[pageSize];
+    }
+
+    /**
+     * Compresses the least recently used pages until the cache is back to its size.
+     */
+    private void evictColdPages()
+    {
+        Iterator<Map.Entry<Integer, byte[]>> iterator = hotPages.entrySet().iterator();
+        while (hotPages.size() > HOT_PAGE_COUNT)
+        {
+            Map.Entry<Integer, byte[]> eldest = iterator.next();
+            int pageIdx = eldest.getKey();
+            byte[] hotPage = eldest.getValue();
+            iterator.remove();
+            if (coldPages[pageIdx] == null)
+            {
+                int length = codec.compress(hotPage, pageSize, compressBuffer);
+                byte[] coldPage = length < 0 ? hotPage.clone() : Arrays.copyOf(compressBuffer, length);
+                coldPages[pageIdx] = coldPage;
+                coldPageCount++;
+                compressedBytes += coldPage.length;
+            }
+            sparePage = hotPage;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of the free and used pages of a {@link ScratchFile}. The page indexes are striped over a number of
+ * independently locked free lists, page <code>i</code> belongs to stripe <code>i % STRIPE_COUNT</code>. Allocations
+ * start at different stripes, so concurrent threads don't convoy on a single monitor. Main memory pages are handed
+ * out before scratch file pages: each stripe publishes its lowest free page, so stripes without a free main memory
+ * page are skipped without locking as long as another stripe has one. Within a stripe the lowest free page is handed
+ * out first.
+ *
+ * <p>Freeing a page takes two steps, {@link #release(int)} and {@link #recycle(int)}, so that the caller can drop the
+ * page content before the page can be allocated again.</p>
+ *
+ * <p>This class is thread safe.</p>
+ */
+final class ScratchFilePageAllocator
+{
+    private static final int STRIPE_COUNT = 8;
+
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    /** the number of main memory pages, the pages with a higher index are scratch file pages */
+    private final int mainMemoryPageCount;
+    /** the stripe to start the next allocation at */
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    /** highest allocated page index + 1 */
+    private final AtomicInteger pageCount = new AtomicInteger();
+
+    /**
+     * Constructor for pages which are all held in main memory.
+     */
+    ScratchFilePageAllocator()
+    {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param mainMemoryPageCount the number of main memory pages, they are handed out before the other pages
+     */
+    ScratchFilePageAllocator(int mainMemoryPageCount)
+    {
+        this.mainMemoryPageCount = mainMemoryPageCount;
+        for (int i = 0; i < STRIPE_COUNT; i++)
+        {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Returns the highest page index handed out so far + 1.
+     * 
+     * @return the number of used page indexes
+     */
+    int getPageCount()
+    {
+        return pageCount.get();
+    }
+
+    /**
+     * Adds the given range of new pages as free pages.
+     * 
+     * @param fromIndex the first page index (inclusive)
+     * @param toIndex the last page index (exclusive)
+     */
+    void addPages(int fromIndex, int toIndex)
+    {
+        for (int pageIdx = fromIndex; pageIdx < toIndex; pageIdx++)
+        {
+            Stripe stripe = stripes[pageIdx % STRIPE_COUNT];
+            synchronized (stripe)
+            {
+                stripe.setAvailable(pageIdx);
+            }
+        }
+    }
+
+    /**
+     * Hands out a free page, a main memory page if there is any.
+     * 
+     * @return the index of the page or <code>-1</code> if there isn't any free page
+     */
+    int allocate()
+    {
+        int start = (nextStripe.getAndIncrement() & Integer.MAX_VALUE) % STRIPE_COUNT;
+        int pageIdx = allocate(start, mainMemoryPageCount);
+        return pageIdx >= 0 || mainMemoryPageCount == Integer.MAX_VALUE ? pageIdx
+                : allocate(start, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Hands out the lowest free page of the first stripe, starting at the given stripe, which has a free page below
+     * the given limit.
+     */
+    private int allocate(int start, int limit)
+    {
+        for (int i = 0; i < STRIPE_COUNT; i++)
+        {
+            int stripeIdx = (start + i) % STRIPE_COUNT;
+            Stripe stripe = stripes[stripeIdx];
+            if (stripe.lowestFree >= limit)
+            {
+                continue;
+            }
+            int pageIdx;
+            synchronized (stripe)
+            {
+                pageIdx = stripe.lowestFree;
+                if (pageIdx >= limit)
+                {
+                    // taken concurrently
+                    continue;
+                }
+                int localIdx = pageIdx / STRIPE_COUNT;
+                stripe.available.clear(localIdx);
+                stripe.used.set(localIdx);
+                stripe.updateLowestFree(stripeIdx);
+            }
+            updatePageCount(pageIdx + 1);
+            return pageIdx;
+        }
+        return -1;
+    }
+
+    /**
+     * Marks the given page as no longer used. It isn't handed out again before {@link #recycle(int)} is called.
+     * 
+     * @param pageIdx the index of the page
+     * @return <code>true</code> if the page was in use, <code>false</code> if it was already released or never used
+     */
+    boolean release(int pageIdx)
+    {
+        Stripe stripe = stripes[pageIdx % STRIPE_COUNT];
+        int localIdx = pageIdx / STRIPE_COUNT;
+        synchronized (stripe)
+        {
+            if (!stripe.used.get(localIdx))
+            {
+                return false;
+            }
+            stripe.used.clear(localIdx);
+            return true;
+        }
+    }
+
+    /**
+     * Makes the given released page available for allocation again.
+     * 
+     * @param pageIdx the index of the page
+     */
+    void recycle(int pageIdx)
+    {
+        Stripe stripe = stripes[pageIdx % STRIPE_COUNT];
+        synchronized (stripe)
+        {
+            stripe.setAvailable(pageIdx);
+        }
+    }
+
+    /**
+     * Drops all pages.
+     */
+    void clear()
+    {
+        for (Stripe stripe : stripes)
+        {
+            synchronized (stripe)
+            {
+                stripe.available.clear();
+                stripe.used.clear();
+                stripe.lowestFree = Integer.MAX_VALUE;
+            }
+        }
+        pageCount.set(0);
+    }
+
+    private void updatePageCount(int newPageCount)
+    {
+        int current;
+        while ((current = pageCount.get()) < newPageCount)
+        {
+            if (pageCount.compareAndSet(current, newPageCount))
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The pages of a stripe, a page is represented by its index divided by {@link #STRIPE_COUNT}.
+     */
+    private static final class Stripe
+    {
+        /** pages which can be allocated */
+        private final BitSet available = new BitSet();
+        /** pages which are allocated */
+        private final BitSet used = new BitSet();
+        /**
+         * the (global) index of the lowest page which can be allocated or {@link Integer#MAX_VALUE}, only to be
+         * modified under synchronization of this stripe
+         */
+        private volatile int lowestFree = Integer.MAX_VALUE;
+
+        private void setAvailable(int pageIdx)
+        {
+            available.set(pageIdx / STRIPE_COUNT);
+            if (pageIdx < lowestFree)
+            {
+                lowestFree = pageIdx;
+            }
+        }
+
+        private void updateLowestFree(int stripeIdx)
+        {
+            int localIdx = available.nextSetBit(0);
+            lowestFree = localIdx < 0 ? Integer.MAX_VALUE : localIdx * STRIPE_COUNT + stripeIdx;
+        }
+    }
+}
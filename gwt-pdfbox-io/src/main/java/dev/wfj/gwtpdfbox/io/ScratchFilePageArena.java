@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A pool of pages shared by all {@link ScratchFile} instances set up with
+ * {@link MemoryUsageSetting#setupMainMemoryPooled()}. The pages are carved out of large direct (off-heap)
+ * {@link ByteBuffer} slabs. Pages released by a {@link ScratchFile} are handed out again to the next one, so opening
+ * and closing many documents doesn't produce any page garbage.
+ *
+ * <p>Reading and writing a page doesn't take any lock, only handing out and releasing a page slot is synchronized.
+ * The lowest free slot is handed out first, so the used pages are packed into the first slabs. Slabs at the end of
+ * the pool without any used page are given back by {@link #trim()} when a {@link ScratchFile} is closed, the first
+ * {@link #RETAINED_SLAB_COUNT} slabs are kept for re-use for the lifetime of the pool.</p>
+ *
+ * <p>This class is thread safe.</p>
+ */
+final class ScratchFilePageArena
+{
+    /** number of pages per slab; 1 MB slabs for 4 KB pages */
+    private static final int PAGES_PER_SLAB = 256;
+    /** number of slabs which are never given back; 16 MB for 4 KB pages */
+    private static final int RETAINED_SLAB_COUNT = 16;
+
+    private static ScratchFilePageArena sharedInstance;
+
+    private final int pageSize;
+    /**
+     * slabs holding the page content; replaced by a copy when slabs are added or given back, so that it can be read
+     * without synchronization
+     */
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+    /** number of used page slots per slab; only to be accessed under synchronization of this instance */
+    private int[] usedSlotCounts = new int[0];
+    /** the free page slots; only to be accessed under synchronization of this instance */
+    private final BitSet freeSlots = new BitSet();
+
+    private ScratchFilePageArena(int pageSize)
+    {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns the pool shared by all {@link ScratchFile} instances.
+     *
+     * @param pageSize byte size of a page
+     * @return the shared pool
+     */
+    static synchronized ScratchFilePageArena getSharedInstance(int pageSize)
+    {
+        if (sharedInstance == null)
+        {
+            sharedInstance = new ScratchFilePageArena(pageSize);
+        }
+        return sharedInstance;
+    }
+
+    /**
+     * Hands out the lowest free page slot, a new slab is allocated if all slots are in use.
+     *
+     * @return the page slot
+     */
+    synchronized int allocate()
+    {
+        int slot = freeSlots.nextSetBit(0);
+        if (slot < 0)
+        {
+            slot = addSlab();
+        }
+        freeSlots.clear(slot);
+        usedSlotCounts[slot / PAGES_PER_SLAB]++;
+        return slot;
+    }
+
+    /**
+     * Gives a page slot back to the pool.
+     *
+     * @param slot the page slot to be released
+     */
+    synchronized void release(int slot)
+    {
+        freeSlots.set(slot);
+        usedSlotCounts[slot / PAGES_PER_SLAB]--;
+    }
+
+    /**
+     * Gives back the slabs at the end of the pool which don't hold any used page, except for the first
+     * {@link #RETAINED_SLAB_COUNT} slabs.
+     */
+    synchronized void trim()
+    {
+        int slabCount = slabs.length;
+        while (slabCount > RETAINED_SLAB_COUNT && usedSlotCounts[slabCount - 1] == 0)
+        {
+            slabCount--;
+        }
+        if (slabCount < slabs.length)
+        {
+            freeSlots.clear(slabCount * PAGES_PER_SLAB, slabs.length * PAGES_PER_SLAB);
+            usedSlotCounts = Arrays.copyOf(usedSlotCounts, slabCount);
+            slabs = Arrays.copyOf(slabs, slabCount);
+        }
+    }
+
+    /**
+     * Copies the content of the given page slot to the given array.
+     *
+     * @param slot the page slot to be read
+     * @param page array to be filled with the page data
+     */
+    void read(int slot, byte[] page)
+    {
+        // the duplicate has its own position, so concurrent accesses to the slab don't interfere
+        ByteBuffer slab = slabs[slot / PAGES_PER_SLAB].duplicate();
+        slab.position((slot % PAGES_PER_SLAB) * pageSize);
+        slab.get(page, 0, pageSize);
+    }
+
+    /**
+     * Copies the given page data to the given page slot.
+     *
+     * @param slot the page slot to be written
+     * @param page the page data
+     */
+    void write(int slot, byte[] page)
+    {
+        ByteBuffer slab = slabs[slot / PAGES_PER_SLAB].duplicate();
+        slab.position((slot % PAGES_PER_SLAB) * pageSize);
+        slab.put(page, 0, pageSize);
+    }
+
+    /**
+     * Adds a slab, only to be called under synchronization of this instance.
+     *
+     * @return the first slot of the new slab
+     */
+    private int addSlab()
+    {
+        int slabCount = slabs.length;
+        int firstSlot = slabCount * PAGES_PER_SLAB;
+        if (firstSlot + PAGES_PER_SLAB < 0)
+        {
+            throw new IllegalStateException("Maximum number of pooled pages reached");
+        }
+        ByteBuffer[] newSlabs = Arrays.copyOf(slabs, slabCount + 1);
+        newSlabs[slabCount] = ByteBuffer.allocateDirect(PAGES_PER_SLAB * pageSize);
+        usedSlotCounts = Arrays.copyOf(usedSlotCounts, slabCount + 1);
+        freeSlots.set(firstSlot, firstSlot + PAGES_PER_SLAB);
+        slabs = newSlabs;
+        return firstSlot;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The temporary file holding the pages of a {@link ScratchFile} which exceed the main memory limit. The file is
+ * created in the configured directory (or the default temporary directory) and deleted when it is closed.
+ *
+ * <p>The browser has no file system, the GWT build uses a super-sourced variant which can't be created.</p>
+ */
+final class ScratchFilePageFile implements Closeable
+{
+    private final Path file;
+    private final FileChannel channel;
+    private final int pageSize;
+
+    /**
+     * Creates a new temporary page file.
+     *
+     * @param directory directory to create the file in, <code>null</code> for the default temporary directory
+     * @param pageSize byte size of a page
+     *
+     * @throws IOException if the file couldn't be created
+     */
+    ScratchFilePageFile(String directory, int pageSize) throws IOException
+    {
+        this.pageSize = pageSize;
+        file = directory != null ? Files.createTempFile(Paths.get(directory), "PDFBox", ".tmp")
+                : Files.createTempFile("PDFBox", ".tmp");
+        try
+        {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        }
+        catch (IOException exception)
+        {
+            Files.deleteIfExists(file);
+            throw exception;
+        }
+    }
+
+    /**
+     * Checks that the given directory exists.
+     *
+     * @param directory the directory to be checked
+     * @throws IOException if the directory doesn't exist
+     */
+    static void checkDirectory(String directory) throws IOException
+    {
+        if (!Files.isDirectory(Paths.get(directory)))
+        {
+            throw new IOException("Scratch file directory does not exist: " + directory);
+        }
+    }
+
+    /**
+     * Returns the current length of the file.
+     *
+     * @return the length of the file in bytes
+     * @throws IOException if the length couldn't be determined
+     */
+    long length() throws IOException
+    {
+        return channel.size();
+    }
+
+    /**
+     * Enlarges the file to hold the given number of pages. The new pages are filled with zeros.
+     *
+     * @param pageCount the number of pages the file shall hold
+     * @throws IOException if the file couldn't be enlarged
+     */
+    void setPageCount(int pageCount) throws IOException
+    {
+        long newLength = (long) pageCount * pageSize;
+        if (newLength > channel.size())
+        {
+            // writing the last byte extends the file, FileChannel can't grow a file otherwise
+            channel.write(ByteBuffer.wrap(new byte[1]), newLength - 1);
+        }
+    }
+
+    /**
+     * Reads the page with the given index within the file.
+     *
+     * @param pageIdx index of the page within the file
+     * @param page array to be filled with the page data
+     * @throws IOException if the page couldn't be read
+     */
+    void readPage(int pageIdx, byte[] page) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(page, 0, pageSize);
+        long position = (long) pageIdx * pageSize;
+        while (buffer.hasRemaining())
+        {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0)
+            {
+                throw new EOFException("Unexpected end of scratch file reading page " + pageIdx);
+            }
+        }
+    }
+
+    /**
+     * Writes the page with the given index within the file.
+     *
+     * @param pageIdx index of the page within the file
+     * @param page the page data
+     * @throws IOException if the page couldn't be written
+     */
+    void writePage(int pageIdx, byte[] page) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(page, 0, pageSize);
+        long position = (long) pageIdx * pageSize;
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Closes and deletes the file.
+     *
+     * @throws IOException if the file couldn't be closed or deleted
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            channel.close();
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return file.toString();
+    }
+}
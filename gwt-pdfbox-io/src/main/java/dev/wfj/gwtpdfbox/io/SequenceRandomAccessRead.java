@@ -17,6 +17,7 @@
 package dev.wfj.gwtpdfbox.io;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,14 +27,16 @@ import java.util.stream.Collectors;
 public class SequenceRandomAccessRead implements RandomAccessRead
 {
     private final List<RandomAccessRead> readerList;
+    // start positions of all readers followed by the total length, used to find a reader using a binary search
     private final long[] startPositions;
-    private final long[] endPositions;
     private final int numberOfReader;
     private int currentIndex = 0;
     private long currentPosition = 0;
     private long totalLength = 0;
     private boolean isClosed = false;
     private RandomAccessRead currentRandomAccessRead = null;
+    // re-used for lookahead windows spanning two readers
+    private byte[] lookaheadBuffer;
     
     public SequenceRandomAccessRead(List<RandomAccessRead> randomAccessReadList)
     {
@@ -58,15 +61,14 @@ public class SequenceRandomAccessRead implements RandomAccessRead
                 }).collect(Collectors.toList());
         currentRandomAccessRead = readerList.get(currentIndex);
         numberOfReader = readerList.size();
-        startPositions = new long[numberOfReader];
-        endPositions = new long[numberOfReader];
+        startPositions = new long[numberOfReader + 1];
         for(int i=0;i<numberOfReader;i++) 
         {
             try
             {
                 startPositions[i] = totalLength;
                 totalLength += readerList.get(i).length();
-                endPositions[i] = totalLength - 1;
+                startPositions[i + 1] = totalLength;
             }
             catch (IOException e)
             {
@@ -89,7 +91,7 @@ public class SequenceRandomAccessRead implements RandomAccessRead
 
     private RandomAccessRead getCurrentReader() throws IOException
     {
-        if (currentRandomAccessRead.isEOF() && currentIndex < numberOfReader - 1)
+        if (currentPosition >= startPositions[currentIndex + 1] && currentIndex < numberOfReader - 1)
         {
             currentIndex++;
             currentRandomAccessRead = readerList.get(currentIndex);
@@ -120,15 +122,48 @@ public class SequenceRandomAccessRead implements RandomAccessRead
         {
             return -1;
         }
+        int bytesRead = 0;
+        while (bytesRead < maxAvailBytes)
+        {
+            // read as many bytes as possible from each reader, switching to the next one at its end
+            int readerBytes = getCurrentReader().read(b, offset + bytesRead, maxAvailBytes - bytesRead);
+            if (readerBytes <= 0)
+            {
+                break;
+            }
+            bytesRead += readerBytes;
+            currentPosition += readerBytes;
+        }
+        return bytesRead > 0 ? bytesRead : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The window is provided by the underlying reader if the bytes are located within a single reader.</p>
+     */
+    @Override
+    public RandomAccessReadWindow lookahead(int length) throws IOException
+    {
+        checkClosed();
+        int windowLength = Math.max(0, Math.min(length, available()));
+        if (windowLength == 0)
+        {
+            return new RandomAccessReadWindow(new byte[0], 0, 0);
+        }
         RandomAccessRead randomAccessRead = getCurrentReader();
-        int bytesRead = randomAccessRead.read(b, offset, maxAvailBytes);
-        while (bytesRead > -1 && bytesRead < maxAvailBytes)
+        if (currentPosition + windowLength <= startPositions[currentIndex + 1])
+        {
+            return randomAccessRead.lookahead(windowLength);
+        }
+        if (lookaheadBuffer == null || lookaheadBuffer.length < windowLength)
         {
-            randomAccessRead = getCurrentReader();
-            bytesRead += randomAccessRead.read(b, offset + bytesRead, maxAvailBytes - bytesRead);
+            lookaheadBuffer = new byte[windowLength];
         }
-        currentPosition += bytesRead;
-        return bytesRead;
+        long oldPosition = currentPosition;
+        int bytesRead = Math.max(0, read(lookaheadBuffer, 0, windowLength));
+        seek(oldPosition);
+        return new RandomAccessReadWindow(lookaheadBuffer, 0, bytesRead);
     }
 
     @Override
@@ -155,20 +190,27 @@ public class SequenceRandomAccessRead implements RandomAccessRead
         }
         else
         {
-            for (int i = 0; i < numberOfReader; i++)
-            {
-                if (position >= startPositions[i] && position <= endPositions[i])
-                {
-                    currentIndex = i;
-                    break;
-                }
-            }
+            currentIndex = findReaderIndex(position);
             currentPosition = position;
         }
         currentRandomAccessRead = readerList.get(currentIndex);
         currentRandomAccessRead.seek(currentPosition - startPositions[currentIndex]);
     }
 
+    /**
+     * Find the index of the reader containing the given position using a binary search over the start positions.
+     * 
+     * @param position a position within the sequence
+     * @return the index of the reader containing the position
+     */
+    private int findReaderIndex(long position)
+    {
+        // all readers aren't empty, so the start positions are strictly ascending
+        int index = Arrays.binarySearch(startPositions, 0, numberOfReader, position);
+        // the reader starts either at the given position or before the insertion point
+        return index >= 0 ? index : -index - 2;
+    }
+
     @Override
     public long length() throws IOException
     {
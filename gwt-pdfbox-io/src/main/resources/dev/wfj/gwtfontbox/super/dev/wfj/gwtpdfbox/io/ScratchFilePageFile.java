@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * GWT variant of the temporary page file of a {@link ScratchFile}. There is no file system in the browser, so the
+ * file can't be created and a {@link ScratchFile} is limited to its main memory pages.
+ */
+final class ScratchFilePageFile implements Closeable
+{
+    ScratchFilePageFile(String directory, int pageSize) throws IOException
+    {
+        throw new IOException("Temporary files aren't supported in the browser, use a main memory only setup");
+    }
+
+    static void checkDirectory(String directory) throws IOException
+    {
+        // there is no file system, creating the file fails anyway
+    }
+
+    long length() throws IOException
+    {
+        return 0;
+    }
+
+    void setPageCount(int pageCount) throws IOException
+    {
+        throw new IOException("Scratch file not available");
+    }
+
+    void readPage(int pageIdx, byte[] page) throws IOException
+    {
+        throw new IOException("Scratch file not available");
+    }
+
+    void writePage(int pageIdx, byte[] page) throws IOException
+    {
+        throw new IOException("Scratch file not available");
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        // nothing to do
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the statistics collected by {@link CountingRandomAccessRead}.
+ */
+class CountingRandomAccessReadTest
+{
+    @Test
+    void testBytesReadAgain() throws IOException
+    {
+        try (CountingRandomAccessRead read = new CountingRandomAccessRead(new RandomAccessReadBuffer(new byte[1000])))
+        {
+            RandomAccessReadStatistics statistics = read.getStatistics();
+            read.read(new byte[100]);
+            read.seek(50);
+            read.read(new byte[100]);
+            assertEquals(200, statistics.getBytesRead());
+            assertEquals(150, statistics.getDistinctBytesRead());
+            assertEquals(1, statistics.getBackwardSeekCount());
+            assertEquals(50, statistics.getBackwardSeekDistance());
+
+            // separate ranges which are joined by a later read
+            read.seek(300);
+            read.read();
+            read.skip(9);
+            read.seek(200);
+            read.read(new byte[50]);
+            assertEquals(210, statistics.getDistinctBytesRead());
+            read.seek(140);
+            read.read(new byte[200]);
+            assertEquals(460, statistics.getBytesRead());
+            assertEquals(340, statistics.getDistinctBytesRead());
+
+            // neither peeking, lookahead nor reading at the end are counted
+            read.peek();
+            read.lookahead(100);
+            read.seek(1000);
+            assertEquals(-1, read.read());
+            assertEquals(460, statistics.getBytesRead());
+            assertEquals(340, statistics.getDistinctBytesRead());
+        }
+    }
+
+    @Test
+    void testViews() throws IOException
+    {
+        try (CountingRandomAccessRead read = new CountingRandomAccessRead(new RandomAccessReadBuffer(new byte[1000])))
+        {
+            RandomAccessReadStatistics statistics = read.getStatistics();
+            read.seek(500);
+            read.read(new byte[10]);
+            try (RandomAccessRead view = read.createView(505, 100))
+            {
+                view.read(new byte[10]);
+            }
+            try (RandomAccessRead view = read.createView(600, 100))
+            {
+                view.seek(10);
+                view.read(new byte[5]);
+            }
+            assertEquals(25, statistics.getBytesRead());
+            assertEquals(20, statistics.getDistinctBytesRead());
+        }
+    }
+}
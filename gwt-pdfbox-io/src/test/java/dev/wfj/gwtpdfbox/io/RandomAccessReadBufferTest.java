@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the regions and views of a {@link RandomAccessReadBuffer} made up of several chunks.
+ */
+class RandomAccessReadBufferTest
+{
+    // 4 KB chunks, the last one is partly filled
+    private static final int LENGTH = 10000;
+
+    private static final byte[] DATA = createData();
+
+    @Test
+    void testSlice() throws IOException
+    {
+        try (RandomAccessReadBuffer read = createBuffer())
+        {
+            read.seek(10);
+            // within a chunk, spanning chunks and truncated at the end
+            checkRegion(read.slice(100, 200), 100, 200);
+            checkRegion(read.slice(4000, 5000), 4000, 5000);
+            checkRegion(read.slice(9900, 200), 9900, 100);
+            assertEquals(0, read.slice(LENGTH, 10).remaining());
+            assertTrue(read.slice(100, 200).isReadOnly());
+            assertEquals(10, read.getPosition());
+        }
+    }
+
+    @Test
+    void testReadBuffer() throws IOException
+    {
+        try (RandomAccessReadBuffer read = createBuffer())
+        {
+            checkRegion(read.readBuffer(4000), 0, 4000);
+            checkRegion(read.readBuffer(4000), 4000, 4000);
+            assertEquals(8000, read.getPosition());
+            checkRegion(read.readBuffer(4000), 8000, 2000);
+            assertTrue(read.isEOF());
+            assertEquals(0, read.readBuffer(10).remaining());
+        }
+    }
+
+    @Test
+    void testView() throws IOException
+    {
+        try (RandomAccessReadBuffer read = createBuffer())
+        {
+            // within a chunk, spanning chunks and exceeding the end of the data
+            long[][] regions = { { 100, 200 }, { 4000, 5000 }, { 9900, 200 } };
+            for (long[] region : regions)
+            {
+                try (RandomAccessReadView view = read.createView(region[0], region[1]))
+                {
+                    assertEquals(region[1], view.length());
+                    int available = (int) Math.min(region[1], LENGTH - region[0]);
+                    for (int i = 0; i < available; i++)
+                    {
+                        assertEquals(DATA[(int) region[0] + i] & 0xff, view.read());
+                    }
+                    assertEquals(-1, view.read());
+                    view.seek(1);
+                    assertEquals(DATA[(int) region[0] + 1] & 0xff, view.read());
+                }
+            }
+            // closing the views leaves the buffer open
+            assertFalse(read.isClosed());
+            assertEquals(DATA[0] & 0xff, read.read());
+        }
+    }
+
+    private static void checkRegion(ByteBuffer region, int position, int length)
+    {
+        assertEquals(length, region.remaining());
+        for (int i = 0; i < length; i++)
+        {
+            assertEquals(DATA[position + i], region.get(region.position() + i));
+        }
+    }
+
+    private static RandomAccessReadBuffer createBuffer() throws IOException
+    {
+        // an unknown length results in chunks of 4 KB
+        return new RandomAccessReadBuffer(new ByteArrayInputStream(DATA)
+        {
+            @Override
+            public synchronized int available()
+            {
+                return 0;
+            }
+        });
+    }
+
+    private static byte[] createData()
+    {
+        byte[] data = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++)
+        {
+            data[i] = (byte) (i * 13 + (i >> 8));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the lookahead windows of all sources match the bytes read at the same position.
+ */
+class RandomAccessReadLookaheadTest
+{
+    // spans several 4 KB chunks and pages
+    private static final int LENGTH = 20000;
+
+    private static final byte[] DATA = createData();
+
+    @Test
+    void testBuffer() throws IOException
+    {
+        try (RandomAccessRead read = new RandomAccessReadBuffer(DATA))
+        {
+            checkLookahead(read);
+        }
+    }
+
+    @Test
+    void testChunkedBuffer() throws IOException
+    {
+        // an unknown length results in chunks of 4 KB
+        InputStream input = new ByteArrayInputStream(DATA)
+        {
+            @Override
+            public synchronized int available()
+            {
+                return 0;
+            }
+        };
+        try (RandomAccessRead read = new RandomAccessReadBuffer(input))
+        {
+            checkLookahead(read);
+        }
+    }
+
+    @Test
+    void testScratchFileBuffer() throws IOException
+    {
+        try (ScratchFile scratchFile = ScratchFile.getMainMemoryOnlyInstance();
+                RandomAccess buffer = scratchFile.createBuffer())
+        {
+            buffer.write(DATA);
+            checkLookahead(buffer);
+        }
+    }
+
+    @Test
+    void testMemoryMappedFile() throws IOException
+    {
+        File file = File.createTempFile("lookahead", ".bin");
+        try
+        {
+            Files.write(file.toPath(), DATA);
+            try (RandomAccessRead read = new RandomAccessReadMemoryMappedFile(file))
+            {
+                checkLookahead(read);
+            }
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    void testSequence() throws IOException
+    {
+        List<RandomAccessRead> readers = new ArrayList<>();
+        for (int start = 0; start < LENGTH; start += 3000)
+        {
+            byte[] part = new byte[Math.min(3000, LENGTH - start)];
+            System.arraycopy(DATA, start, part, 0, part.length);
+            readers.add(new RandomAccessReadBuffer(part));
+        }
+        try (RandomAccessRead read = new SequenceRandomAccessRead(readers))
+        {
+            checkLookahead(read);
+        }
+    }
+
+    @Test
+    void testView() throws IOException
+    {
+        try (RandomAccessRead read = new RandomAccessReadBuffer(DATA);
+                RandomAccessRead view = read.createView(0, LENGTH))
+        {
+            checkLookahead(view);
+        }
+    }
+
+    /**
+     * Compares the lookahead windows with the data at positions around the chunk and page boundaries, including
+     * windows exceeding the end of the data.
+     */
+    private static void checkLookahead(RandomAccessRead read) throws IOException
+    {
+        assertEquals(LENGTH, read.length());
+        long[] positions = { 0, 1, 2990, 4090, 4096, 8190, 12000, LENGTH - 5, LENGTH };
+        int[] lengths = { 0, 1, 10, 100, 5000 };
+        for (long position : positions)
+        {
+            for (int length : lengths)
+            {
+                read.seek(position);
+                RandomAccessReadWindow window = read.lookahead(length);
+                int expectedLength = (int) Math.min(length, LENGTH - position);
+                assertEquals(expectedLength, window.getLength());
+                for (int i = 0; i < expectedLength; i++)
+                {
+                    assertEquals(DATA[(int) position + i] & 0xff, window.get(i));
+                }
+                assertEquals(position, read.getPosition());
+                assertEquals(position < LENGTH ? DATA[(int) position] & 0xff : -1, read.read());
+            }
+        }
+    }
+
+    private static byte[] createData()
+    {
+        byte[] data = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++)
+        {
+            data[i] = (byte) (i * 7 + (i >> 8));
+        }
+        return data;
+    }
+}
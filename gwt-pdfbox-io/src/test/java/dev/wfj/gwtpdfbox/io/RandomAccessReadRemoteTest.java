@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link RandomAccessReadRemote} using an in-process {@link RangeFetcher}.
+ */
+class RandomAccessReadRemoteTest
+{
+    private static final int BLOCK_SIZE = 16;
+
+    @Test
+    void testReadsAreCoalesced() throws IOException
+    {
+        TestFetcher fetcher = new TestFetcher(1000);
+        try (RandomAccessReadRemote read = new RandomAccessReadRemote(fetcher, BLOCK_SIZE, 64))
+        {
+            read.seek(10);
+            checkRead(read, 10, 100);
+            // the blocks 0 to 6 are fetched using a single request
+            assertEquals(1, fetcher.ranges.size());
+            assertRange(fetcher.ranges.get(0), 0, 7 * BLOCK_SIZE);
+            assertEquals(7 * BLOCK_SIZE, read.getFetchedBytes());
+
+            read.seek(0);
+            checkRead(read, 0, 7 * BLOCK_SIZE);
+            assertEquals(1, read.getFetchCount());
+        }
+    }
+
+    @Test
+    void testCachedBlocksAreNotFetchedAgain() throws IOException
+    {
+        TestFetcher fetcher = new TestFetcher(1000);
+        try (RandomAccessReadRemote read = new RandomAccessReadRemote(fetcher, BLOCK_SIZE, 64))
+        {
+            read.seek(3 * BLOCK_SIZE);
+            assertEquals(value(3 * BLOCK_SIZE), read.read());
+            read.seek(0);
+            checkRead(read, 0, 7 * BLOCK_SIZE);
+            // the request stops at the cached block 3
+            assertEquals(3, fetcher.ranges.size());
+            assertRange(fetcher.ranges.get(1), 0, 3 * BLOCK_SIZE);
+            assertRange(fetcher.ranges.get(2), 4 * BLOCK_SIZE, 3 * BLOCK_SIZE);
+        }
+    }
+
+    @Test
+    void testLastBlock() throws IOException
+    {
+        TestFetcher fetcher = new TestFetcher(100);
+        try (RandomAccessReadRemote read = new RandomAccessReadRemote(fetcher, BLOCK_SIZE, 64))
+        {
+            read.seek(90);
+            checkRead(read, 90, 10);
+            assertTrue(read.isEOF());
+            assertEquals(-1, read.read());
+            assertEquals(-1, read.read(new byte[10], 0, 10));
+            assertRange(fetcher.ranges.get(0), 5 * BLOCK_SIZE, 100 - 5 * BLOCK_SIZE);
+        }
+    }
+
+    @Test
+    void testBlocksAreEvicted() throws IOException
+    {
+        TestFetcher fetcher = new TestFetcher(1000);
+        try (RandomAccessReadRemote read = new RandomAccessReadRemote(fetcher, BLOCK_SIZE, 2))
+        {
+            // a request never contains more blocks than the cache can hold
+            checkRead(read, 0, 5 * BLOCK_SIZE);
+            assertEquals(3, fetcher.ranges.size());
+            for (long[] range : fetcher.ranges)
+            {
+                assertTrue(range[1] <= 2 * BLOCK_SIZE);
+            }
+
+            // the blocks 3 and 4 are still cached, the block 0 has to be fetched again
+            read.seek(3 * BLOCK_SIZE);
+            checkRead(read, 3 * BLOCK_SIZE, 2 * BLOCK_SIZE);
+            assertEquals(3, read.getFetchCount());
+            read.seek(0);
+            checkRead(read, 0, 1);
+            assertEquals(4, read.getFetchCount());
+            assertRange(fetcher.ranges.get(3), 0, BLOCK_SIZE);
+            assertEquals(6 * BLOCK_SIZE, read.getFetchedBytes());
+        }
+    }
+
+    @Test
+    void testLargeData() throws IOException
+    {
+        long length = (6L << 30) + 12345;
+        TestFetcher fetcher = new TestFetcher(length);
+        try (RandomAccessReadRemote read = new RandomAccessReadRemote(fetcher, 1 << 16, 1 << 16))
+        {
+            assertEquals(length, read.length());
+            long[] positions = { (2L << 30) - 100, (4L << 30) - 100, length - 70000 };
+            for (long position : positions)
+            {
+                read.seek(position);
+                checkRead(read, position, 70000);
+                assertEquals(position + 70000, read.getPosition());
+            }
+            assertTrue(read.isEOF());
+            for (long[] range : fetcher.ranges)
+            {
+                assertEquals(0, range[0] % (1 << 16));
+            }
+        }
+    }
+
+    @Test
+    void testView() throws IOException
+    {
+        TestFetcher fetcher = new TestFetcher(1000);
+        try (RandomAccessReadRemote read = new RandomAccessReadRemote(fetcher, BLOCK_SIZE, 64))
+        {
+            checkRead(read, 0, 4 * BLOCK_SIZE);
+            try (RandomAccessReadView view = read.createView(50, 100))
+            {
+                assertEquals(100, view.length());
+                assertEquals(value(50), view.read());
+                view.seek(90);
+                assertEquals(value(140), view.read());
+                assertEquals(91, view.getPosition());
+                // the view shares the cache, only the block 8 is fetched
+                assertEquals(2, read.getFetchCount());
+                assertRange(fetcher.ranges.get(1), 8 * BLOCK_SIZE, BLOCK_SIZE);
+            }
+            // closing the view leaves the parent open
+            assertFalse(read.isClosed());
+            assertEquals(value(4 * BLOCK_SIZE), read.read());
+            assertFalse(fetcher.closed);
+        }
+        assertTrue(fetcher.closed);
+    }
+
+    @Test
+    void testLookahead() throws IOException
+    {
+        TestFetcher fetcher = new TestFetcher(1000);
+        try (RandomAccessReadRemote read = new RandomAccessReadRemote(fetcher, BLOCK_SIZE, 64))
+        {
+            // within a block and spanning several blocks
+            int[][] windows = { { 3, 10 }, { 10, 40 }, { 990, 20 } };
+            for (int[] window : windows)
+            {
+                read.seek(window[0]);
+                RandomAccessReadWindow lookahead = read.lookahead(window[1]);
+                assertEquals(Math.min(window[1], 1000 - window[0]), lookahead.getLength());
+                for (int i = 0; i < lookahead.getLength(); i++)
+                {
+                    assertEquals(value(window[0] + i), lookahead.get(i));
+                }
+                assertEquals(window[0], read.getPosition());
+            }
+        }
+    }
+
+    /**
+     * Reads the given number of bytes and compares them with the expected values.
+     */
+    private static void checkRead(RandomAccessRead read, long position, int length) throws IOException
+    {
+        byte[] buffer = new byte[length];
+        int offset = 0;
+        while (offset < length)
+        {
+            int bytesRead = read.read(buffer, offset, length - offset);
+            assertTrue(bytesRead > 0);
+            offset += bytesRead;
+        }
+        for (int i = 0; i < length; i++)
+        {
+            assertEquals(value(position + i), buffer[i] & 0xff);
+        }
+    }
+
+    private static void assertRange(long[] range, long position, int length)
+    {
+        assertEquals(position, range[0]);
+        assertEquals(length, range[1]);
+    }
+
+    private static int value(long position)
+    {
+        return (int) ((position * 31 + (position >>> 32)) >>> 3) & 0xff;
+    }
+
+    /**
+     * Generates the data from the positions and records the fetched ranges.
+     */
+    private static final class TestFetcher implements RangeFetcher
+    {
+        private final long length;
+        private final List<long[]> ranges = new ArrayList<>();
+        private boolean closed = false;
+
+        TestFetcher(long length)
+        {
+            this.length = length;
+        }
+
+        @Override
+        public long length()
+        {
+            return length;
+        }
+
+        @Override
+        public byte[] fetch(long position, int length) throws IOException
+        {
+            if (position < 0 || length <= 0 || position + length > this.length)
+            {
+                throw new IOException("Invalid range " + position + " " + length);
+            }
+            ranges.add(new long[] { position, length });
+            byte[] data = new byte[length];
+            for (int i = 0; i < length; i++)
+            {
+                data[i] = (byte) value(position + i);
+            }
+            return data;
+        }
+
+        @Override
+        public void close()
+        {
+            closed = true;
+        }
+    }
+}
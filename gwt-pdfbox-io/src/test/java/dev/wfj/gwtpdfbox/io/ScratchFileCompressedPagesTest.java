@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the memory accounting of a {@link ScratchFile} using page compression.
+ */
+class ScratchFileCompressedPagesTest
+{
+    private static final int PAGE_COUNT = 16;
+
+    @Test
+    void testUnwrittenPagesCountAgainstLimit() throws IOException
+    {
+        try (ScratchFile scratchFile = createScratchFile())
+        {
+            int[] pages = new int[PAGE_COUNT];
+            for (int i = 0; i < PAGE_COUNT; i++)
+            {
+                pages[i] = scratchFile.getNewPage();
+            }
+            assertThrows(IOException.class, scratchFile::getNewPage);
+
+            // a freed page which was never written releases its reservation
+            scratchFile.markPagesAsFree(pages, 0, 1);
+            pages[0] = scratchFile.getNewPage();
+            assertThrows(IOException.class, scratchFile::getNewPage);
+        }
+    }
+
+    @Test
+    void testWrittenPagesAreCompressed() throws IOException
+    {
+        try (ScratchFile scratchFile = createScratchFile())
+        {
+            int pageSize = scratchFile.getPageSize();
+            int[] pages = new int[PAGE_COUNT];
+            for (int i = 0; i < PAGE_COUNT; i++)
+            {
+                pages[i] = scratchFile.getNewPage();
+                scratchFile.writePage(pages[i], page(pageSize, i));
+            }
+            // the cold pages take much less than a page each
+            int extraPage = scratchFile.getNewPage();
+            scratchFile.writePage(extraPage, page(pageSize, PAGE_COUNT));
+            for (int i = 0; i < PAGE_COUNT; i++)
+            {
+                assertArrayEquals(page(pageSize, i), scratchFile.readPage(pages[i]));
+            }
+            assertTrue(scratchFile.getPageCompressionRatio() > 1);
+        }
+    }
+
+    private static ScratchFile createScratchFile() throws IOException
+    {
+        int pageSize;
+        try (ScratchFile scratchFile = ScratchFile.getMainMemoryOnlyInstance())
+        {
+            pageSize = scratchFile.getPageSize();
+        }
+        return new ScratchFile(MemoryUsageSetting.setupMainMemoryOnly(PAGE_COUNT * (long) pageSize)
+                .setPageCompression(true));
+    }
+
+    private static byte[] page(int pageSize, int fill)
+    {
+        byte[] page = new byte[pageSize];
+        Arrays.fill(page, (byte) fill);
+        return page;
+    }
+}
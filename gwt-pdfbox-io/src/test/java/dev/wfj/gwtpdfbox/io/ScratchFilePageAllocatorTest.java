@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the page accounting of {@link ScratchFilePageAllocator}, also when it is shared by many threads.
+ */
+class ScratchFilePageAllocatorTest
+{
+    private static final int THREAD_COUNT = 16;
+    private static final int ITERATIONS = 20000;
+    private static final int PAGES_PER_ITERATION = 8;
+
+    @Test
+    void testMainMemoryPagesFirst()
+    {
+        ScratchFilePageAllocator allocator = new ScratchFilePageAllocator(16);
+        allocator.addPages(0, 64);
+        Set<Integer> pages = new HashSet<>();
+        for (int i = 0; i < 16; i++)
+        {
+            int pageIdx = allocator.allocate();
+            assertTrue(pageIdx < 16, "scratch file page handed out first: " + pageIdx);
+            pages.add(pageIdx);
+        }
+        for (int i = 16; i < 64; i++)
+        {
+            pages.add(allocator.allocate());
+        }
+        assertEquals(64, pages.size());
+        assertEquals(-1, allocator.allocate());
+        assertEquals(64, allocator.getPageCount());
+
+        assertTrue(allocator.release(40));
+        allocator.recycle(40);
+        assertTrue(allocator.release(5));
+        allocator.recycle(5);
+        assertEquals(5, allocator.allocate());
+        assertEquals(40, allocator.allocate());
+        assertEquals(-1, allocator.allocate());
+    }
+
+    @Test
+    void testLowestFreePageOfStripeFirst()
+    {
+        ScratchFilePageAllocator allocator = new ScratchFilePageAllocator();
+        allocator.addPages(0, 8);
+        for (int i = 0; i < 8; i++)
+        {
+            allocator.allocate();
+        }
+        // pages 0 and 8 belong to the same stripe
+        allocator.addPages(8, 9);
+        assertTrue(allocator.release(0));
+        allocator.recycle(0);
+        assertEquals(0, allocator.allocate());
+        assertEquals(8, allocator.allocate());
+    }
+
+    @Test
+    void testReleaseOnlyOnce()
+    {
+        ScratchFilePageAllocator allocator = new ScratchFilePageAllocator();
+        allocator.addPages(0, 8);
+        int pageIdx = allocator.allocate();
+        assertTrue(allocator.release(pageIdx));
+        assertFalse(allocator.release(pageIdx));
+        assertFalse(allocator.release(7));
+    }
+
+    @Test
+    void testConcurrentAllocateAndFree() throws Exception
+    {
+        int pageCount = 256;
+        ScratchFilePageAllocator allocator = new ScratchFilePageAllocator();
+        allocator.addPages(0, pageCount);
+        // 1 while the page is owned by a thread
+        AtomicIntegerArray owned = new AtomicIntegerArray(pageCount);
+
+        runConcurrently(() ->
+        {
+            int[] pages = new int[PAGES_PER_ITERATION];
+            for (int i = 0; i < ITERATIONS; i++)
+            {
+                int count = 0;
+                while (count < pages.length)
+                {
+                    int pageIdx = allocator.allocate();
+                    if (pageIdx < 0)
+                    {
+                        break;
+                    }
+                    assertTrue(owned.compareAndSet(pageIdx, 0, 1), "page handed out twice: " + pageIdx);
+                    pages[count++] = pageIdx;
+                }
+                for (int j = 0; j < count; j++)
+                {
+                    owned.set(pages[j], 0);
+                    assertTrue(allocator.release(pages[j]));
+                    allocator.recycle(pages[j]);
+                }
+            }
+            return null;
+        });
+
+        // all pages are free again
+        Set<Integer> pages = new HashSet<>();
+        for (int i = 0; i < pageCount; i++)
+        {
+            pages.add(allocator.allocate());
+        }
+        assertEquals(pageCount, pages.size());
+        assertEquals(-1, allocator.allocate());
+        assertEquals(pageCount, allocator.getPageCount());
+    }
+
+    @Test
+    void testConcurrentScratchFileMemoryLimit() throws Exception
+    {
+        int maxPageCount = 64;
+        try (ScratchFile scratchFile = new ScratchFile(
+                MemoryUsageSetting.setupMainMemoryOnly(maxPageCount * (long) scratchFilePageSize())))
+        {
+            AtomicIntegerArray owned = new AtomicIntegerArray(maxPageCount);
+
+            runConcurrently(() ->
+            {
+                int[] pages = new int[PAGES_PER_ITERATION];
+                for (int i = 0; i < ITERATIONS / 4; i++)
+                {
+                    int count = 0;
+                    try
+                    {
+                        while (count < pages.length)
+                        {
+                            int pageIdx = scratchFile.getNewPage();
+                            assertTrue(pageIdx < maxPageCount, "memory limit exceeded: " + pageIdx);
+                            assertTrue(owned.compareAndSet(pageIdx, 0, 1), "page handed out twice: " + pageIdx);
+                            pages[count++] = pageIdx;
+                        }
+                    }
+                    catch (IOException e)
+                    {
+                        // all pages are in use by other threads
+                    }
+                    for (int j = 0; j < count; j++)
+                    {
+                        owned.set(pages[j], 0);
+                    }
+                    scratchFile.markPagesAsFree(pages, 0, count);
+                }
+                return null;
+            });
+
+            List<Integer> pages = new ArrayList<>();
+            for (int i = 0; i < maxPageCount; i++)
+            {
+                pages.add(scratchFile.getNewPage());
+            }
+            assertEquals(maxPageCount, pages.stream().distinct().count());
+            assertThrows(IOException.class, scratchFile::getNewPage);
+        }
+    }
+
+    private static int scratchFilePageSize() throws IOException
+    {
+        try (ScratchFile scratchFile = ScratchFile.getMainMemoryOnlyInstance())
+        {
+            return scratchFile.getPageSize();
+        }
+    }
+
+    private static void runConcurrently(Callable<Void> task) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try
+        {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++)
+            {
+                futures.add(executor.submit(task));
+            }
+            for (Future<Void> future : futures)
+            {
+                // rethrows assertion failures of the threads
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
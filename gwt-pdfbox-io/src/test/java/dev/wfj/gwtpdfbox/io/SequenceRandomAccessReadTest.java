@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SequenceRandomAccessRead}.
+ */
+class SequenceRandomAccessReadTest
+{
+    @Test
+    void testSeek() throws IOException
+    {
+        // readers of different lengths, including empty ones which are skipped
+        Random random = new Random(42);
+        List<RandomAccessRead> readers = new ArrayList<>();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < 200; i++)
+        {
+            byte[] part = new byte[i % 7 == 0 ? 0 : 1 + random.nextInt(50)];
+            random.nextBytes(part);
+            expected.write(part);
+            readers.add(new RandomAccessReadBuffer(part));
+        }
+        byte[] data = expected.toByteArray();
+        try (RandomAccessRead read = new SequenceRandomAccessRead(readers))
+        {
+            assertEquals(data.length, read.length());
+            for (int i = 0; i < 1000; i++)
+            {
+                int position = random.nextInt(data.length);
+                read.seek(position);
+                assertEquals(position, read.getPosition());
+                assertEquals(data[position] & 0xff, read.read());
+            }
+            // every position in descending order
+            for (int position = data.length - 1; position >= 0; position--)
+            {
+                read.seek(position);
+                assertEquals(data[position] & 0xff, read.read());
+            }
+            read.seek(data.length + 10);
+            assertEquals(data.length, read.getPosition());
+            assertTrue(read.isEOF());
+            assertEquals(-1, read.read());
+            assertThrows(IOException.class, () -> read.seek(-1));
+        }
+    }
+
+    @Test
+    void testReadAcrossReaders() throws IOException
+    {
+        List<RandomAccessRead> readers = new ArrayList<>();
+        readers.add(new RandomAccessReadBuffer(new byte[] { 0, 1, 2 }));
+        readers.add(new RandomAccessReadBuffer(new byte[0]));
+        readers.add(new RandomAccessReadBuffer(new byte[] { 3 }));
+        readers.add(new RandomAccessReadBuffer(new byte[] { 4, 5, 6, 7 }));
+        try (RandomAccessRead read = new SequenceRandomAccessRead(readers))
+        {
+            read.seek(1);
+            byte[] buffer = new byte[10];
+            assertEquals(7, read.read(buffer, 0, buffer.length));
+            for (int i = 0; i < 7; i++)
+            {
+                assertEquals(i + 1, buffer[i]);
+            }
+            assertEquals(8, read.getPosition());
+            assertEquals(-1, read.read(buffer, 0, buffer.length));
+
+            read.rewind(5);
+            assertEquals(3, read.read());
+            assertEquals(4, read.read());
+        }
+    }
+}
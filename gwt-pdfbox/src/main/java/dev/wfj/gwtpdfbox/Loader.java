@@ -20,6 +20,7 @@ package dev.wfj.gwtpdfbox;
 import java.io.IOException;
 import java.io.InputStream;
 
+import dev.wfj.gwtpdfbox.io.GwtIncompatible;
 import dev.wfj.gwtpdfbox.io.IOUtils;
 import dev.wfj.gwtpdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
 import dev.wfj.gwtpdfbox.io.RandomAccessReadBuffer;
@@ -126,6 +127,137 @@ public class Loader
         }
     }
 
+    /**
+     * Parses a PDF. Unrestricted main memory will be used for buffering PDF streams.
+     * 
+     * @param path path of the file to be loaded. {@link dev.wfj.gwtpdfbox.io.RandomAccessReadMemoryMappedFile} is used
+     * to read the data, so the file isn't copied to the heap.
+     * 
+     * @return loaded document
+     * 
+     * @throws InvalidPasswordException If the file required a non-empty password.
+     * @throws IOException in case of a file reading or parsing error
+     */
+    @GwtIncompatible
+    public static PDDocument loadPDF(java.nio.file.Path path) throws IOException
+    {
+        return Loader.loadPDF(path, "", null, null, IOUtils.createMemoryOnlyStreamCache());
+    }
+
+    /**
+     * Parses a PDF.
+     * 
+     * @param path path of the file to be loaded. {@link dev.wfj.gwtpdfbox.io.RandomAccessReadMemoryMappedFile} is used
+     * to read the data, so the file isn't copied to the heap.
+     * @param streamCacheCreateFunction a function to create an instance of a stream cache to be used for buffering
+     * new/altered PDF streams
+     * 
+     * @return loaded document
+     * 
+     * @throws InvalidPasswordException If the file required a non-empty password.
+     * @throws IOException in case of a file reading or parsing error
+     */
+    @GwtIncompatible
+    public static PDDocument loadPDF(java.nio.file.Path path, StreamCacheCreateFunction streamCacheCreateFunction)
+            throws IOException
+    {
+        return Loader.loadPDF(path, "", null, null, streamCacheCreateFunction);
+    }
+
+    /**
+     * Parses a PDF. Unrestricted main memory will be used for buffering PDF streams.
+     * 
+     * @param path path of the file to be loaded. {@link dev.wfj.gwtpdfbox.io.RandomAccessReadMemoryMappedFile} is used
+     * to read the data, so the file isn't copied to the heap.
+     * @param password password to be used for decryption
+     * 
+     * @return loaded document
+     * 
+     * @throws InvalidPasswordException If the password is incorrect.
+     * @throws IOException in case of a file reading or parsing error
+     */
+    @GwtIncompatible
+    public static PDDocument loadPDF(java.nio.file.Path path, String password) throws IOException
+    {
+        return Loader.loadPDF(path, password, null, null, IOUtils.createMemoryOnlyStreamCache());
+    }
+
+    /**
+     * Parses a PDF.
+     * 
+     * @param path path of the file to be loaded. {@link dev.wfj.gwtpdfbox.io.RandomAccessReadMemoryMappedFile} is used
+     * to read the data, so the file isn't copied to the heap.
+     * @param password password to be used for decryption
+     * @param streamCacheCreateFunction a function to create an instance of a stream cache to be used for buffering
+     * new/altered PDF streams
+     * 
+     * @return loaded document
+     * 
+     * @throws InvalidPasswordException If the password is incorrect.
+     * @throws IOException in case of a file reading or parsing error
+     */
+    @GwtIncompatible
+    public static PDDocument loadPDF(java.nio.file.Path path, String password,
+            StreamCacheCreateFunction streamCacheCreateFunction) throws IOException
+    {
+        return Loader.loadPDF(path, password, null, null, streamCacheCreateFunction);
+    }
+
+    /**
+     * Parses a PDF. Unrestricted main memory will be used for buffering PDF streams.
+     * 
+     * @param path path of the file to be loaded. {@link dev.wfj.gwtpdfbox.io.RandomAccessReadMemoryMappedFile} is used
+     * to read the data, so the file isn't copied to the heap.
+     * @param password password to be used for decryption
+     * @param keyStore key store to be used for decryption when using public key security
+     * @param alias alias to be used for decryption when using public key security
+     * 
+     * @return loaded document
+     * 
+     * @throws InvalidPasswordException If the password is incorrect.
+     * @throws IOException in case of a file reading or parsing error
+     */
+    @GwtIncompatible
+    public static PDDocument loadPDF(java.nio.file.Path path, String password, InputStream keyStore, String alias)
+            throws IOException
+    {
+        return Loader.loadPDF(path, password, keyStore, alias, IOUtils.createMemoryOnlyStreamCache());
+    }
+
+    /**
+     * Parses a PDF.
+     * 
+     * @param path path of the file to be loaded. {@link dev.wfj.gwtpdfbox.io.RandomAccessReadMemoryMappedFile} is used
+     * to read the data, so the file isn't copied to the heap.
+     * @param password password to be used for decryption
+     * @param keyStore key store to be used for decryption when using public key security
+     * @param alias alias to be used for decryption when using public key security
+     * @param streamCacheCreateFunction a function to create an instance of a stream cache to be used for buffering
+     * new/altered PDF streams
+     * 
+     * @return loaded document
+     * 
+     * @throws InvalidPasswordException If the password is incorrect.
+     * @throws IOException in case of a file reading or parsing error
+     */
+    @GwtIncompatible
+    public static PDDocument loadPDF(java.nio.file.Path path, String password, InputStream keyStore, String alias,
+            StreamCacheCreateFunction streamCacheCreateFunction) throws IOException
+    {
+        // referenced by its qualified name as the class isn't part of the GWT sources
+        RandomAccessRead source = new dev.wfj.gwtpdfbox.io.RandomAccessReadMemoryMappedFile(path);
+        try
+        {
+            // RandomAccessRead is not closed here, may be needed for signing
+            return Loader.loadPDF(source, password, keyStore, alias, streamCacheCreateFunction);
+        }
+        catch (IOException ioe)
+        {
+            IOUtils.closeQuietly(source);
+            throw ioe;
+        }
+    }
+
     /**
      * Parses a PDF. Unrestricted main memory will be used for buffering PDF new streams.
      * 
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.contentstream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
+import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
+import dev.wfj.gwtpdfbox.cos.COSBase;
+import dev.wfj.gwtpdfbox.cos.COSSizeEstimator;
+import dev.wfj.gwtpdfbox.pdfparser.PDFStreamParser;
+
+/**
+ * The operators of a content stream parsed once and kept in a compact form, so the stream can be processed again
+ * without decoding and tokenizing it. Numbers are stored in a byte array together with references to the operators
+ * and all other operands, which are shared by all replays.
+ *
+ * <p>Compiled content streams are kept by the {@link dev.wfj.gwtpdfbox.pdmodel.ResourceCache} of a document, see
+ * {@link dev.wfj.gwtpdfbox.pdmodel.DefaultResourceCache#setContentStreamCacheSize(long)}.</p>
+ *
+ * <p>Instances are immutable and may be replayed concurrently.</p>
+ */
+public final class CompiledContentStream
+{
+    private static final byte INTEGER = 0;
+    private static final byte FLOAT = 1;
+    private static final byte OBJECT = 2;
+    private static final byte OPERATOR = 3;
+
+    /** tagged operands and operators */
+    private final byte[] code;
+    /** operators and object operands referenced by the code */
+    private final Object[] constants;
+    private final long byteSize;
+
+    private CompiledContentStream(byte[] code, Object[] constants)
+    {
+        this.code = code;
+        this.constants = constants;
+        long size = COSSizeEstimator.OBJECT_SIZE * 3 + code.length
+                + (long) constants.length * COSSizeEstimator.REFERENCE_SIZE;
+        for (Object constant : constants)
+        {
+            size += estimateSize(constant);
+        }
+        byteSize = size;
+    }
+
+    /**
+     * Parses the given content stream and compiles its operators.
+     *
+     * @param contentStream the content stream to be compiled
+     * @return the compiled content stream
+     * @throws IOException if the content stream can't be read or parsed
+     */
+    public static CompiledContentStream compile(PDContentStream contentStream) throws IOException
+    {
+        byte[] code = new byte[1024];
+        int length = 0;
+        List<Object> constants = new ArrayList<>();
+        Map<Object, Integer> constantIndexes = new IdentityHashMap<>();
+        OperandStack operands = new OperandStack();
+        PDFStreamParser parser = new PDFStreamParser(contentStream);
+        Operator operator = parser.parseNextOperator(operands);
+        while (operator != null)
+        {
+            // tag, up to 10 bytes per operand and the operator
+            int maxLength = length + (operands.size() + 1) * 11;
+            if (maxLength > code.length)
+            {
+                code = Arrays.copyOf(code, Math.max(maxLength, code.length * 2));
+            }
+            for (int i = 0; i < operands.size(); i++)
+            {
+                if (operands.isInteger(i))
+                {
+                    long value = operands.getLong(i);
+                    code[length++] = INTEGER;
+                    length = writeVarLong((value << 1) ^ (value >> 63), code, length);
+                }
+                else if (operands.isNumber(i))
+                {
+                    int bits = Float.floatToIntBits(operands.getFloat(i));
+                    code[length++] = FLOAT;
+                    code[length++] = (byte) (bits >>> 24);
+                    code[length++] = (byte) (bits >>> 16);
+                    code[length++] = (byte) (bits >>> 8);
+                    code[length++] = (byte) bits;
+                }
+                else
+                {
+                    code[length++] = OBJECT;
+                    length = writeVarLong(getConstantIndex(operands.get(i), constants, constantIndexes), code,
+                            length);
+                }
+            }
+            code[length++] = OPERATOR;
+            length = writeVarLong(getConstantIndex(operator, constants, constantIndexes), code, length);
+            operands.clear();
+            operator = parser.parseNextOperator(operands);
+        }
+        return new CompiledContentStream(Arrays.copyOf(code, length), constants.toArray());
+    }
+
+    /**
+     * Returns the estimated number of bytes used by this compiled content stream including its operands.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getByteSize()
+    {
+        return byteSize;
+    }
+
+    /**
+     * Hands all operators with their operands to {@link PDFStreamEngine#processOperator(Operator, List)} of the given
+     * engine, so that subclasses overriding it see the replayed operators as well.
+     *
+     * @param engine the engine processing the operators
+     * @throws IOException if an operator can't be processed
+     */
+    void replay(PDFStreamEngine engine) throws IOException
+    {
+        OperandStack operands = new OperandStack();
+        int position = 0;
+        while (position < code.length)
+        {
+            byte tag = code[position++];
+            if (tag == FLOAT)
+            {
+                int bits = (code[position] & 0xff) << 24 | (code[position + 1] & 0xff) << 16
+                        | (code[position + 2] & 0xff) << 8 | (code[position + 3] & 0xff);
+                position += 4;
+                operands.pushFloat(Float.intBitsToFloat(bits));
+                continue;
+            }
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do
+            {
+                b = code[position++];
+                value |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            }
+            while (b < 0);
+            switch (tag)
+            {
+                case INTEGER:
+                    operands.pushInteger((value >>> 1) ^ -(value & 1));
+                    break;
+                case OBJECT:
+                    operands.push((COSBase) constants[(int) value]);
+                    break;
+                default:
+                    engine.processOperator((Operator) constants[(int) value], operands.asList());
+                    operands.clear();
+                    break;
+            }
+        }
+    }
+
+    private static int getConstantIndex(Object constant, List<Object> constants, Map<Object, Integer> indexes)
+    {
+        Integer index = indexes.get(constant);
+        if (index == null)
+        {
+            index = constants.size();
+            constants.add(constant);
+            indexes.put(constant, index);
+        }
+        return index;
+    }
+
+    private static int writeVarLong(long value, byte[] code, int offset)
+    {
+        while ((value & ~0x7fL) != 0)
+        {
+            code[offset++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        code[offset++] = (byte) value;
+        return offset;
+    }
+
+    private static long estimateSize(Object constant)
+    {
+        if (!(constant instanceof Operator))
+        {
+            return COSSizeEstimator.estimateSize((COSBase) constant);
+        }
+        Operator operator = (Operator) constant;
+        long size = COSSizeEstimator.OBJECT_SIZE;
+        byte[] imageData = operator.getImageData();
+        if (imageData != null)
+        {
+            size += COSSizeEstimator.OBJECT_SIZE + imageData.length;
+        }
+        if (operator.getImageParameters() != null)
+        {
+            size += COSSizeEstimator.estimateSize(operator.getImageParameters());
+        }
+        return size;
+    }
+}
@@ -23,11 +23,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayDeque;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import com.googlecode.gwt.crypto.bouncycastle.util.encoders.Base64;
 
@@ -43,6 +41,7 @@ import dev.wfj.gwtpdfbox.pdfparser.PDFStreamParser;
 import dev.wfj.gwtpdfbox.pdmodel.MissingResourceException;
 import dev.wfj.gwtpdfbox.pdmodel.PDPage;
 import dev.wfj.gwtpdfbox.pdmodel.PDResources;
+import dev.wfj.gwtpdfbox.pdmodel.ResourceCache;
 import dev.wfj.gwtpdfbox.pdmodel.common.PDRectangle;
 import dev.wfj.gwtpdfbox.pdmodel.font.PDFont;
 import dev.wfj.gwtpdfbox.pdmodel.font.PDType1Font;
@@ -57,6 +56,7 @@ import dev.wfj.gwtpdfbox.pdmodel.graphics.state.PDTextState;
 import dev.wfj.gwtpdfbox.util.Matrix;
 import dev.wfj.gwtpdfbox.util.Vector;
 import elemental2.dom.DomGlobal;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
 
@@ -68,7 +68,8 @@ import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
  */
 public abstract class PDFStreamEngine
 {
-    private final Map<String, OperatorProcessor> operators = new HashMap<>(80);
+    /** the operator processors indexed by the opcodes of their operators */
+    private OperatorProcessor[] operators = new OperatorProcessor[Operator.STANDARD_OPERATOR_COUNT];
 
     private Matrix textMatrix;
     private Matrix textLineMatrix;
@@ -100,7 +101,12 @@ public abstract class PDFStreamEngine
      */
     public final void addOperator(OperatorProcessor op)
     {
-        operators.put(op.getName(), op);
+        int opcode = Operator.getOperator(op.getName()).getOpcode();
+        if (opcode >= operators.length)
+        {
+            operators = Arrays.copyOf(operators, opcode + 1);
+        }
+        operators[opcode] = op;
     }
 
     /**
@@ -521,21 +527,44 @@ public abstract class PDFStreamEngine
      */
     private void processStreamOperators(PDContentStream contentStream) throws IOException
     {
-        List<COSBase> arguments = new ArrayList<>();
+        CompiledContentStream compiled = getCompiledContentStream(contentStream);
+        if (compiled != null)
+        {
+            compiled.replay(this);
+            return;
+        }
+        OperandStack operands = new OperandStack();
         PDFStreamParser parser = new PDFStreamParser(contentStream);
-        Object token = parser.parseNextToken();
-        while (token != null)
+        Operator operator = parser.parseNextOperator(operands);
+        while (operator != null)
         {
-            if (token instanceof Operator)
-            {
-                processOperator((Operator) token, arguments);
-                arguments.clear();
-            }
-            else
-            {
-                arguments.add((COSBase) token);
-            }
-            token = parser.parseNextToken();
+            processOperator(operator, operands.asList());
+            operands.clear();
+            operator = parser.parseNextOperator(operands);
+        }
+    }
+
+    /**
+     * Returns the compiled operators of the given content stream from the resource cache of the current page.
+     *
+     * @return the compiled content stream or null if the stream has to be parsed
+     */
+    private CompiledContentStream getCompiledContentStream(PDContentStream contentStream)
+    {
+        ResourceCache resourceCache = currentPage != null ? currentPage.getResourceCache() : null;
+        if (resourceCache == null)
+        {
+            return null;
+        }
+        try
+        {
+            return resourceCache.getCompiledContentStream(contentStream);
+        }
+        catch (IOException e)
+        {
+            // process the stream up to the error as usual
+            DomGlobal.console.warn("Content stream could not be compiled, parsing it instead: " + e.getMessage());
+            return null;
         }
     }
 
@@ -875,7 +904,9 @@ public abstract class PDFStreamEngine
     }
 
     /**
-     * This is used to handle an operation.
+     * This is used to handle an operation. All operators of a content stream are dispatched by this method, their
+     * operands are the list view of an {@link OperandStack}. The stack is handed over to the processor as it is, so
+     * that it can read the numbers as primitive values, see {@link OperandStack#of(List)}.
      * 
      * @param operator The operation to perform.
      * @param operands The list of arguments.
@@ -883,13 +914,21 @@ public abstract class PDFStreamEngine
      */
     protected void processOperator(Operator operator, List<COSBase> operands) throws IOException
     {
-        String name = operator.getName();
-        OperatorProcessor processor = operators.get(name);
+        int opcode = operator.getOpcode();
+        OperatorProcessor processor = opcode < operators.length ? operators[opcode] : null;
         if (processor != null)
         {
             try
             {
-                processor.process(operator, operands);
+                OperandStack stack = OperandStack.of(operands);
+                if (stack != null)
+                {
+                    processor.process(operator, stack);
+                }
+                else
+                {
+                    processor.process(operator, operands);
+                }
             }
             catch (IOException e)
             {
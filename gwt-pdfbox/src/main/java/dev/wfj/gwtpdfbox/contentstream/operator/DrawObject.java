@@ -38,6 +38,12 @@ public class DrawObject extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.isEmpty())
         {
@@ -30,4 +30,9 @@ public final class MissingOperandException extends IOException
     {
         super("Operator " + operator.getName() + " has too few operands: " + operands);
     }
+
+    public MissingOperandException(Operator operator, OperandStack operands)
+    {
+        this(operator, operands.asList());
+    }
 }
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.contentstream.operator;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import dev.wfj.gwtpdfbox.cos.COSBase;
+import dev.wfj.gwtpdfbox.cos.COSFloat;
+import dev.wfj.gwtpdfbox.cos.COSInteger;
+import dev.wfj.gwtpdfbox.cos.COSNumber;
+
+/**
+ * The operands of a content stream operator. Numbers read from a content stream are kept as primitive values, so most
+ * operators don't create any objects for their operands. Processors read them using the typed accessors, e.g.
+ * {@link #getFloat(int)}, other operands are available as {@link COSBase} objects.
+ *
+ * <p>{@link #asList()} provides the operands as list for processors which don't support the stack. A number is turned
+ * into a {@link COSNumber} the first time it is accessed that way.</p>
+ *
+ * <p>This class is not thread safe.</p>
+ */
+public final class OperandStack
+{
+    private static final byte OBJECT = 0;
+    private static final byte INTEGER = 1;
+    private static final byte FLOAT = 2;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** the kinds of the operands */
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    /** the object operands, numbers are only present if they were accessed as object */
+    private COSBase[] objects = new COSBase[INITIAL_CAPACITY];
+    private long[] integers = new long[INITIAL_CAPACITY];
+    private float[] floats = new float[INITIAL_CAPACITY];
+    private int size = 0;
+
+    private final ListView listView = new ListView();
+
+    /**
+     * Creates an empty stack.
+     */
+    public OperandStack()
+    {
+    }
+
+    /**
+     * Creates a stack holding the given operands.
+     *
+     * @param operands the operands, may be <code>null</code>
+     */
+    public OperandStack(List<COSBase> operands)
+    {
+        if (operands != null)
+        {
+            for (COSBase operand : operands)
+            {
+                push(operand);
+            }
+        }
+    }
+
+    /**
+     * Adds an object operand.
+     *
+     * @param operand the operand
+     */
+    public void push(COSBase operand)
+    {
+        int index = claim(OBJECT);
+        objects[index] = operand;
+    }
+
+    /**
+     * Adds an integer operand.
+     *
+     * @param value the value of the operand
+     */
+    public void pushInteger(long value)
+    {
+        int index = claim(INTEGER);
+        integers[index] = value;
+    }
+
+    /**
+     * Adds a real operand.
+     *
+     * @param value the value of the operand
+     */
+    public void pushFloat(float value)
+    {
+        int index = claim(FLOAT);
+        floats[index] = value;
+    }
+
+    /**
+     * Returns the number of operands.
+     *
+     * @return the number of operands
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns <code>true</code> if there aren't any operands.
+     *
+     * @return true if the stack is empty
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Removes all operands.
+     */
+    public void clear()
+    {
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Checks if the operand with the given index is a number.
+     *
+     * @param index the index of the operand
+     * @return true if the operand is a number
+     */
+    public boolean isNumber(int index)
+    {
+        checkIndex(index);
+        return kinds[index] != OBJECT || objects[index] instanceof COSNumber;
+    }
+
+    /**
+     * Checks if the operand with the given index is an integer.
+     *
+     * @param index the index of the operand
+     * @return true if the operand is an integer
+     */
+    public boolean isInteger(int index)
+    {
+        checkIndex(index);
+        return kinds[index] == INTEGER || (kinds[index] == OBJECT && objects[index] instanceof COSInteger);
+    }
+
+    /**
+     * Checks if all operands are numbers.
+     *
+     * @return true if all operands are numbers
+     */
+    public boolean isAllNumbers()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            if (!isNumber(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the float value of the number operand with the given index.
+     *
+     * @param index the index of the operand
+     * @return the float value of the operand
+     * @throws ClassCastException if the operand isn't a number
+     */
+    public float getFloat(int index)
+    {
+        checkIndex(index);
+        switch (kinds[index])
+        {
+            case INTEGER:
+                return integers[index];
+            case FLOAT:
+                return floats[index];
+            default:
+                return ((COSNumber) objects[index]).floatValue();
+        }
+    }
+
+    /**
+     * Returns the int value of the number operand with the given index.
+     *
+     * @param index the index of the operand
+     * @return the int value of the operand
+     * @throws ClassCastException if the operand isn't a number
+     */
+    public int getInt(int index)
+    {
+        checkIndex(index);
+        switch (kinds[index])
+        {
+            case INTEGER:
+                return (int) integers[index];
+            case FLOAT:
+                return (int) floats[index];
+            default:
+                return ((COSNumber) objects[index]).intValue();
+        }
+    }
+
+    /**
+     * Returns the long value of the number operand with the given index.
+     *
+     * @param index the index of the operand
+     * @return the long value of the operand
+     * @throws ClassCastException if the operand isn't a number
+     */
+    public long getLong(int index)
+    {
+        checkIndex(index);
+        switch (kinds[index])
+        {
+            case INTEGER:
+                return integers[index];
+            case FLOAT:
+                return (long) floats[index];
+            default:
+                return ((COSNumber) objects[index]).longValue();
+        }
+    }
+
+    /**
+     * Returns the operand with the given index as object. A number is turned into a {@link COSNumber}.
+     *
+     * @param index the index of the operand
+     * @return the operand
+     */
+    public COSBase get(int index)
+    {
+        checkIndex(index);
+        COSBase object = objects[index];
+        if (object == null)
+        {
+            object = kinds[index] == INTEGER ? COSInteger.get(integers[index]) : new COSFloat(floats[index]);
+            objects[index] = object;
+        }
+        return object;
+    }
+
+    /**
+     * Returns an unmodifiable list view of the operands.
+     *
+     * @return the operands as list
+     */
+    public List<COSBase> asList()
+    {
+        return listView;
+    }
+
+    /**
+     * Returns the stack backing the given list if it is the list view of a stack, see {@link #asList()}.
+     *
+     * @param operands the operands
+     * @return the stack backing the list or <code>null</code> if the list isn't backed by a stack
+     */
+    public static OperandStack of(List<COSBase> operands)
+    {
+        return operands instanceof ListView ? ((ListView) operands).getStack() : null;
+    }
+
+    @Override
+    public String toString()
+    {
+        return listView.toString();
+    }
+
+    private int claim(byte kind)
+    {
+        if (size == kinds.length)
+        {
+            int capacity = size * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+            integers = Arrays.copyOf(integers, capacity);
+            floats = Arrays.copyOf(floats, capacity);
+        }
+        kinds[size] = kind;
+        return size++;
+    }
+
+    private void checkIndex(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * The list view of the operands.
+     */
+    private final class ListView extends AbstractList<COSBase>
+    {
+        @Override
+        public COSBase get(int index)
+        {
+            return OperandStack.this.get(index);
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        private OperandStack getStack()
+        {
+            return OperandStack.this;
+        }
+    }
+}
@@ -18,32 +18,163 @@ package dev.wfj.gwtpdfbox.contentstream.operator;
 
 import dev.wfj.gwtpdfbox.cos.COSDictionary;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An Operator in a PDF content stream.
  *
+ * <p>Each operator has a dense integer opcode to be used as an array index, e.g. for dispatching the operator to its
+ * processor. The operators of {@link OperatorName} have the opcodes <code>0</code> to
+ * <code>{@link #STANDARD_OPERATOR_COUNT} - 1</code>, other operators are numbered when they are encountered first.</p>
+ *
  * @author Ben Litchfield
  */
 public final class Operator
 {
+    /** the operators of {@link OperatorName} in the order of their opcodes */
+    private static final String[] STANDARD_OPERATORS = {
+            OperatorName.NON_STROKING_COLOR,
+            OperatorName.NON_STROKING_COLOR_N,
+            OperatorName.NON_STROKING_RGB,
+            OperatorName.NON_STROKING_GRAY,
+            OperatorName.NON_STROKING_CMYK,
+            OperatorName.NON_STROKING_COLORSPACE,
+            OperatorName.STROKING_COLOR,
+            OperatorName.STROKING_COLOR_N,
+            OperatorName.STROKING_COLOR_RGB,
+            OperatorName.STROKING_COLOR_GRAY,
+            OperatorName.STROKING_COLOR_CMYK,
+            OperatorName.STROKING_COLORSPACE,
+            OperatorName.BEGIN_MARKED_CONTENT_SEQ,
+            OperatorName.BEGIN_MARKED_CONTENT,
+            OperatorName.END_MARKED_CONTENT,
+            OperatorName.MARKED_CONTENT_POINT_WITH_PROPS,
+            OperatorName.MARKED_CONTENT_POINT,
+            OperatorName.DRAW_OBJECT,
+            OperatorName.CONCAT,
+            OperatorName.RESTORE,
+            OperatorName.SAVE,
+            OperatorName.SET_FLATNESS,
+            OperatorName.SET_GRAPHICS_STATE_PARAMS,
+            OperatorName.SET_LINE_CAPSTYLE,
+            OperatorName.SET_LINE_DASHPATTERN,
+            OperatorName.SET_LINE_JOINSTYLE,
+            OperatorName.SET_LINE_MITERLIMIT,
+            OperatorName.SET_LINE_WIDTH,
+            OperatorName.SET_MATRIX,
+            OperatorName.SET_RENDERINGINTENT,
+            OperatorName.APPEND_RECT,
+            OperatorName.BEGIN_INLINE_IMAGE,
+            OperatorName.BEGIN_INLINE_IMAGE_DATA,
+            OperatorName.END_INLINE_IMAGE,
+            OperatorName.CLIP_EVEN_ODD,
+            OperatorName.CLIP_NON_ZERO,
+            OperatorName.CLOSE_AND_STROKE,
+            OperatorName.CLOSE_FILL_EVEN_ODD_AND_STROKE,
+            OperatorName.CLOSE_FILL_NON_ZERO_AND_STROKE,
+            OperatorName.CLOSE_PATH,
+            OperatorName.CURVE_TO,
+            OperatorName.CURVE_TO_REPLICATE_FINAL_POINT,
+            OperatorName.CURVE_TO_REPLICATE_INITIAL_POINT,
+            OperatorName.ENDPATH,
+            OperatorName.FILL_EVEN_ODD_AND_STROKE,
+            OperatorName.FILL_EVEN_ODD,
+            OperatorName.FILL_NON_ZERO_AND_STROKE,
+            OperatorName.FILL_NON_ZERO,
+            OperatorName.LEGACY_FILL_NON_ZERO,
+            OperatorName.LINE_TO,
+            OperatorName.MOVE_TO,
+            OperatorName.SHADING_FILL,
+            OperatorName.STROKE_PATH,
+            OperatorName.BEGIN_TEXT,
+            OperatorName.END_TEXT,
+            OperatorName.MOVE_TEXT,
+            OperatorName.MOVE_TEXT_SET_LEADING,
+            OperatorName.NEXT_LINE,
+            OperatorName.SET_CHAR_SPACING,
+            OperatorName.SET_FONT_AND_SIZE,
+            OperatorName.SET_TEXT_HORIZONTAL_SCALING,
+            OperatorName.SET_TEXT_LEADING,
+            OperatorName.SET_TEXT_RENDERINGMODE,
+            OperatorName.SET_TEXT_RISE,
+            OperatorName.SET_WORD_SPACING,
+            OperatorName.SHOW_TEXT,
+            OperatorName.SHOW_TEXT_ADJUSTED,
+            OperatorName.SHOW_TEXT_LINE,
+            OperatorName.SHOW_TEXT_LINE_AND_SPACE,
+            OperatorName.TYPE3_D0,
+            OperatorName.TYPE3_D1,
+            OperatorName.BEGIN_COMPATIBILITY_SECTION,
+            OperatorName.END_COMPATIBILITY_SECTION
+    };
+
+    /**
+     * The number of operators defined by {@link OperatorName}, the opcodes of other operators are greater or equal.
+     */
+    public static final int STANDARD_OPERATOR_COUNT = STANDARD_OPERATORS.length;
+
     private final String theOperator;
+    private final int opcode;
     private byte[] imageData;
     private COSDictionary imageParameters;
 
     /** map for singleton operator objects; use {@link ConcurrentHashMap} for better scalability with multiple threads */
     private static final ConcurrentMap<String,Operator> operators = new ConcurrentHashMap<>();
+    /** the opcode of the next operator which isn't a standard one */
+    private static final AtomicInteger nextOpcode = new AtomicInteger(STANDARD_OPERATOR_COUNT);
+    /** standard operators with one or two ASCII characters indexed by <code>first &lt;&lt; 7 | second</code> */
+    private static final Operator[] shortOperators = new Operator[128 * 128];
+    /** standard operators with three characters */
+    private static final Operator[] threeCharOperators;
+
+    static
+    {
+        int threeCharCount = 0;
+        for (int i = 0; i < STANDARD_OPERATOR_COUNT; i++)
+        {
+            String name = STANDARD_OPERATORS[i];
+            operators.put(name, new Operator(name, i));
+            if (name.length() == 3)
+            {
+                threeCharCount++;
+            }
+        }
+        threeCharOperators = new Operator[threeCharCount];
+        threeCharCount = 0;
+        for (int i = 0; i < STANDARD_OPERATOR_COUNT; i++)
+        {
+            String name = STANDARD_OPERATORS[i];
+            Operator operator = operators.get(name);
+            if (isInlineImageOperator(name))
+            {
+                // never shared, see getOperator(String)
+                continue;
+            }
+            if (name.length() == 3)
+            {
+                threeCharOperators[threeCharCount++] = operator;
+            }
+            else
+            {
+                shortOperators[name.charAt(0) << 7 | (name.length() == 2 ? name.charAt(1) : 0)] = operator;
+            }
+        }
+    }
 
     /**
      * Constructor.
      *
      * @param aOperator The operator that this object will represent.
+     * @param opcode The opcode of the operator.
      * @throws IllegalArgumentException if the operator starts with "/".
      */
-    private Operator(String aOperator)
+    private Operator(String aOperator, int opcode)
     {
         theOperator = aOperator;
+        this.opcode = opcode;
         if( aOperator.startsWith( "/" ) )
         {
             throw new IllegalArgumentException( "Operators are not allowed to start with / '" + aOperator + "'" );
@@ -59,29 +190,66 @@ public final class Operator
      */
     public static Operator getOperator( String operator )
     {
-        Operator operation;
-        if (operator.equals(OperatorName.BEGIN_INLINE_IMAGE_DATA)
-                || OperatorName.BEGIN_INLINE_IMAGE.equals(operator))
+        if (isInlineImageOperator(operator))
         {
             //we can't cache the ID operators.
-            operation = new Operator( operator );
+            return new Operator(operator, operators.get(operator).opcode);
+        }
+        Operator operation = operators.get(operator);
+        if (operation == null)
+        {
+            // another thread may has already added an operator of this kind
+            // make sure that we get the same operator
+            operation = operators.computeIfAbsent(operator,
+                    name -> new Operator(name, nextOpcode.getAndIncrement()));
+        }
+        return operation;
+    }
+
+    /**
+     * This is used to create/cache operators in the system. A standard operator is looked up without creating a
+     * string.
+     *
+     * @param bytes array holding the operator keyword
+     * @param offset the offset of the operator keyword
+     * @param length the length of the operator keyword
+     *
+     * @return The operator that matches the operator keyword.
+     */
+    public static Operator getOperator(byte[] bytes, int offset, int length)
+    {
+        if (length == 1 || length == 2)
+        {
+            int first = bytes[offset];
+            int second = length == 2 ? bytes[offset + 1] : 0;
+            if (first > 0 && second >= 0)
+            {
+                Operator operator = shortOperators[first << 7 | second];
+                if (operator != null)
+                {
+                    return operator;
+                }
+            }
         }
-        else
+        else if (length == 3)
         {
-            operation = operators.get( operator );
-            if( operation == null )
+            for (Operator operator : threeCharOperators)
             {
-                // another thread may has already added an operator of this kind
-                // make sure that we get the same operator
-                operation = operators.putIfAbsent( operator, new Operator( operator ) );
-                if ( operation == null )
+                String name = operator.theOperator;
+                if (name.charAt(0) == bytes[offset] && name.charAt(1) == bytes[offset + 1]
+                        && name.charAt(2) == bytes[offset + 2])
                 {
-                    operation = operators.get( operator );
+                    return operator;
                 }
             }
         }
+        return getOperator(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+    }
 
-        return operation;
+    private static boolean isInlineImageOperator(String operator)
+    {
+        return operator.equals(OperatorName.BEGIN_INLINE_IMAGE_DATA)
+                || OperatorName.BEGIN_INLINE_IMAGE.equals(operator);
     }
 
     /**
@@ -94,6 +262,17 @@ public final class Operator
         return theOperator;
     }
 
+    /**
+     * Returns the opcode of the operator. Standard operators have an opcode less than
+     * {@link #STANDARD_OPERATOR_COUNT}.
+     *
+     * @return the opcode of the operator
+     */
+    public int getOpcode()
+    {
+        return opcode;
+    }
+
     /**
      * This will print a string rep of this class.
      *
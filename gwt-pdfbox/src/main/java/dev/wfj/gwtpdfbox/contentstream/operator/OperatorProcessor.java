@@ -64,6 +64,20 @@ public abstract class OperatorProcessor
      */
     public abstract void process(Operator operator, List<COSBase> operands) throws IOException;
 
+    /**
+     * Process the operator with the operands of a content stream. The default implementation calls
+     * {@link #process(Operator, List)} with the list view of the operands. Processors reading numbers should
+     * override this method to use the primitive values, their {@link #process(Operator, List)} passes the operands
+     * on to it.
+     * @param operator the operator to process
+     * @param operands the operands to use when processing
+     * @throws IOException if the operator cannot be processed
+     */
+    public void process(Operator operator, OperandStack operands) throws IOException
+    {
+        process(operator, operands.asList());
+    }
+
     /**
      * Returns the name of this operator, e.g. "BI".
      * 
@@ -23,10 +23,10 @@ import java.util.List;
 import dev.wfj.gwtpdfbox.contentstream.PDFGraphicsStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
 
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
+import dev.wfj.gwtpdfbox.cos.COSBase;
 
 /**
  * re Appends a rectangle to the path.
@@ -43,26 +43,32 @@ public final class AppendRectangleToPath extends GraphicsOperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> operands) throws IOException
+    {
+        process(operator, new OperandStack(operands));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack operands) throws IOException
     {
         if (operands.size() < 4)
         {
             throw new MissingOperandException(operator, operands);
         }
-        if (!checkArrayTypesClass(operands, COSNumber.class))
+        if (!operands.isAllNumbers())
         {
             return;
         }
-        COSNumber x = (COSNumber) operands.get(0);
-        COSNumber y = (COSNumber) operands.get(1);
-        COSNumber w = (COSNumber) operands.get(2);
-        COSNumber h = (COSNumber) operands.get(3);
+        float x = operands.getFloat(0);
+        float y = operands.getFloat(1);
+        float w = operands.getFloat(2);
+        float h = operands.getFloat(3);
 
-        float x1 = x.floatValue();
-        float y1 = y.floatValue();
+        float x1 = x;
+        float y1 = y;
 
         // create a pair of coordinates for the transformation
-        float x2 = w.floatValue() + x1;
-        float y2 = h.floatValue() + y1;
+        float x2 = w + x1;
+        float y2 = h + y1;
 
         PDFGraphicsStreamEngine context = getGraphicsContext();
         Point2D p0 = context.transformedPoint(x1, y1);
@@ -23,10 +23,10 @@ import java.awt.geom.Point2D;
 import dev.wfj.gwtpdfbox.contentstream.PDFGraphicsStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
 
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
+import dev.wfj.gwtpdfbox.cos.COSBase;
 
 /**
  * y Append curved segment to path with final point replicated.
@@ -42,23 +42,29 @@ public final class CurveToReplicateFinalPoint extends GraphicsOperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> operands) throws IOException
+    {
+        process(operator, new OperandStack(operands));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack operands) throws IOException
     {
         if (operands.size() < 4)
         {
             throw new MissingOperandException(operator, operands);
         }
-        if (!checkArrayTypesClass(operands, COSNumber.class))
+        if (!operands.isAllNumbers())
         {
             return;
         }
-        COSNumber x1 = (COSNumber)operands.get(0);
-        COSNumber y1 = (COSNumber)operands.get(1);
-        COSNumber x3 = (COSNumber)operands.get(2);
-        COSNumber y3 = (COSNumber)operands.get(3);
+        float x1 = operands.getFloat(0);
+        float y1 = operands.getFloat(1);
+        float x3 = operands.getFloat(2);
+        float y3 = operands.getFloat(3);
 
         PDFGraphicsStreamEngine context = getGraphicsContext();
-        Point2D.Float point1 = context.transformedPoint(x1.floatValue(), y1.floatValue());
-        Point2D.Float point3 = context.transformedPoint(x3.floatValue(), y3.floatValue());
+        Point2D.Float point1 = context.transformedPoint(x1, y1);
+        Point2D.Float point3 = context.transformedPoint(x3, y3);
 
         context.curveTo(point1.x, point1.y,
                         point3.x, point3.y,
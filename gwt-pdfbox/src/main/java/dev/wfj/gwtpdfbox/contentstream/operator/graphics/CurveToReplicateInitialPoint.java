@@ -22,11 +22,11 @@ import java.util.List;
 
 import dev.wfj.gwtpdfbox.contentstream.PDFGraphicsStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
 import elemental2.dom.DomGlobal;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
+import dev.wfj.gwtpdfbox.cos.COSBase;
 
 /**
  * v Append curved segment to path with the initial point replicated.
@@ -42,25 +42,31 @@ public class CurveToReplicateInitialPoint extends GraphicsOperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> operands) throws IOException
+    {
+        process(operator, new OperandStack(operands));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack operands) throws IOException
     {
         if (operands.size() < 4)
         {
             throw new MissingOperandException(operator, operands);
         }
-        if (!checkArrayTypesClass(operands, COSNumber.class))
+        if (!operands.isAllNumbers())
         {
             return;
         }
-        COSNumber x2 = (COSNumber)operands.get(0);
-        COSNumber y2 = (COSNumber)operands.get(1);
-        COSNumber x3 = (COSNumber)operands.get(2);
-        COSNumber y3 = (COSNumber)operands.get(3);
+        float x2 = operands.getFloat(0);
+        float y2 = operands.getFloat(1);
+        float x3 = operands.getFloat(2);
+        float y3 = operands.getFloat(3);
 
         PDFGraphicsStreamEngine context = getGraphicsContext();
         Point2D currentPoint = context.getCurrentPoint();
 
-        Point2D.Float point2 = context.transformedPoint(x2.floatValue(), y2.floatValue());
-        Point2D.Float point3 = context.transformedPoint(x3.floatValue(), y3.floatValue());
+        Point2D.Float point2 = context.transformedPoint(x2, y2);
+        Point2D.Float point3 = context.transformedPoint(x3, y3);
 
         if (currentPoint == null)
         {
@@ -25,6 +25,7 @@ import dev.wfj.gwtpdfbox.cos.COSBase;
 import dev.wfj.gwtpdfbox.cos.COSName;
 import dev.wfj.gwtpdfbox.pdmodel.MissingResourceException;
 import dev.wfj.gwtpdfbox.pdmodel.graphics.PDXObject;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 
@@ -43,6 +44,12 @@ public final class DrawObject extends GraphicsOperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> operands) throws IOException
+    {
+        process(operator, new OperandStack(operands));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack operands) throws IOException
     {
         if (operands.isEmpty())
         {
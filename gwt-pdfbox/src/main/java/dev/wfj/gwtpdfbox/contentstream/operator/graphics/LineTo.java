@@ -22,11 +22,11 @@ import java.awt.geom.Point2D;
 
 import dev.wfj.gwtpdfbox.contentstream.PDFGraphicsStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
 import elemental2.dom.DomGlobal;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
+import dev.wfj.gwtpdfbox.cos.COSBase;
 
 /**
  * l Append straight line segment to path.
@@ -42,27 +42,31 @@ public class LineTo extends GraphicsOperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> operands) throws IOException
+    {
+        process(operator, new OperandStack(operands));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack operands) throws IOException
     {
         if (operands.size() < 2)
         {
             throw new MissingOperandException(operator, operands);
         }
-        COSBase base0 = operands.get(0);
-        if (!(base0 instanceof COSNumber))
+        if (!operands.isNumber(0))
         {
             return;
         }
-        COSBase base1 = operands.get(1);
-        if (!(base1 instanceof COSNumber))
+        if (!operands.isNumber(1))
         {
             return;
         }
         // append straight line segment from the current point to the point
-        COSNumber x = (COSNumber) base0;
-        COSNumber y = (COSNumber) base1;
+        float x = operands.getFloat(0);
+        float y = operands.getFloat(1);
 
         PDFGraphicsStreamEngine context = getGraphicsContext();
-        Point2D.Float pos = context.transformedPoint(x.floatValue(), y.floatValue());
+        Point2D.Float pos = context.transformedPoint(x, y);
 
         if (context.getCurrentPoint() == null)
         {
@@ -23,10 +23,10 @@ import java.util.List;
 import dev.wfj.gwtpdfbox.contentstream.PDFGraphicsStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
 
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
+import dev.wfj.gwtpdfbox.cos.COSBase;
 
 /**
  * m Begins a new subpath.
@@ -42,25 +42,29 @@ public final class MoveTo extends GraphicsOperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> operands) throws IOException
+    {
+        process(operator, new OperandStack(operands));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack operands) throws IOException
     {
         if (operands.size() < 2)
         {
             throw new MissingOperandException(operator, operands);
         }
-        COSBase base0 = operands.get(0);
-        if (!(base0 instanceof COSNumber))
+        if (!operands.isNumber(0))
         {
             return;
         }
-        COSBase base1 = operands.get(1);
-        if (!(base1 instanceof COSNumber))
+        if (!operands.isNumber(1))
         {
             return;
         }
-        COSNumber x = (COSNumber) base0;
-        COSNumber y = (COSNumber) base1;
+        float x = operands.getFloat(0);
+        float y = operands.getFloat(1);
         PDFGraphicsStreamEngine context = getGraphicsContext();
-        Point2D.Float pos = context.transformedPoint(x.floatValue(), y.floatValue());
+        Point2D.Float pos = context.transformedPoint(x, y);
         context.moveTo(pos.x, pos.y);
     }
 
@@ -22,11 +22,11 @@ import java.util.List;
 
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
+import dev.wfj.gwtpdfbox.cos.COSBase;
 
 /**
  * i: Set the flatness tolerance.
@@ -42,17 +42,23 @@ public class SetFlatness extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> operands) throws IOException
+    {
+        process(operator, new OperandStack(operands));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack operands) throws IOException
     {
         if (operands.isEmpty())
         {
             throw new MissingOperandException(operator, operands);
         }
-        if (!checkArrayTypesClass(operands, COSNumber.class))
+        if (!operands.isAllNumbers())
         {
             return;
         }
-        COSNumber value = (COSNumber) operands.get(0);
-        getContext().getGraphicsState().setFlatness(value.floatValue());
+        float value = operands.getFloat(0);
+        getContext().getGraphicsState().setFlatness(value);
     }
 
     @Override
@@ -23,6 +23,7 @@ import dev.wfj.gwtpdfbox.cos.COSBase;
 import dev.wfj.gwtpdfbox.cos.COSName;
 import dev.wfj.gwtpdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
 import elemental2.dom.DomGlobal;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
@@ -43,6 +44,12 @@ public class SetGraphicsStateParameters extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.isEmpty())
         {
@@ -21,11 +21,11 @@ import java.util.List;
 
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
 import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
 
 /**
  * J: Set the line cap style.
@@ -40,12 +40,18 @@ public class SetLineCapStyle extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.isEmpty())
         {
             throw new MissingOperandException(operator, arguments);
         }
-        int lineCapStyle = ((COSNumber)arguments.get( 0 )).intValue();
+        int lineCapStyle = arguments.getInt(0);
         getContext().getGraphicsState().setLineCap(lineCapStyle);
     }
 
@@ -16,10 +16,9 @@
  */
 package dev.wfj.gwtpdfbox.contentstream.operator.state;
 
-import java.util.List;
-
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
@@ -27,6 +26,7 @@ import dev.wfj.gwtpdfbox.cos.COSArray;
 import dev.wfj.gwtpdfbox.cos.COSBase;
 import dev.wfj.gwtpdfbox.cos.COSNumber;
 import elemental2.dom.DomGlobal;
+import java.util.List;
 
 /**
  * d: Set the line dash pattern.
@@ -42,6 +42,12 @@ public class SetLineDashPattern extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws MissingOperandException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws MissingOperandException
     {
         if (arguments.size() < 2)
         {
@@ -52,13 +58,12 @@ public class SetLineDashPattern extends OperatorProcessor
         {
             return;
         }
-        COSBase base1 = arguments.get(1);
-        if (!(base1 instanceof COSNumber))
+        if (!arguments.isNumber(1))
         {
             return;
         }
         COSArray dashArray = (COSArray) base0;
-        int dashPhase = ((COSNumber) base1).intValue();
+        int dashPhase = arguments.getInt(1);
         
         for (COSBase base : dashArray)
         {
@@ -16,18 +16,17 @@
  */
 package dev.wfj.gwtpdfbox.contentstream.operator.state;
 
-import java.util.List;
-
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
 
 import java.io.IOException;
+import java.util.List;
 
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
+import dev.wfj.gwtpdfbox.cos.COSBase;
 
 /**
  * j: Set the line join style.
@@ -42,12 +41,18 @@ public class SetLineJoinStyle extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.isEmpty())
         {
             throw new MissingOperandException(operator, arguments);
         }
-        int lineJoinStyle = ((COSNumber)arguments.get( 0 )).intValue();
+        int lineJoinStyle = arguments.getInt(0);
         getContext().getGraphicsState().setLineJoin(lineJoinStyle);
     }
 
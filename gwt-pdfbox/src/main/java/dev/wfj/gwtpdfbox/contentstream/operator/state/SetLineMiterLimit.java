@@ -21,11 +21,11 @@ import java.util.List;
 
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
 import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
 
 
 /**
@@ -41,13 +41,19 @@ public class SetLineMiterLimit extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.isEmpty())
         {
             throw new MissingOperandException(operator, arguments);
         }
-        COSNumber miterLimit = (COSNumber)arguments.get( 0 );
-        getContext().getGraphicsState().setMiterLimit(miterLimit.floatValue());
+        float miterLimit = arguments.getFloat(0);
+        getContext().getGraphicsState().setMiterLimit(miterLimit);
     }
 
     @Override
@@ -16,17 +16,16 @@
  */
 package dev.wfj.gwtpdfbox.contentstream.operator.state;
 
-import java.util.List;
-
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
+import dev.wfj.gwtpdfbox.cos.COSBase;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * w: Set line width.
@@ -42,13 +41,19 @@ public class SetLineWidth extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.isEmpty())
         {
             throw new MissingOperandException(operator, arguments);
         }
-        COSNumber width = (COSNumber) arguments.get(0);
-        getContext().getGraphicsState().setLineWidth(width.floatValue());
+        float width = arguments.getFloat(0);
+        getContext().getGraphicsState().setLineWidth(width);
     }
 
     @Override
@@ -16,17 +16,16 @@
  */
 package dev.wfj.gwtpdfbox.contentstream.operator.state;
 
-import java.util.List;
-
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
 import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
 import dev.wfj.gwtpdfbox.util.Matrix;
 import elemental2.dom.DomGlobal;
+import java.util.List;
 
 /**
  * Tm: Set text matrix and text line matrix.
@@ -42,25 +41,31 @@ public class SetMatrix extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws MissingOperandException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws MissingOperandException
     {
         if (arguments.size() < 6)
         {
             throw new MissingOperandException(operator, arguments);
         }
-        if (!checkArrayTypesClass(arguments, COSNumber.class))
+        if (!arguments.isAllNumbers())
         {
             return;
         }
 
-        COSNumber a = (COSNumber)arguments.get( 0 );
-        COSNumber b = (COSNumber)arguments.get( 1 );
-        COSNumber c = (COSNumber)arguments.get( 2 );
-        COSNumber d = (COSNumber)arguments.get( 3 );
-        COSNumber e = (COSNumber)arguments.get( 4 );
-        COSNumber f = (COSNumber)arguments.get( 5 );
+        float a = arguments.getFloat(0);
+        float b = arguments.getFloat(1);
+        float c = arguments.getFloat(2);
+        float d = arguments.getFloat(3);
+        float e = arguments.getFloat(4);
+        float f = arguments.getFloat(5);
 
-        Matrix matrix = new Matrix(a.floatValue(), b.floatValue(), c.floatValue(),
-                                   d.floatValue(), e.floatValue(), f.floatValue());
+        Matrix matrix = new Matrix(a, b, c,
+                                   d, e, f);
         PDFStreamEngine context = getContext();
         context.setTextMatrix(matrix);
         context.setTextLineMatrix(matrix.clone());
@@ -16,17 +16,16 @@
  */
 package dev.wfj.gwtpdfbox.contentstream.operator.text;
 
-import java.util.List;
-
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
 import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
 import dev.wfj.gwtpdfbox.util.Matrix;
 import elemental2.dom.DomGlobal;
+import java.util.List;
 
 /**
  * Td: Move text position.
@@ -42,6 +41,12 @@ public class MoveText extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws MissingOperandException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws MissingOperandException
     {
         if (arguments.size() < 2)
         {
@@ -55,20 +60,18 @@ public class MoveText extends OperatorProcessor
             return;
         }        
         
-        COSBase base0 = arguments.get(0);
-        COSBase base1 = arguments.get(1);
-        if (!(base0 instanceof COSNumber))
+        if (!arguments.isNumber(0))
         {
             return;
         }
-        if (!(base1 instanceof COSNumber))
+        if (!arguments.isNumber(1))
         {
             return;
         }
-        COSNumber x = (COSNumber) base0;
-        COSNumber y = (COSNumber) base1;
+        float x = arguments.getFloat(0);
+        float y = arguments.getFloat(1);
 
-        Matrix matrix = new Matrix(1, 0, 0, 1, x.floatValue(), y.floatValue());
+        Matrix matrix = new Matrix(1, 0, 0, 1, x, y);
         textLineMatrix.concatenate(matrix);
         context.setTextMatrix(textLineMatrix.clone());
     }
@@ -25,7 +25,7 @@ import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
 
 import dev.wfj.gwtpdfbox.cos.COSBase;
 import dev.wfj.gwtpdfbox.cos.COSFloat;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
@@ -44,6 +44,12 @@ public class MoveTextSetLeading extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.size() < 2)
         {
@@ -51,18 +57,17 @@ public class MoveTextSetLeading extends OperatorProcessor
         }
         
         //move text position and set leading
-        COSBase base1 = arguments.get(1);
-        if (!(base1 instanceof COSNumber))
+        if (!arguments.isNumber(1))
         {
             return;
         }
-        COSNumber y = (COSNumber) base1;
+        float y = arguments.getFloat(1);
         
         List<COSBase> args = new ArrayList<>();
-        args.add(new COSFloat(-y.floatValue()));
+        args.add(new COSFloat(-y));
         PDFStreamEngine context = getContext();
         context.processOperator(OperatorName.SET_TEXT_LEADING, args);
-        context.processOperator(OperatorName.MOVE_TEXT, arguments);
+        context.processOperator(OperatorName.MOVE_TEXT, arguments.asList());
     }
 
     @Override
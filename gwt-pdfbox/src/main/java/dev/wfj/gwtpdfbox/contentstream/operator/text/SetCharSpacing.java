@@ -21,11 +21,11 @@ import java.util.List;
 
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
+import dev.wfj.gwtpdfbox.cos.COSBase;
 
 /**
  * Tc: Set character spacing.
@@ -41,6 +41,12 @@ public class SetCharSpacing extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.isEmpty())
         {
@@ -50,12 +56,11 @@ public class SetCharSpacing extends OperatorProcessor
         // there are some documents which are incorrectly structured, and have
         // a wrong number of arguments to this, so we will assume the last argument
         // in the list
-        Object charSpacing = arguments.get(arguments.size()-1);
-        if (charSpacing instanceof COSNumber)
+        int last = arguments.size() - 1;
+        if (arguments.isNumber(last))
         {
-            COSNumber characterSpacing = (COSNumber)charSpacing;
             getContext().getGraphicsState().getTextState()
-                    .setCharacterSpacing(characterSpacing.floatValue());
+                    .setCharacterSpacing(arguments.getFloat(last));
         }
     }
 
@@ -18,17 +18,16 @@
 package dev.wfj.gwtpdfbox.contentstream.operator.text;
 
 import java.io.IOException;
-
 import java.util.List;
 
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
 import dev.wfj.gwtpdfbox.cos.COSBase;
 import dev.wfj.gwtpdfbox.cos.COSName;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
 import dev.wfj.gwtpdfbox.pdmodel.font.PDFont;
 import elemental2.dom.DomGlobal;
 
@@ -46,6 +45,12 @@ public class SetFontAndSize extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.size() < 2)
         {
@@ -53,17 +58,16 @@ public class SetFontAndSize extends OperatorProcessor
         }
 
         COSBase base0 = arguments.get(0);
-        COSBase base1 = arguments.get(1);
         if (!(base0 instanceof COSName))
         {
             return;
         }
-        if (!(base1 instanceof COSNumber))
+        if (!arguments.isNumber(1))
         {
             return;
         }
         COSName fontName = (COSName) base0;
-        float fontSize = ((COSNumber) base1).floatValue();
+        float fontSize = arguments.getFloat(1);
         PDFStreamEngine context = getContext();
         context.getGraphicsState().getTextState().setFontSize(fontSize);
         PDFont font = context.getResources().getFont(fontName);
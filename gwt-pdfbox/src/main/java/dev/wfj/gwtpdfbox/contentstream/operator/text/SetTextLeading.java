@@ -21,11 +21,11 @@ import java.util.List;
 
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
+import dev.wfj.gwtpdfbox.cos.COSBase;
 
 /**
  * TL: Set text leading.
@@ -41,18 +41,23 @@ public class SetTextLeading extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.isEmpty())
         {
             throw new MissingOperandException(operator, arguments);
         }
-        COSBase base = arguments.get(0);
-        if (!(base instanceof COSNumber))
+        if (!arguments.isNumber(0))
         {
             return;
         }
-        COSNumber leading = (COSNumber) base;
-        getContext().getGraphicsState().getTextState().setLeading(leading.floatValue());
+        float leading = arguments.getFloat(0);
+        getContext().getGraphicsState().getTextState().setLeading(leading);
     }
 
     @Override
@@ -21,11 +21,11 @@ import java.util.List;
 
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
 import dev.wfj.gwtpdfbox.contentstream.operator.MissingOperandException;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
 import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
 import dev.wfj.gwtpdfbox.pdmodel.graphics.state.RenderingMode;
 
 /**
@@ -42,18 +42,22 @@ public class SetTextRenderingMode extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.isEmpty())
         {
             throw new MissingOperandException(operator, arguments);
         }
-        COSBase base0 = arguments.get(0);
-        if (!(base0 instanceof COSNumber))
+        if (!arguments.isNumber(0))
         {
             return;
         }
-        COSNumber mode = (COSNumber) base0;
-        int val = mode.intValue();
+        int val = arguments.getInt(0);
         if (val < 0 || val >= RenderingMode.values().length)
         {
             return;
@@ -16,16 +16,15 @@
  */
 package dev.wfj.gwtpdfbox.contentstream.operator.text;
 
-import java.util.List;
-
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
+import dev.wfj.gwtpdfbox.cos.COSBase;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Ts: Set text rise.
@@ -41,18 +40,23 @@ public class SetTextRise extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.isEmpty())
         {
             return;
         }
-        COSBase base = arguments.get(0);
-        if (!(base instanceof COSNumber))
+        if (!arguments.isNumber(0))
         {
             return;
         }
-        COSNumber rise = (COSNumber) base;
-        getContext().getGraphicsState().getTextState().setRise(rise.floatValue());
+        float rise = arguments.getFloat(0);
+        getContext().getGraphicsState().getTextState().setRise(rise);
     }
 
     @Override
@@ -16,14 +16,13 @@
  */
 package dev.wfj.gwtpdfbox.contentstream.operator.text;
 
-import java.util.List;
-
-import dev.wfj.gwtpdfbox.cos.COSBase;
-import dev.wfj.gwtpdfbox.cos.COSNumber;
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
+import dev.wfj.gwtpdfbox.cos.COSBase;
+import java.util.List;
 
 /**
  * Tw: Set word spacing.
@@ -39,18 +38,23 @@ public class SetWordSpacing extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments)
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments)
     {
         if (arguments.isEmpty())
         {
             return;
         }
-        COSBase base = arguments.get(0);
-        if (!(base instanceof COSNumber))
+        if (!arguments.isNumber(0))
         {
             return;
         }
-        COSNumber wordSpacing = (COSNumber) base;
-        getContext().getGraphicsState().getTextState().setWordSpacing(wordSpacing.floatValue());
+        float wordSpacing = arguments.getFloat(0);
+        getContext().getGraphicsState().getTextState().setWordSpacing(wordSpacing);
     }
 
     @Override
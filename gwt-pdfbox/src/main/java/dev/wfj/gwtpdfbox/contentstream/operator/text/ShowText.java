@@ -16,16 +16,16 @@
  */
 package dev.wfj.gwtpdfbox.contentstream.operator.text;
 
-import java.util.List;
-
 import dev.wfj.gwtpdfbox.cos.COSBase;
 import dev.wfj.gwtpdfbox.cos.COSString;
 import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorProcessor;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Tj: Show text.
@@ -41,6 +41,12 @@ public class ShowText extends OperatorProcessor
 
     @Override
     public void process(Operator operator, List<COSBase> arguments) throws IOException
+    {
+        process(operator, new OperandStack(arguments));
+    }
+
+    @Override
+    public void process(Operator operator, OperandStack arguments) throws IOException
     {
         if (arguments.isEmpty())
         {
@@ -21,7 +21,6 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -33,7 +32,6 @@ import java.util.function.BiConsumer;
 
 import dev.wfj.gwtpdfbox.io.IOUtils;
 import dev.wfj.gwtpdfbox.pdmodel.common.COSObjectable;
-import dev.wfj.gwtpdfbox.util.SmallMap;
 
 import elemental2.dom.DomGlobal;
 
@@ -51,12 +49,11 @@ public class COSDictionary extends COSBase implements COSUpdateInfo
      */
     
     private static final String PATH_SEPARATOR = "/";
-    private static final int MAP_THRESHOLD = 1000;
 
     /**
      * The name-value pairs of this dictionary. The pairs are kept in the order they were added to the dictionary.
      */
-    protected Map<COSName, COSBase> items = new SmallMap<>();
+    protected Map<COSName, COSBase> items = new COSNameMap();
     private final COSUpdateState updateState;
 
     /**
@@ -205,10 +202,6 @@ public class COSDictionary extends COSBase implements COSUpdateInfo
         }
         else
         {
-            if (items instanceof SmallMap && items.size() >= MAP_THRESHOLD)
-            {
-                items = new LinkedHashMap<>(items);
-            }
             items.put(key, value);
             getUpdateState().update(value);
         }
@@ -1144,10 +1137,6 @@ public class COSDictionary extends COSBase implements COSUpdateInfo
      */
     public void addAll(COSDictionary dict)
     {
-        if (items instanceof SmallMap && items.size() + dict.items.size() >= MAP_THRESHOLD)
-        {
-            items = new LinkedHashMap<>(items);
-        }
         items.putAll(dict.items);
     }
 
@@ -19,7 +19,6 @@ package dev.wfj.gwtpdfbox.cos;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -52,14 +51,12 @@ public class COSDocument extends COSBase implements Closeable
      * Maps ObjectKeys to a COSObject. Note that references to these objects
      * are also stored in COSDictionary objects that map a name to a specific object.
      */
-    private final Map<COSObjectKey, COSObject> objectPool =
-        new HashMap<>();
+    private final COSObjectKeyMap<COSObject> objectPool = new COSObjectKeyMap<>();
 
     /**
      * Maps object and generation id to object byte offsets.
      */
-    private final Map<COSObjectKey, Long> xrefTable =
-        new HashMap<>();
+    private final COSObjectKeyLongMap xrefTable = new COSObjectKeyLongMap();
 
     /**
      * List containing all streams which are created when creating a new pdf.
@@ -93,6 +90,11 @@ public class COSDocument extends COSBase implements Closeable
     
     private final COSDocumentState documentState = new COSDocumentState();
 
+    /**
+     * Keeps track of dereferenced objects to be evicted, <code>null</code> if all objects are kept.
+     */
+    private COSObjectCache objectCache;
+
     /**
      * Constructor. Uses main memory to buffer PDF streams.
      */
@@ -492,11 +494,55 @@ public class COSDocument extends COSBase implements Closeable
         if( key != null )
         {
             // make "proxy" object if this was a forward reference
-            obj = objectPool.computeIfAbsent(key, k -> new COSObject(k, parser));
+            obj = objectPool.computeIfAbsent(key, this::createPoolObject);
         }
         return obj;
     }
 
+    private COSObject createPoolObject(COSObjectKey key)
+    {
+        COSObject object = new COSObject(key, parser);
+        object.setObjectCache(objectCache);
+        return object;
+    }
+
+    /**
+     * Limits the main memory used by the dereferenced objects of a parsed document. By default an object is kept
+     * once it is dereferenced. With a limit the least recently used objects are dropped as soon as their estimated
+     * size exceeds the given number of bytes, they are parsed once more when they are accessed again. Unchanged streams
+     * are dropped as well, their data is read from the source again. The root object and the page tree nodes are kept
+     * all the time, so is an object as soon as it is modified.
+     *
+     * <p>This is meant for processing huge documents page by page. A dropped object which is still held by a caller,
+     * e.g. the dictionary of a page, is a copy until it is modified, the modified copy becomes part of the document
+     * again. Don't combine it with loading all object streams in parallel, the preloaded objects are kept until they
+     * are accessed.</p>
+     *
+     * @param maxBytes the maximum number of bytes, <code>-1</code> to keep all objects
+     */
+    public void setObjectCacheSize(long maxBytes)
+    {
+        objectCache = maxBytes >= 0 && parser != null ? new COSObjectCache(this, parser, maxBytes) : null;
+        for (COSObject object : objectPool.values())
+        {
+            object.setObjectCache(objectCache);
+            if (objectCache != null && object.isDereferenced())
+            {
+                objectCache.dereferenced(object, object.getDereferencedObject());
+            }
+        }
+    }
+
+    /**
+     * Returns the maximum number of bytes used by the dereferenced objects, see {@link #setObjectCacheSize(long)}.
+     *
+     * @return the maximum number of bytes, <code>-1</code> if all objects are kept
+     */
+    public long getObjectCacheSize()
+    {
+        return objectCache != null ? objectCache.getMaxBytes() : -1;
+    }
+
     /**
      * Populate XRef HashMap with given values.
      * Each entry maps ObjectKeys to byte offsets in the file.
@@ -504,7 +550,14 @@ public class COSDocument extends COSBase implements Closeable
      */
     public void addXRefTable( Map<COSObjectKey, Long> xrefTableValues )
     {
-        xrefTable.putAll( xrefTableValues );
+        if (xrefTableValues instanceof COSObjectKeyLongMap)
+        {
+            xrefTable.putAll((COSObjectKeyLongMap) xrefTableValues);
+        }
+        else
+        {
+            xrefTable.putAll(xrefTableValues);
+        }
     }
 
     /**
@@ -512,7 +565,7 @@ public class COSDocument extends COSBase implements Closeable
      * to byte offsets in the file.
      * @return mapping of ObjectsKeys to byte offsets
      */
-    public Map<COSObjectKey, Long> getXrefTable()
+    public COSObjectKeyLongMap getXrefTable()
     {
         return xrefTable;
     }
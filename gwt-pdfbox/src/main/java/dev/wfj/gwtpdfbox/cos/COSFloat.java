@@ -88,6 +88,20 @@ public class COSFloat extends COSNumber
 
     }
 
+    /**
+     * Creates an instance for a value parsed from a PDF. The value is coerced to the valid range in the same way as
+     * {@link #COSFloat(String)} does.
+     *
+     * @param aFloat the parsed value
+     * @return the new instance
+     */
+    static COSFloat createParsed(float aFloat)
+    {
+        COSFloat cosFloat = new COSFloat(aFloat);
+        cosFloat.checkMinMaxValues();
+        return cosFloat;
+    }
+
     /**
      * Check and coerce the value field to be between MIN_NORMAL and MAX_VALUE. Returns "true" if the value was
      * replaced.
@@ -19,6 +19,7 @@ package dev.wfj.gwtpdfbox.cos;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -40,6 +41,13 @@ public final class COSName extends COSBase implements Comparable<COSName>
     // they are already defined as static constants and don't need to be synchronized
     private static final Map<String, COSName> commonNameMap = new HashMap<>(768);
 
+    // number of entries of the byte level name cache, has to be a power of 2
+    private static final int BYTE_CACHE_SIZE = 4096;
+
+    // names recently looked up by their raw bytes, see getPDFName(byte[], int, int)
+    // entries are immutable, so concurrent threads at most replace each other's entries
+    private static final ByteCacheEntry[] byteCache = new ByteCacheEntry[BYTE_CACHE_SIZE];
+
     //
     // IMPORTANT: this list is *alphabetized* and does not need any JavaDoc
     //
@@ -686,6 +694,37 @@ public final class COSName extends COSBase implements Comparable<COSName>
         return name;
     }
 
+    /**
+     * This will get a COSName object for the given UTF-8 encoded bytes. The bytes are looked up in a cache of recently
+     * used names first, so a string is only decoded for names not seen before.
+     * 
+     * @param bytes the array holding the UTF-8 encoded name
+     * @param offset the offset of the first byte of the name
+     * @param length the number of bytes of the name
+     * 
+     * @return A COSName with the specified name.
+     */
+    public static COSName getPDFName(byte[] bytes, int offset, int length)
+    {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++)
+        {
+            hash = 31 * hash + bytes[i];
+        }
+        // spread the higher bits to the index
+        int index = (hash ^ (hash >>> 16)) & (BYTE_CACHE_SIZE - 1);
+        ByteCacheEntry entry = byteCache[index];
+        if (entry != null && entry.hash == hash && entry.matches(bytes, offset, length))
+        {
+            return entry.name;
+        }
+        COSName name = getPDFName(new String(bytes, offset, length, StandardCharsets.UTF_8));
+        byte[] entryBytes = new byte[length];
+        System.arraycopy(bytes, offset, entryBytes, 0, length);
+        byteCache[index] = new ByteCacheEntry(entryBytes, hash, name);
+        return name;
+    }
+
     /**
      * Private constructor. This will limit the number of COSName objects. that are created.
      * 
@@ -810,5 +849,39 @@ public final class COSName extends COSBase implements Comparable<COSName>
     {
         // Clear them all
         nameMap.clear();
+        Arrays.fill(byteCache, null);
+    }
+
+    /**
+     * An entry of the byte level name cache.
+     */
+    private static final class ByteCacheEntry
+    {
+        private final byte[] bytes;
+        private final int hash;
+        private final COSName name;
+
+        ByteCacheEntry(byte[] bytes, int hash, COSName name)
+        {
+            this.bytes = bytes;
+            this.hash = hash;
+            this.name = name;
+        }
+
+        boolean matches(byte[] other, int offset, int length)
+        {
+            if (bytes.length != length)
+            {
+                return false;
+            }
+            for (int i = 0; i < length; i++)
+            {
+                if (bytes[i] != other[offset + i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 }
@@ -0,0 +1,466 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.cos;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The map holding the entries of a {@link COSDictionary}. The entries are kept in insertion order in two parallel
+ * arrays. Small maps are searched linearly, larger ones use an open addressing hash table of indexes into the arrays.
+ * Keys are compared by identity first as most names are interned, and by the precomputed hash code of the name
+ * before calling {@link COSName#equals(Object)}.
+ *
+ * <p>Removed entries leave a gap in the arrays which is closed when the arrays are resized. The views iterate over
+ * the arrays as they were when the iteration started, so the map may be modified while iterating. The views
+ * don't support removal.</p>
+ *
+ * <p><code>null</code> is not supported for keys or values. This class is not thread safe.</p>
+ */
+final class COSNameMap extends AbstractMap<COSName, COSBase>
+{
+    /** maps up to this size are searched linearly */
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+    private static final int INITIAL_CAPACITY = 4;
+
+    /** the keys in insertion order, <code>null</code> for a removed entry */
+    private COSName[] keys;
+    private COSBase[] values;
+    /** number of used array slots including removed entries */
+    private int end = 0;
+    private int size = 0;
+    /** hash table holding array index + 1 of the entries, <code>0</code> for a free slot */
+    private int[] table;
+
+    private Set<Map.Entry<COSName, COSBase>> entrySet;
+    private Set<COSName> keySet;
+    private Collection<COSBase> valueCollection;
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public COSBase get(Object key)
+    {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public COSBase put(COSName key, COSBase value)
+    {
+        if (key == null || value == null)
+        {
+            throw new NullPointerException("Key or value must not be null.");
+        }
+        int index = indexOf(key);
+        if (index >= 0)
+        {
+            COSBase oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        if (keys == null)
+        {
+            keys = new COSName[INITIAL_CAPACITY];
+            values = new COSBase[INITIAL_CAPACITY];
+        }
+        else if (end == keys.length)
+        {
+            resize();
+        }
+        keys[end] = key;
+        values[end] = value;
+        end++;
+        size++;
+        if (table != null)
+        {
+            insert(key, end);
+        }
+        else if (size > LINEAR_SEARCH_LIMIT)
+        {
+            rebuildTable();
+        }
+        return null;
+    }
+
+    @Override
+    public COSBase remove(Object key)
+    {
+        int index = indexOf(key);
+        if (index < 0)
+        {
+            return null;
+        }
+        COSBase oldValue = values[index];
+        // the hash table entry stays and keeps the probe sequence intact until the table is rebuilt
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        if (size == 0)
+        {
+            clear();
+        }
+        return oldValue;
+    }
+
+    @Override
+    public void clear()
+    {
+        // the views may still iterate over the old arrays
+        keys = null;
+        values = null;
+        table = null;
+        end = 0;
+        size = 0;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super COSName, ? super COSBase> action)
+    {
+        COSName[] iteratedKeys = keys;
+        COSBase[] iteratedValues = values;
+        int iteratedEnd = end;
+        for (int i = 0; i < iteratedEnd; i++)
+        {
+            COSName key = iteratedKeys[i];
+            if (key != null)
+            {
+                action.accept(key, iteratedValues[i]);
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<COSName, COSBase>> entrySet()
+    {
+        if (entrySet == null)
+        {
+            entrySet = new AbstractSet<Map.Entry<COSName, COSBase>>()
+            {
+                @Override
+                public Iterator<Map.Entry<COSName, COSBase>> iterator()
+                {
+                    return new ArrayIterator<Map.Entry<COSName, COSBase>>()
+                    {
+                        @Override
+                        Map.Entry<COSName, COSBase> get(COSName key, COSBase value)
+                        {
+                            return new NameMapEntry(key, value);
+                        }
+                    };
+                }
+
+                @Override
+                public int size()
+                {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Set<COSName> keySet()
+    {
+        if (keySet == null)
+        {
+            keySet = new AbstractSet<COSName>()
+            {
+                @Override
+                public Iterator<COSName> iterator()
+                {
+                    return new ArrayIterator<COSName>()
+                    {
+                        @Override
+                        COSName get(COSName key, COSBase value)
+                        {
+                            return key;
+                        }
+                    };
+                }
+
+                @Override
+                public boolean contains(Object key)
+                {
+                    return containsKey(key);
+                }
+
+                @Override
+                public int size()
+                {
+                    return size;
+                }
+            };
+        }
+        return keySet;
+    }
+
+    @Override
+    public Collection<COSBase> values()
+    {
+        if (valueCollection == null)
+        {
+            valueCollection = new AbstractCollection<COSBase>()
+            {
+                @Override
+                public Iterator<COSBase> iterator()
+                {
+                    return new ArrayIterator<COSBase>()
+                    {
+                        @Override
+                        COSBase get(COSName key, COSBase value)
+                        {
+                            return value;
+                        }
+                    };
+                }
+
+                @Override
+                public int size()
+                {
+                    return size;
+                }
+            };
+        }
+        return valueCollection;
+    }
+
+    /**
+     * Returns the array index of the given key or -1 if it isn't in the map.
+     */
+    private int indexOf(Object key)
+    {
+        if (!(key instanceof COSName) || size == 0)
+        {
+            return -1;
+        }
+        COSName name = (COSName) key;
+        int hash = name.hashCode();
+        if (table == null)
+        {
+            for (int i = 0; i < end; i++)
+            {
+                COSName current = keys[i];
+                if (current == name || current != null && current.hashCode() == hash && current.equals(name))
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask;; slot = (slot + 1) & mask)
+        {
+            int entry = table[slot];
+            if (entry == 0)
+            {
+                return -1;
+            }
+            COSName current = keys[entry - 1];
+            if (current == name || current != null && current.hashCode() == hash && current.equals(name))
+            {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * Makes room for another entry, either by closing the gaps of removed entries or by growing the arrays.
+     */
+    private void resize()
+    {
+        int capacity = size >= keys.length * 3 / 4 ? keys.length + (keys.length >> 1) + 1 : keys.length;
+        COSName[] newKeys = new COSName[capacity];
+        COSBase[] newValues = new COSBase[capacity];
+        int newEnd = 0;
+        for (int i = 0; i < end; i++)
+        {
+            if (keys[i] != null)
+            {
+                newKeys[newEnd] = keys[i];
+                newValues[newEnd] = values[i];
+                newEnd++;
+            }
+        }
+        // new arrays are used, so that running iterations aren't affected
+        keys = newKeys;
+        values = newValues;
+        end = newEnd;
+        if (table != null)
+        {
+            rebuildTable();
+        }
+    }
+
+    private void rebuildTable()
+    {
+        // the table is kept at most half full for the arrays at full capacity
+        int tableSize = Integer.highestOneBit(Math.max(keys.length, LINEAR_SEARCH_LIMIT) * 2 - 1) << 1;
+        if (table == null || table.length != tableSize)
+        {
+            table = new int[tableSize];
+        }
+        else
+        {
+            Arrays.fill(table, 0);
+        }
+        for (int i = 0; i < end; i++)
+        {
+            if (keys[i] != null)
+            {
+                insert(keys[i], i + 1);
+            }
+        }
+    }
+
+    private void insert(COSName key, int entry)
+    {
+        if (end * 2 > table.length)
+        {
+            rebuildTable();
+            return;
+        }
+        int mask = table.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        while (table[slot] != 0)
+        {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = entry;
+    }
+
+    private static int spread(int hash)
+    {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Iterates over the entries of the arrays at the time the iteration started.
+     */
+    private abstract class ArrayIterator<T> implements Iterator<T>
+    {
+        private final COSName[] iteratedKeys = keys;
+        private final COSBase[] iteratedValues = values;
+        private final int iteratedEnd = end;
+        private int next = 0;
+
+        abstract T get(COSName key, COSBase value);
+
+        @Override
+        public boolean hasNext()
+        {
+            while (next < iteratedEnd && iteratedKeys[next] == null)
+            {
+                next++;
+            }
+            return next < iteratedEnd;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            T element = get(iteratedKeys[next], iteratedValues[next]);
+            next++;
+            return element;
+        }
+    }
+
+    private final class NameMapEntry implements Map.Entry<COSName, COSBase>
+    {
+        private final COSName key;
+        private COSBase value;
+
+        NameMapEntry(COSName key, COSBase value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public COSName getKey()
+        {
+            return key;
+        }
+
+        @Override
+        public COSBase getValue()
+        {
+            return value;
+        }
+
+        @Override
+        public COSBase setValue(COSBase value)
+        {
+            COSBase oldValue = put(key, value);
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof Map.Entry))
+            {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+            return key.equals(other.getKey()) && Objects.equals(value, other.getValue());
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return key.hashCode() ^ value.hashCode();
+        }
+
+        @Override
+        public String toString()
+        {
+            return key + "=" + value;
+        }
+    }
+}
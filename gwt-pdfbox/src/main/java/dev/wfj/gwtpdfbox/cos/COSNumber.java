@@ -17,6 +17,7 @@
 package dev.wfj.gwtpdfbox.cos;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * This class represents an abstract number in a PDF document.
@@ -25,6 +26,13 @@ import java.io.IOException;
  */
 public abstract class COSNumber extends COSBase
 {
+    /** more significant digits may exceed the range of a long or the exact range of a double */
+    private static final int MAX_SIGNIFICANT_DIGITS = 15;
+
+    /** powers of ten which can be represented exactly as double */
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
     /**
      * This will get the float value of this number.
      *
@@ -94,6 +102,108 @@ public abstract class COSNumber extends COSBase
         }
     }
 
+    /**
+     * This factory method will get the appropriate number object for the given bytes without creating a string. Plain
+     * integers and decimal numbers are accumulated directly, anything else (e.g. exponents, several signs or very long
+     * numbers) is handled by {@link #get(String)}.
+     *
+     * @param bytes the array holding the string representation of the number
+     * @param offset the offset of the first byte of the number
+     * @param length the number of bytes of the number
+     *
+     * @return A number object, either float or int.
+     *
+     * @throws IOException If the bytes don't represent a number.
+     */
+    public static COSNumber get(byte[] bytes, int offset, int length) throws IOException
+    {
+        double value = parsePlainNumber(bytes, offset, length);
+        if (Double.isNaN(value))
+        {
+            // lenient or unusual cases
+            return get(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+        }
+        if (!isFloat(bytes, offset, length))
+        {
+            return COSInteger.get((long) value);
+        }
+        return COSFloat.createParsed((float) value);
+    }
+
+    /**
+     * Parses a plain integer or decimal number from the given bytes without creating any object. The value is the
+     * same as the one of the {@link COSNumber} returned by {@link #get(byte[], int, int)}, the number is an integer if
+     * it doesn't contain a ".".
+     *
+     * @param bytes the array holding the string representation of the number
+     * @param offset the offset of the first byte of the number
+     * @param length the number of bytes of the number
+     *
+     * @return the value of the number or {@link Double#NaN} if it isn't a plain number, e.g. if it has an exponent,
+     * several signs or too many digits
+     */
+    public static double parsePlainNumber(byte[] bytes, int offset, int length)
+    {
+        int end = offset + length;
+        int pos = offset;
+        boolean negative = false;
+        if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+'))
+        {
+            negative = bytes[pos] == '-';
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        int scale = 0;
+        boolean isFloat = false;
+        for (; pos < end; pos++)
+        {
+            int c = bytes[pos];
+            if (c >= '0' && c <= '9')
+            {
+                digits++;
+                if (mantissa > 0 || c != '0')
+                {
+                    significantDigits++;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (isFloat)
+                {
+                    scale++;
+                }
+            }
+            else if (c == '.' && !isFloat)
+            {
+                isFloat = true;
+            }
+            else
+            {
+                break;
+            }
+        }
+        if (pos < end || digits == 0 || significantDigits > MAX_SIGNIFICANT_DIGITS
+                || scale >= POWERS_OF_TEN.length)
+        {
+            return Double.NaN;
+        }
+        // both values are exact, so the division is rounded correctly
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static boolean isFloat(byte[] bytes, int offset, int length)
+    {
+        for (int i = offset; i < offset + length; i++)
+        {
+            if (bytes[i] == '.')
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static boolean isFloat( String number )
     {
         int length = number.length();
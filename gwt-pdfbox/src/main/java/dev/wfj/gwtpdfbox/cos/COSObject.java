@@ -37,6 +37,8 @@ public class COSObject extends COSBase implements COSUpdateInfo
     private ICOSParser parser;
     private boolean isDereferenced = false;
     private final COSUpdateState updateState;
+    /** the bounded object cache of the document, if any */
+    private COSObjectCache objectCache;
     
     
     /**
@@ -130,10 +132,64 @@ public class COSObject extends COSBase implements COSUpdateInfo
             {
                 parser = null;
             }
+            COSBase object = baseObject;
+            if (objectCache != null)
+            {
+                objectCache.dereferenced(this, object);
+            }
+            return object;
+        }
+        if (objectCache != null && isDereferenced)
+        {
+            objectCache.accessed(this);
         }
         return baseObject;
     }
 
+    /**
+     * Returns the referenced object if it is dereferenced already, without loading or tracking it.
+     *
+     * @return the referenced object or <code>null</code>
+     */
+    COSBase getDereferencedObject()
+    {
+        return baseObject;
+    }
+
+    /**
+     * Sets the bounded object cache to keep track of this object.
+     *
+     * @param objectCache the object cache
+     */
+    void setObjectCache(COSObjectCache objectCache)
+    {
+        this.objectCache = objectCache;
+    }
+
+    /**
+     * Drops the referenced object, it is loaded once more by the given parser when it is accessed again.
+     *
+     * @param parser the parser to load the object on demand
+     */
+    void evict(ICOSParser parser)
+    {
+        baseObject = null;
+        isDereferenced = false;
+        this.parser = parser;
+    }
+
+    /**
+     * Sets the referenced object once more after it was evicted, see {@link #evict(ICOSParser)}.
+     *
+     * @param object the referenced object
+     */
+    void attach(COSBase object)
+    {
+        baseObject = object;
+        isDereferenced = true;
+        parser = null;
+    }
+
     /**
      * Sets the referenced object to COSNull and removes the initially assigned parser.
      */
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.cos;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import elemental2.dom.DomGlobal;
+
+/**
+ * Keeps track of the dereferenced objects of a {@link COSDocument} with a bounded object cache. The least recently
+ * used objects are evicted as soon as the estimated size of all objects exceeds the byte budget, an evicted object
+ * is parsed once more when it is accessed again.
+ *
+ * <p>The root object and the page tree nodes are never evicted. Neither are modified objects, as the changes would
+ * get lost otherwise. The update states of a tracked object and its direct children are linked to the object, so that
+ * it is pinned as soon as it is modified. A modified copy which was evicted already is attached to its object once
+ * more. A stream is evicted as long as it is unchanged, its data is read from the source again when it is reloaded.
+ * Writing the data of a stream modifies it.</p>
+ *
+ * <p>This class is thread safe.</p>
+ */
+final class COSObjectCache
+{
+    private final COSDocument document;
+    private final ICOSParser parser;
+    private final long maxBytes;
+    /** the tracked objects and their estimated sizes in access order */
+    private final LinkedHashMap<COSObject, Long> objects = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes = 0;
+    private long evictions = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param document the document the objects belong to
+     * @param parser the parser to load evicted objects again
+     * @param maxBytes the byte budget for all evictable objects
+     */
+    COSObjectCache(COSDocument document, ICOSParser parser, long maxBytes)
+    {
+        this.document = document;
+        this.parser = parser;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the byte budget for all evictable objects.
+     *
+     * @return the byte budget
+     */
+    long getMaxBytes()
+    {
+        return maxBytes;
+    }
+
+    /**
+     * Returns the number of objects evicted so far.
+     *
+     * @return the number of evicted objects
+     */
+    synchronized long getEvictionCount()
+    {
+        return evictions;
+    }
+
+    /**
+     * Starts tracking the given object which was just dereferenced and evicts the least recently used objects if the
+     * budget is exceeded. The given object itself is never evicted by this call.
+     *
+     * @param object the dereferenced object
+     * @param base the dereferenced content of the object
+     */
+    synchronized void dereferenced(COSObject object, COSBase base)
+    {
+        if (base == null || base instanceof COSNull || isPinned(object, base) || isModified(base, 0))
+        {
+            return;
+        }
+        long size = COSSizeEstimator.estimateSize(base);
+        Long oldSize = objects.put(object, size);
+        bytes += size - (oldSize != null ? oldSize : 0);
+        link(base, new CachedObject(this, object, base), 0);
+        evict();
+    }
+
+    /**
+     * Pins the object of the given modified copy. The copy is attached to the object once more if it was evicted,
+     * unless the object was reloaded and modified in the meantime.
+     *
+     * @param cachedObject the modified copy
+     */
+    synchronized void modified(CachedObject cachedObject)
+    {
+        COSObject object = cachedObject.object;
+        COSBase current = object.getDereferencedObject();
+        if (current != cachedObject.base && current != null && isModified(current, 0))
+        {
+            DomGlobal.console.warn("Changes of an evicted copy of " + object
+                    + " are lost, the reloaded object was modified as well");
+            return;
+        }
+        Long size = objects.remove(object);
+        if (size != null)
+        {
+            bytes -= size;
+        }
+        if (current != cachedObject.base)
+        {
+            object.attach(cachedObject.base);
+        }
+    }
+
+    /**
+     * Marks the given object as most recently used.
+     *
+     * @param object the accessed object
+     */
+    synchronized void accessed(COSObject object)
+    {
+        objects.get(object);
+    }
+
+    private void evict()
+    {
+        Iterator<Map.Entry<COSObject, Long>> iterator = objects.entrySet().iterator();
+        // keep the most recently used object
+        while (bytes > maxBytes && objects.size() > 1)
+        {
+            Map.Entry<COSObject, Long> eldest = iterator.next();
+            COSObject object = eldest.getKey();
+            bytes -= eldest.getValue();
+            iterator.remove();
+            COSBase base = object.getDereferencedObject();
+            if (!isModified(base, 0))
+            {
+                object.evict(parser);
+                evictions++;
+            }
+            // else the object stays pinned as it isn't tracked anymore
+        }
+    }
+
+    private boolean isPinned(COSObject object, COSBase base)
+    {
+        COSDictionary trailer = document.getTrailer();
+        if (trailer != null && trailer.getItem(COSName.ROOT) == object)
+        {
+            return true;
+        }
+        if (base instanceof COSDictionary)
+        {
+            COSDictionary dictionary = (COSDictionary) base;
+            COSBase type = dictionary.getItem(COSName.TYPE);
+            if (COSName.CATALOG.equals(type) || COSName.PAGES.equals(type))
+            {
+                return true;
+            }
+            // page tree node without a type
+            return type == null && dictionary.containsKey(COSName.KIDS);
+        }
+        return false;
+    }
+
+    /**
+     * Links the update states of the given object and its direct children to the given tracked object.
+     */
+    private static void link(COSBase base, CachedObject cachedObject, int depth)
+    {
+        if (base instanceof COSUpdateInfo)
+        {
+            ((COSUpdateInfo) base).getUpdateState().setCachedObject(cachedObject);
+        }
+        if (depth >= COSSizeEstimator.MAX_DEPTH)
+        {
+            return;
+        }
+        if (base instanceof COSDictionary)
+        {
+            for (COSBase value : ((COSDictionary) base).getValues())
+            {
+                if (!(value instanceof COSObject))
+                {
+                    link(value, cachedObject, depth + 1);
+                }
+            }
+        }
+        else if (base instanceof COSArray)
+        {
+            for (COSBase value : (COSArray) base)
+            {
+                if (!(value instanceof COSObject))
+                {
+                    link(value, cachedObject, depth + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the given object or one of its direct children were modified.
+     */
+    private static boolean isModified(COSBase base, int depth)
+    {
+        if (base instanceof COSUpdateInfo && ((COSUpdateInfo) base).isNeedToBeUpdated())
+        {
+            return true;
+        }
+        if (depth >= COSSizeEstimator.MAX_DEPTH)
+        {
+            return false;
+        }
+        if (base instanceof COSDictionary)
+        {
+            for (COSBase value : ((COSDictionary) base).getValues())
+            {
+                if (!(value instanceof COSObject) && isModified(value, depth + 1))
+                {
+                    return true;
+                }
+            }
+        }
+        else if (base instanceof COSArray)
+        {
+            for (COSBase value : (COSArray) base)
+            {
+                if (!(value instanceof COSObject) && isModified(value, depth + 1))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A dereferenced copy of a tracked object, the update states of the copy and its direct children are linked to it.
+     */
+    static final class CachedObject
+    {
+        private final COSObjectCache cache;
+        private final COSObject object;
+        private final COSBase base;
+
+        CachedObject(COSObjectCache cache, COSObject object, COSBase base)
+        {
+            this.cache = cache;
+            this.object = object;
+            this.base = base;
+        }
+
+        /**
+         * Pins the object as the copy was modified.
+         */
+        void modified()
+        {
+            cache.modified(this);
+        }
+    }
+}
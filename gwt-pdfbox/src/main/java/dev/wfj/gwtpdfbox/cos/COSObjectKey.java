@@ -57,7 +57,42 @@ public final class COSObjectKey implements Comparable<COSObjectKey>
         {
             throw new IllegalArgumentException("Generation number must not be a negative value");
         }
-        numberAndGeneration = num << NUMBER_OFFSET | (gen & GENERATION_MASK);
+        numberAndGeneration = computeInternalHash(num, gen);
+    }
+
+    /**
+     * Calculates the internal hash value for the given object number and generation number. The value packs both
+     * numbers into one <code>long</code>.
+     *
+     * @param num the object number
+     * @param gen the generation number
+     * @return the internal hash for the given values
+     */
+    public static long computeInternalHash(long num, int gen)
+    {
+        return num << NUMBER_OFFSET | (gen & GENERATION_MASK);
+    }
+
+    /**
+     * Creates a key from the given internal hash value.
+     *
+     * @param internalHash the packed object number and generation number
+     * @return the key for the given value
+     */
+    static COSObjectKey fromInternalHash(long internalHash)
+    {
+        return new COSObjectKey(internalHash >>> NUMBER_OFFSET, (int) (internalHash & GENERATION_MASK));
+    }
+
+    /**
+     * Returns the internal hash value which packs the object number and the generation number into one
+     * <code>long</code>.
+     *
+     * @return the internal hash value
+     */
+    public long getInternalHash()
+    {
+        return numberAndGeneration;
     }
 
     /**
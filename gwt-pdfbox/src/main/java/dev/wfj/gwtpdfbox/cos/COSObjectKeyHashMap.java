@@ -0,0 +1,447 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.cos;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Base of the hash maps keyed by {@link COSObjectKey}. The keys are stored as their packed internal hash in a
+ * <code>long</code> array using open addressing with linear probing, so no key or entry objects are kept. The state of
+ * each slot is kept in a separate array as any <code>long</code> may be a packed key. Subclasses store the values in
+ * an array parallel to the keys.
+ *
+ * <p>Keys are created on demand when the map is accessed through its {@link Map} views.</p>
+ *
+ * @param <V> the type of the values
+ */
+abstract class COSObjectKeyHashMap<V> extends AbstractMap<COSObjectKey, V>
+{
+    /** state of a slot which has never been used */
+    static final byte FREE = 0;
+    /** state of a slot holding an entry */
+    static final byte USED = 1;
+    /** state of a slot whose entry was removed */
+    static final byte REMOVED = 2;
+
+    private static final int MIN_CAPACITY = 16;
+
+    /** the packed keys, the length is always a power of two */
+    long[] keys;
+    /** the state of each slot, parallel to the keys */
+    byte[] states;
+    private int size = 0;
+    /** number of slots which aren't {@link #FREE}, including removed ones */
+    private int usedSlots = 0;
+    private int modCount = 0;
+    private Set<Map.Entry<COSObjectKey, V>> entrySet;
+
+    /**
+     * Constructor.
+     *
+     * @param expectedSize the number of entries the map shall hold without being resized
+     */
+    COSObjectKeyHashMap(int expectedSize)
+    {
+        int capacity = capacityFor(expectedSize);
+        keys = new long[capacity];
+        states = new byte[capacity];
+    }
+
+    /**
+     * Returns the value stored in the given slot.
+     *
+     * @param slot the slot index
+     * @return the value
+     */
+    abstract V valueAt(int slot);
+
+    /**
+     * Replaces the value stored in the given slot.
+     *
+     * @param slot the slot index
+     * @param value the new value
+     * @return the previous value
+     */
+    abstract V replaceValueAt(int slot, V value);
+
+    /**
+     * Releases the value stored in the given slot.
+     *
+     * @param slot the slot index
+     */
+    abstract void clearValueAt(int slot);
+
+    /**
+     * Moves all entries to new arrays of the given capacity. Implementations use
+     * {@link #insertKey(long[], byte[], long)} to add each key to the new arrays.
+     *
+     * @param newKeys the new key array of the new capacity
+     * @param newStates the new state array of the new capacity, all slots are {@link #FREE}
+     */
+    abstract void rehash(long[] newKeys, byte[] newStates);
+
+    /**
+     * Clears all values.
+     */
+    abstract void clearValues();
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return key instanceof COSObjectKey && findSlot(((COSObjectKey) key).getInternalHash()) >= 0;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        if (!(key instanceof COSObjectKey))
+        {
+            return null;
+        }
+        int slot = findSlot(((COSObjectKey) key).getInternalHash());
+        return slot >= 0 ? valueAt(slot) : null;
+    }
+
+    @Override
+    public V put(COSObjectKey key, V value)
+    {
+        int slot = claimSlot(key.getInternalHash());
+        if (slot < 0)
+        {
+            replaceValueAt(~slot, value);
+            return null;
+        }
+        return replaceValueAt(slot, value);
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        if (!(key instanceof COSObjectKey))
+        {
+            return null;
+        }
+        int slot = findSlot(((COSObjectKey) key).getInternalHash());
+        if (slot < 0)
+        {
+            return null;
+        }
+        V value = valueAt(slot);
+        removeSlot(slot);
+        return value;
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(states, FREE);
+        clearValues();
+        size = 0;
+        usedSlots = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<COSObjectKey, V>> entrySet()
+    {
+        if (entrySet == null)
+        {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Returns the slot holding the given key.
+     *
+     * @param key the packed key
+     * @return the slot index or <code>-1</code> if the key isn't present
+     */
+    final int findSlot(long key)
+    {
+        long[] k = keys;
+        byte[] st = states;
+        int mask = k.length - 1;
+        int slot = hash(key) & mask;
+        byte state;
+        while ((state = st[slot]) != FREE)
+        {
+            if (state == USED && k[slot] == key)
+            {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the slot for the given key, the key is added if it isn't present. The value of a new slot has to be
+     * set by the caller.
+     *
+     * @param key the packed key
+     * @return the slot index if the key was present, the complement of the slot index if it was added
+     */
+    final int claimSlot(long key)
+    {
+        int slot = findSlot(key);
+        if (slot >= 0)
+        {
+            return slot;
+        }
+        if (usedSlots + 1 > keys.length - (keys.length >>> 2))
+        {
+            // reclaim the removed slots if they make up most of the used slots, grow otherwise
+            int capacity = size + 1 > keys.length >>> 1 ? keys.length << 1 : keys.length;
+            if (capacity < 0)
+            {
+                throw new IllegalStateException("Maximum number of objects reached");
+            }
+            long[] newKeys = new long[capacity];
+            byte[] newStates = new byte[capacity];
+            rehash(newKeys, newStates);
+            keys = newKeys;
+            states = newStates;
+            usedSlots = size;
+        }
+        slot = freeSlot(states, key);
+        if (states[slot] == FREE)
+        {
+            usedSlots++;
+        }
+        keys[slot] = key;
+        states[slot] = USED;
+        size++;
+        modCount++;
+        return ~slot;
+    }
+
+    /**
+     * Removes the entry in the given slot.
+     *
+     * @param slot the slot index
+     */
+    final void removeSlot(int slot)
+    {
+        states[slot] = REMOVED;
+        clearValueAt(slot);
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Adds the given key to the given arrays, the key must not be present yet.
+     *
+     * @param keys the key array
+     * @param states the state array
+     * @param key the packed key
+     * @return the slot index of the key
+     */
+    static int insertKey(long[] keys, byte[] states, long key)
+    {
+        int slot = freeSlot(states, key);
+        keys[slot] = key;
+        states[slot] = USED;
+        return slot;
+    }
+
+    /**
+     * Returns the first slot which may take the given key, the key must not be present yet.
+     *
+     * @param states the state array
+     * @param key the packed key
+     * @return the index of the first free or removed slot
+     */
+    private static int freeSlot(byte[] states, long key)
+    {
+        int mask = states.length - 1;
+        int slot = hash(key) & mask;
+        while (states[slot] == USED)
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long key)
+    {
+        // consecutive object numbers only differ in the upper bits of the lower int, spread them
+        int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int capacityFor(int expectedSize)
+    {
+        int capacity = MIN_CAPACITY;
+        while (capacity - (capacity >>> 2) < expectedSize && capacity < 1 << 30)
+        {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<COSObjectKey, V>>
+    {
+        @Override
+        public Iterator<Map.Entry<COSObjectKey, V>> iterator()
+        {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        @Override
+        public void clear()
+        {
+            COSObjectKeyHashMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<COSObjectKey, V>>
+    {
+        private int expectedModCount = modCount;
+        private int nextSlot = -1;
+        private int lastSlot = -1;
+
+        EntryIterator()
+        {
+            advance();
+        }
+
+        private void advance()
+        {
+            byte[] st = states;
+            do
+            {
+                nextSlot++;
+            }
+            while (nextSlot < st.length && st[nextSlot] != USED);
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return nextSlot < keys.length;
+        }
+
+        @Override
+        public Map.Entry<COSObjectKey, V> next()
+        {
+            if (modCount != expectedModCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            lastSlot = nextSlot;
+            advance();
+            return new SlotEntry(lastSlot);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (lastSlot < 0)
+            {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            // removing doesn't move any other entry
+            removeSlot(lastSlot);
+            lastSlot = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class SlotEntry implements Map.Entry<COSObjectKey, V>
+    {
+        private final int slot;
+        private final COSObjectKey key;
+
+        SlotEntry(int slot)
+        {
+            this.slot = slot;
+            key = COSObjectKey.fromInternalHash(keys[slot]);
+        }
+
+        @Override
+        public COSObjectKey getKey()
+        {
+            return key;
+        }
+
+        @Override
+        public V getValue()
+        {
+            return valueAt(slot);
+        }
+
+        @Override
+        public V setValue(V value)
+        {
+            return replaceValueAt(slot, value);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof Map.Entry))
+            {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+            V value = getValue();
+            return key.equals(other.getKey())
+                    && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            V value = getValue();
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return key + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.cos;
+
+import java.util.Arrays;
+
+/**
+ * A map of {@link COSObjectKey}s to <code>long</code> values such as byte offsets, keys and values are stored in
+ * primitive arrays. Compared to a {@link java.util.HashMap} there aren't any key, value or entry objects, which
+ * matters for documents with millions of objects.
+ *
+ * <p>The {@link java.util.Map} methods box the values, hot paths should use {@link #getLong(COSObjectKey, long)} and
+ * {@link #putLong(COSObjectKey, long)}. <code>null</code> values aren't supported.</p>
+ *
+ * <p>This class is not thread safe.</p>
+ */
+public final class COSObjectKeyLongMap extends COSObjectKeyHashMap<Long>
+{
+    private long[] values;
+
+    /**
+     * Creates an empty map.
+     */
+    public COSObjectKeyLongMap()
+    {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map.
+     *
+     * @param expectedSize the number of entries the map shall hold without being resized
+     */
+    public COSObjectKeyLongMap(int expectedSize)
+    {
+        super(expectedSize);
+        values = new long[keys.length];
+    }
+
+    /**
+     * Returns the value for the given key.
+     *
+     * @param key the key
+     * @param defaultValue the value to be returned if the key isn't present
+     * @return the value for the given key or the default value
+     */
+    public long getLong(COSObjectKey key, long defaultValue)
+    {
+        int slot = findSlot(key.getInternalHash());
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Sets the value for the given key.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void putLong(COSObjectKey key, long value)
+    {
+        int slot = claimSlot(key.getInternalHash());
+        values[slot < 0 ? ~slot : slot] = value;
+    }
+
+    /**
+     * Sets the value for the given key if the key isn't present yet.
+     *
+     * @param key the key
+     * @param value the value
+     * @return <code>true</code> if the value was set
+     */
+    public boolean putLongIfAbsent(COSObjectKey key, long value)
+    {
+        int slot = claimSlot(key.getInternalHash());
+        if (slot >= 0)
+        {
+            return false;
+        }
+        values[~slot] = value;
+        return true;
+    }
+
+    /**
+     * Sets the value for the key with the given numbers if the key isn't present yet. No key object is created.
+     *
+     * @param number the object number, must not be negative
+     * @param generation the generation number, must not be negative
+     * @param value the value
+     * @return <code>true</code> if the value was set
+     */
+    public boolean putLongIfAbsent(long number, int generation, long value)
+    {
+        int slot = claimSlot(COSObjectKey.computeInternalHash(number, generation));
+        if (slot >= 0)
+        {
+            return false;
+        }
+        values[~slot] = value;
+        return true;
+    }
+
+    /**
+     * Adds all entries of the given map, existing values are replaced.
+     *
+     * @param map the map to be copied
+     */
+    public void putAll(COSObjectKeyLongMap map)
+    {
+        long[] otherKeys = map.keys;
+        byte[] otherStates = map.states;
+        for (int i = 0; i < otherKeys.length; i++)
+        {
+            if (otherStates[i] == USED)
+            {
+                int slot = claimSlot(otherKeys[i]);
+                values[slot < 0 ? ~slot : slot] = map.values[i];
+            }
+        }
+    }
+
+    @Override
+    public Long put(COSObjectKey key, Long value)
+    {
+        if (value == null)
+        {
+            throw new NullPointerException("null values aren't supported");
+        }
+        return super.put(key, value);
+    }
+
+    @Override
+    Long valueAt(int slot)
+    {
+        return values[slot];
+    }
+
+    @Override
+    Long replaceValueAt(int slot, Long value)
+    {
+        long oldValue = values[slot];
+        values[slot] = value;
+        return oldValue;
+    }
+
+    @Override
+    void clearValueAt(int slot)
+    {
+        values[slot] = 0;
+    }
+
+    @Override
+    void rehash(long[] newKeys, byte[] newStates)
+    {
+        long[] newValues = new long[newKeys.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            if (states[i] == USED)
+            {
+                int slot = insertKey(newKeys, newStates, keys[i]);
+                newValues[slot] = values[i];
+            }
+        }
+        values = newValues;
+    }
+
+    @Override
+    void clearValues()
+    {
+        Arrays.fill(values, 0);
+    }
+}
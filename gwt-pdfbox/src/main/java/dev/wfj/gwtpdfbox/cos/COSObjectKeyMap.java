@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.cos;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * A map of {@link COSObjectKey}s to objects, the keys are stored in a primitive array. Compared to a
+ * {@link java.util.HashMap} there aren't any key or entry objects, which matters for documents with millions of
+ * objects.
+ *
+ * <p>This class is not thread safe.</p>
+ *
+ * @param <V> the type of the values
+ */
+public final class COSObjectKeyMap<V> extends COSObjectKeyHashMap<V>
+{
+    private Object[] values;
+
+    /**
+     * Creates an empty map.
+     */
+    public COSObjectKeyMap()
+    {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map.
+     *
+     * @param expectedSize the number of entries the map shall hold without being resized
+     */
+    public COSObjectKeyMap(int expectedSize)
+    {
+        super(expectedSize);
+        values = new Object[keys.length];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The key is only looked up once.</p>
+     */
+    @Override
+    public V computeIfAbsent(COSObjectKey key, Function<? super COSObjectKey, ? extends V> mappingFunction)
+    {
+        int slot = findSlot(key.getInternalHash());
+        if (slot >= 0)
+        {
+            V value = valueAt(slot);
+            if (value != null)
+            {
+                return value;
+            }
+        }
+        V value = mappingFunction.apply(key);
+        if (value != null)
+        {
+            // the mapping function may have changed the map, claim the slot afterwards
+            slot = claimSlot(key.getInternalHash());
+            values[slot < 0 ? ~slot : slot] = value;
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V valueAt(int slot)
+    {
+        return (V) values[slot];
+    }
+
+    @Override
+    V replaceValueAt(int slot, V value)
+    {
+        V oldValue = valueAt(slot);
+        values[slot] = value;
+        return oldValue;
+    }
+
+    @Override
+    void clearValueAt(int slot)
+    {
+        values[slot] = null;
+    }
+
+    @Override
+    void rehash(long[] newKeys, byte[] newStates)
+    {
+        Object[] newValues = new Object[newKeys.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            if (states[i] == USED)
+            {
+                int slot = insertKey(newKeys, newStates, keys[i]);
+                newValues[slot] = values[i];
+            }
+        }
+        values = newValues;
+    }
+
+    @Override
+    void clearValues()
+    {
+        Arrays.fill(values, null);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.cos;
+
+/**
+ * Estimates the main memory size of COS objects, it is used to bound caches by a byte budget.
+ *
+ * <p>This class is for internal use only.</p>
+ */
+public final class COSSizeEstimator
+{
+    /** estimated size of an object without any content */
+    public static final int OBJECT_SIZE = 16;
+    /** estimated size of a reference, e.g. an array element */
+    public static final int REFERENCE_SIZE = 8;
+    /** estimated size of a dictionary entry */
+    private static final int ENTRY_SIZE = 40;
+    /** direct objects below this depth aren't taken into account */
+    static final int MAX_DEPTH = 64;
+
+    private COSSizeEstimator()
+    {
+    }
+
+    /**
+     * Estimates the main memory size of the given object including its direct children. Indirect children are
+     * tracked on their own. The data of a parsed stream isn't held in main memory.
+     *
+     * @param base the object
+     * @return the estimated size in bytes
+     */
+    public static long estimateSize(COSBase base)
+    {
+        return estimateSize(base, 0);
+    }
+
+    private static long estimateSize(COSBase base, int depth)
+    {
+        if (base instanceof COSObject)
+        {
+            return REFERENCE_SIZE;
+        }
+        long size = OBJECT_SIZE;
+        if (depth >= MAX_DEPTH)
+        {
+            return size;
+        }
+        if (base instanceof COSDictionary)
+        {
+            COSDictionary dictionary = (COSDictionary) base;
+            size += OBJECT_SIZE + (long) dictionary.size() * ENTRY_SIZE;
+            for (COSBase value : dictionary.getValues())
+            {
+                size += estimateSize(value, depth + 1);
+            }
+            if (base instanceof COSStream)
+            {
+                size += OBJECT_SIZE * 4;
+            }
+        }
+        else if (base instanceof COSArray)
+        {
+            COSArray array = (COSArray) base;
+            size += OBJECT_SIZE + (long) array.size() * REFERENCE_SIZE;
+            for (COSBase value : array)
+            {
+                size += estimateSize(value, depth + 1);
+            }
+        }
+        else if (base instanceof COSString)
+        {
+            size += OBJECT_SIZE + ((COSString) base).getByteCount();
+        }
+        return size;
+    }
+}
@@ -61,6 +61,8 @@ public class COSStream extends COSDictionary implements Closeable
     private boolean isWriting;
     // random access view to be read from
     private RandomAccessReadView randomAccessReadView;
+    // incremented whenever the data is written
+    private volatile long dataVersion = 0;
     
         
     /**
@@ -200,35 +202,57 @@ public class COSStream extends COSDictionary implements Closeable
         }
         else
         {
-            if (filterList.size() > 1)
+            return decode(filterList, createRawInputStream());
+        }
+    }
+
+    /**
+     * Returns a new RandomAccessRead which reads the decoded data of the given encoded data using the filters of this
+     * stream. The source of this stream isn't accessed, so the data can be decoded while the source is in use.
+     *
+     * @param encodedData the encoded data of this stream, as read from {@link #createRawInputStream()}
+     * @return RandomAccessRead containing decoded stream data.
+     * @throws IOException If the stream could not be decoded.
+     */
+    public RandomAccessRead createView(byte[] encodedData) throws IOException
+    {
+        List<Filter> filterList = getFilterList();
+        if (filterList.isEmpty())
+        {
+            return new RandomAccessReadBuffer(encodedData);
+        }
+        return decode(filterList, new ByteArrayInputStream(encodedData));
+    }
+
+    private RandomAccessRead decode(List<Filter> filterList, InputStream input) throws IOException
+    {
+        if (filterList.size() > 1)
+        {
+            Set<Filter> filterSet = new HashSet<>(filterList);
+            if (filterSet.size() != filterList.size())
             {
-                Set<Filter> filterSet = new HashSet<>(filterList);
-                if (filterSet.size() != filterList.size())
-                {
-                    throw new IOException("Duplicate");
-                }
+                throw new IOException("Duplicate");
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream(input.available());
+        // apply filters
+        for (int i = 0; i < filterList.size(); i++)
+        {
+            if (i > 0)
+            {
+                input = new ByteArrayInputStream(output.toByteArray());
+                output.reset();
             }
-            InputStream input = createRawInputStream();
-            ByteArrayOutputStream output = new ByteArrayOutputStream(input.available());
-            // apply filters
-            for (int i = 0; i < filterList.size(); i++)
+            try
             {
-                if (i > 0)
-                {
-                    input = new ByteArrayInputStream(output.toByteArray());
-                    output.reset();
-                }
-                try
-                {
-                    filterList.get(i).decode(input, output, this, i, DecodeOptions.DEFAULT);
-                }
-                finally
-                {
-                    IOUtils.closeQuietly(input);
-                }
+                filterList.get(i).decode(input, output, this, i, DecodeOptions.DEFAULT);
+            }
+            finally
+            {
+                IOUtils.closeQuietly(input);
             }
-            return new RandomAccessReadBuffer(output.toByteArray());
         }
+        return new RandomAccessReadBuffer(output.toByteArray());
     }
 
     /**
@@ -269,6 +293,8 @@ public class COSStream extends COSDictionary implements Closeable
         OutputStream cosOut = new COSOutputStream(getFilterList(), this, randomOut,
                 getStreamCache());
         isWriting = true;
+        dataVersion++;
+        getUpdateState().update();
         return new FilterOutputStream(cosOut)
         {
             @Override
@@ -283,6 +309,7 @@ public class COSStream extends COSDictionary implements Closeable
                 super.close();
                 setInt(COSName.LENGTH, (int)randomAccess.length());
                 isWriting = false;
+                dataVersion++;
             }
         };
     }
@@ -306,6 +333,8 @@ public class COSStream extends COSDictionary implements Closeable
             randomAccess = getStreamCache().createBuffer();
         OutputStream out = new RandomAccessOutputStream(randomAccess);
         isWriting = true;
+        dataVersion++;
+        getUpdateState().update();
         return new FilterOutputStream(out)
         {
             @Override
@@ -320,10 +349,22 @@ public class COSStream extends COSDictionary implements Closeable
                 super.close();
                 setInt(COSName.LENGTH, (int)randomAccess.length());
                 isWriting = false;
+                dataVersion++;
             }
         };
     }
     
+    /**
+     * Returns the version of the stream data. It is changed whenever an output stream is opened or closed, so that
+     * data derived from the content of the stream can be checked for being up to date.
+     *
+     * @return the version of the stream data
+     */
+    public long getDataVersion()
+    {
+        return dataVersion;
+    }
+
     /**
      * Returns the list of filters.
      */
@@ -221,6 +221,16 @@ public final class COSString extends COSBase
         return Arrays.copyOf(bytes, bytes.length);
     }
 
+    /**
+     * Returns the number of bytes of the string without copying them.
+     *
+     * @return the number of bytes
+     */
+    int getByteCount()
+    {
+        return bytes.length;
+    }
+
     /**
      * This will take this string and create a hex representation of the bytes that make the string.
      *
@@ -44,6 +44,11 @@ public class COSUpdateState
      * </ul>
      */
     private boolean updated = false;
+    /**
+     * The object tracked by the bounded object cache of the document, which {@link #updateInfo} belongs to. It is
+     * pinned as soon as {@link #updateInfo} is updated.
+     */
+    private COSObjectCache.CachedObject cachedObject = null;
     
     /**
      * Creates a new {@link COSUpdateState} for the given {@link COSUpdateInfo}.
@@ -229,6 +234,10 @@ public class COSUpdateState
      */
     void update(boolean updated)
     {
+        if(updated && cachedObject != null)
+        {
+            cachedObject.modified();
+        }
         if(isAcceptingUpdates())
         {
             this.updated = updated;
@@ -327,6 +336,17 @@ public class COSUpdateState
         }
     }
     
+    /**
+     * Links the managed {@link #updateInfo} to the given object of the bounded object cache, see
+     * {@link #cachedObject}.
+     *
+     * @param cachedObject The tracked object the managed {@link #updateInfo} belongs to.
+     */
+    void setCachedObject(COSObjectCache.CachedObject cachedObject)
+    {
+        this.cachedObject = cachedObject;
+    }
+    
     /**
      * Uses the managed {@link #updateInfo} as the base object of a new {@link COSIncrement}.
      *
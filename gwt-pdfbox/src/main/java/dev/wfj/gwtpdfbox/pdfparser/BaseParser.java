@@ -36,6 +36,7 @@ import dev.wfj.gwtpdfbox.cos.COSObject;
 import dev.wfj.gwtpdfbox.cos.COSObjectKey;
 import dev.wfj.gwtpdfbox.cos.COSString;
 import dev.wfj.gwtpdfbox.io.RandomAccessRead;
+import dev.wfj.gwtpdfbox.io.RandomAccessReadWindow;
 import elemental2.dom.DomGlobal;
 
 /**
@@ -108,6 +109,12 @@ public abstract class BaseParser
     private static final byte ASCII_ZERO = 48;
     private static final byte ASCII_NINE = 57;
     private static final byte ASCII_SPACE = 32;
+    // number of bytes scanned at once when skipping spaces
+    private static final int SKIP_SPACES_WINDOW_SIZE = 32;
+    // number of bytes looked ahead when parsing a number, longer numbers are read byte by byte
+    static final int NUMBER_WINDOW_SIZE = 32;
+    // number of bytes looked ahead when parsing a name, longer names are read byte by byte
+    private static final int NAME_WINDOW_SIZE = 64;
     
     /**
      * This is the stream that will be read from.
@@ -182,7 +189,7 @@ public abstract class BaseParser
         return getObjectFromPool(new COSObjectKey(objNumber, genNumber));
     }
 
-    private COSBase getObjectFromPool(COSObjectKey key) throws IOException
+    COSBase getObjectFromPool(COSObjectKey key) throws IOException
     {
         if (document == null)
         {
@@ -724,6 +731,11 @@ public abstract class BaseParser
     protected COSName parseCOSName() throws IOException
     {
         readExpectedChar('/');
+        COSName name = parseCOSNameInWindow();
+        if (name != null)
+        {
+            return name;
+        }
         ByteArrayOutputStream buffer = new ByteArrayOutputStream();
         int c = source.read();
         while (c != -1)
@@ -795,6 +807,42 @@ public abstract class BaseParser
         return COSName.getPDFName(string);
     }
 
+    /**
+     * Looks up a name located completely within the next bytes by its raw bytes, so that no string is created for
+     * names seen before.
+     * 
+     * @return the name or null if it has to be parsed byte by byte because it contains a # escape or it exceeds the
+     * lookahead window
+     * @throws IOException If there is an error reading from the stream.
+     */
+    private COSName parseCOSNameInWindow() throws IOException
+    {
+        RandomAccessReadWindow window = source.lookahead(NAME_WINDOW_SIZE);
+        byte[] bytes = window.getArray();
+        int start = window.getOffset();
+        int end = start + window.getLength();
+        int pos = start;
+        while (pos < end)
+        {
+            int ch = bytes[pos] & 0xff;
+            if (ch == '#')
+            {
+                return null;
+            }
+            if (isEndOfName(ch))
+            {
+                break;
+            }
+            pos++;
+        }
+        if (pos == end && window.getLength() == NAME_WINDOW_SIZE)
+        {
+            return null;
+        }
+        source.skip(pos - start);
+        return COSName.getPDFName(bytes, start, pos - start);
+    }
+
     /**
      * Returns true if a byte sequence is valid UTF-8.
      */
@@ -891,6 +939,22 @@ public abstract class BaseParser
 
     private COSNumber parseCOSNumber() throws IOException
     {
+        // parse the number directly from the next bytes without creating a string
+        RandomAccessReadWindow window = source.lookahead(NUMBER_WINDOW_SIZE);
+        byte[] bytes = window.getArray();
+        int start = window.getOffset();
+        int end = start + window.getLength();
+        int pos = start;
+        while (pos < end && isNumberChar(bytes[pos]))
+        {
+            pos++;
+        }
+        if (pos < end || window.getLength() < NUMBER_WINDOW_SIZE)
+        {
+            source.skip(pos - start);
+            return COSNumber.get(bytes, start, pos - start);
+        }
+        // the number exceeds the window
         StringBuilder buf = new StringBuilder();
         int ic = source.read();
         char c = (char) ic;
@@ -907,6 +971,11 @@ public abstract class BaseParser
         return COSNumber.get(buf.toString());
     }
 
+    private static boolean isNumberChar(int c)
+    {
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'E' || c == 'e';
+    }
+
     /**
      * This will read the next string from the stream.
      *
@@ -1185,27 +1254,34 @@ public abstract class BaseParser
      */
     protected void skipSpaces() throws IOException
     {
-        int c = source.read();
-        // 37 is the % character, a comment
-        while( isWhitespace(c) || c == 37)
+        // scan windows of the input instead of reading byte by byte
+        boolean isComment = false;
+        RandomAccessReadWindow window;
+        while ((window = source.lookahead(SKIP_SPACES_WINDOW_SIZE)).getLength() > 0)
         {
-            if ( c == 37 )
+            byte[] bytes = window.getArray();
+            int start = window.getOffset();
+            int end = start + window.getLength();
+            for (int i = start; i < end; i++)
             {
-                // skip past the comment section
-                c = source.read();
-                while(!isEOL(c) && c != -1)
+                int c = bytes[i] & 0xff;
+                if (isComment)
                 {
-                    c = source.read();
+                    // skip past the comment section
+                    isComment = !isEOL(c);
+                }
+                // 37 is the % character, a comment
+                else if (c == 37)
+                {
+                    isComment = true;
+                }
+                else if (!isWhitespace(c))
+                {
+                    source.skip(i - start);
+                    return;
                 }
             }
-            else
-            {
-                c = source.read();
-            }
-        }
-        if (c != -1)
-        {
-            source.rewind(1);
+            source.skip(end - start);
         }
     }
 
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import dev.wfj.gwtpdfbox.io.RandomAccessRead;
+
+/**
+ * Offsets of all keywords a brute force search is looking for. The index is filled by a single sequential pass over
+ * the source using an Aho-Corasick automaton matching all markers at once, so that a damaged document is read only
+ * once no matter how many searches are performed afterwards.
+ *
+ * <p>The offsets are recorded without any validation, it is up to the caller to check the surrounding data.</p>
+ */
+final class BruteForceMarkerIndex
+{
+    /**
+     * The markers recorded by the index.
+     */
+    enum Marker
+    {
+        OBJ("obj"),
+        ENDOBJ("endobj"),
+        XREF_TABLE("xref"),
+        XREF_STREAM("/XRef"),
+        OBJ_STREAM("/ObjStm"),
+        TRAILER("trailer"),
+        EOF("%%EOF");
+
+        private final byte[] bytes;
+
+        Marker(String marker)
+        {
+            bytes = new byte[marker.length()];
+            for (int i = 0; i < bytes.length; i++)
+            {
+                bytes[i] = (byte) marker.charAt(i);
+            }
+        }
+
+        /**
+         * Returns the length of the marker.
+         *
+         * @return the number of bytes of the marker
+         */
+        int length()
+        {
+            return bytes.length;
+        }
+    }
+
+    private static final Marker[] MARKERS = Marker.values();
+
+    /**
+     * "endo" is an abbreviation of "endobj" as the pdf may be cut off in the middle of the keyword, see PDFBOX-3936.
+     */
+    private static final byte[] TRUNCATED_ENDOBJ = new byte[] { 'e', 'n', 'd', 'o' };
+    private static final int TRUNCATED_ENDOBJ_PATTERN = MARKERS.length;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** state transitions of the automaton, 256 entries per state */
+    private static final int[] TRANSITIONS;
+    /** bit mask of the patterns ending in each state of the automaton */
+    private static final int[] MATCHES;
+    private static final int[] PATTERN_LENGTHS;
+
+    static
+    {
+        byte[][] patterns = new byte[MARKERS.length + 1][];
+        for (Marker marker : MARKERS)
+        {
+            patterns[marker.ordinal()] = marker.bytes;
+        }
+        patterns[TRUNCATED_ENDOBJ_PATTERN] = TRUNCATED_ENDOBJ;
+        PATTERN_LENGTHS = new int[patterns.length];
+        int maxStates = 1;
+        for (int i = 0; i < patterns.length; i++)
+        {
+            PATTERN_LENGTHS[i] = patterns[i].length;
+            maxStates += patterns[i].length;
+        }
+        // build the trie, a transition to state 0 is a missing one as the root can't be a target
+        int[] transitions = new int[maxStates << 8];
+        int[] matches = new int[maxStates];
+        int stateCount = 1;
+        for (int i = 0; i < patterns.length; i++)
+        {
+            int state = 0;
+            for (byte b : patterns[i])
+            {
+                int slot = (state << 8) | (b & 0xff);
+                if (transitions[slot] == 0)
+                {
+                    transitions[slot] = stateCount++;
+                }
+                state = transitions[slot];
+            }
+            matches[state] |= 1 << i;
+        }
+        // breadth first: complete the transitions using the failure links and inherit their matches
+        int[] failure = new int[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < 256; c++)
+        {
+            if (transitions[c] != 0)
+            {
+                queue.add(transitions[c]);
+            }
+        }
+        while (!queue.isEmpty())
+        {
+            int state = queue.poll();
+            matches[state] |= matches[failure[state]];
+            for (int c = 0; c < 256; c++)
+            {
+                int slot = (state << 8) | c;
+                int fallback = transitions[(failure[state] << 8) | c];
+                if (transitions[slot] != 0)
+                {
+                    failure[transitions[slot]] = fallback;
+                    queue.add(transitions[slot]);
+                }
+                else
+                {
+                    transitions[slot] = fallback;
+                }
+            }
+        }
+        TRANSITIONS = Arrays.copyOf(transitions, stateCount << 8);
+        MATCHES = Arrays.copyOf(matches, stateCount);
+    }
+
+    /** ascending offsets of each marker */
+    private final long[][] offsets = new long[MARKERS.length][INITIAL_CAPACITY];
+    private final int[] counts = new int[MARKERS.length];
+    private long lastTruncatedEndObj = -1;
+    private long truncatedEndObj = -1;
+
+    private BruteForceMarkerIndex()
+    {
+    }
+
+    /**
+     * Reads the given source from the given offset up to its end and records the offsets of all markers. The current
+     * position of the source is the end of the source afterwards.
+     *
+     * @param source the source to be scanned
+     * @param startOffset the offset to start the search at
+     * @return the index of all found markers
+     * @throws IOException if the source couldn't be read
+     */
+    static BruteForceMarkerIndex scan(RandomAccessRead source, long startOffset) throws IOException
+    {
+        BruteForceMarkerIndex index = new BruteForceMarkerIndex();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long position = startOffset;
+        int state = 0;
+        source.seek(startOffset);
+        int read = source.read(buffer, 0, BUFFER_SIZE);
+        while (read > 0)
+        {
+            for (int i = 0; i < read; i++)
+            {
+                state = TRANSITIONS[(state << 8) | (buffer[i] & 0xff)];
+                if (MATCHES[state] != 0)
+                {
+                    index.add(MATCHES[state], position + i);
+                }
+            }
+            position += read;
+            read = source.read(buffer, 0, BUFFER_SIZE);
+        }
+        if (index.lastTruncatedEndObj >= 0 && index.lastTruncatedEndObj + TRUNCATED_ENDOBJ.length == position)
+        {
+            index.truncatedEndObj = index.lastTruncatedEndObj;
+        }
+        return index;
+    }
+
+    private void add(int patterns, long endOffset)
+    {
+        for (int pattern = 0; patterns != 0; pattern++, patterns >>>= 1)
+        {
+            if ((patterns & 1) == 0)
+            {
+                continue;
+            }
+            long offset = endOffset - PATTERN_LENGTHS[pattern] + 1;
+            if (pattern == TRUNCATED_ENDOBJ_PATTERN)
+            {
+                lastTruncatedEndObj = offset;
+                continue;
+            }
+            long[] markerOffsets = offsets[pattern];
+            int count = counts[pattern];
+            if (count == markerOffsets.length)
+            {
+                markerOffsets = Arrays.copyOf(markerOffsets, count * 2);
+                offsets[pattern] = markerOffsets;
+            }
+            markerOffsets[count] = offset;
+            counts[pattern] = count + 1;
+        }
+    }
+
+    /**
+     * Returns the number of occurrences of the given marker.
+     *
+     * @param marker the marker
+     * @return the number of occurrences
+     */
+    int getCount(Marker marker)
+    {
+        return counts[marker.ordinal()];
+    }
+
+    /**
+     * Returns the offset of an occurrence of the given marker.
+     *
+     * @param marker the marker
+     * @param index the index of the occurrence, the occurrences are in ascending order of their offsets
+     * @return the offset of the first byte of the marker
+     */
+    long getOffset(Marker marker, int index)
+    {
+        return offsets[marker.ordinal()][index];
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given marker at or after the given offset.
+     *
+     * @param marker the marker
+     * @param offset the offset to start at
+     * @return the index of the occurrence, the number of occurrences if there isn't any one at or after the offset
+     */
+    int indexOf(Marker marker, long offset)
+    {
+        int index = Arrays.binarySearch(offsets[marker.ordinal()], 0, counts[marker.ordinal()], offset);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    /**
+     * Returns the offset of an "endo" at the very end of the source, which is an "endobj" cut off in the middle.
+     *
+     * @return the offset of the truncated "endobj" marker or -1 if the source doesn't end with one
+     */
+    long getTruncatedEndObjOffset()
+    {
+        return truncatedEndObj;
+    }
+}
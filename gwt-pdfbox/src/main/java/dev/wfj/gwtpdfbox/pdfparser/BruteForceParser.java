@@ -31,8 +31,10 @@ import dev.wfj.gwtpdfbox.cos.COSDocument;
 import dev.wfj.gwtpdfbox.cos.COSName;
 import dev.wfj.gwtpdfbox.cos.COSObject;
 import dev.wfj.gwtpdfbox.cos.COSObjectKey;
+import dev.wfj.gwtpdfbox.cos.COSObjectKeyLongMap;
 import dev.wfj.gwtpdfbox.cos.COSStream;
 import dev.wfj.gwtpdfbox.io.RandomAccessRead;
+import dev.wfj.gwtpdfbox.pdfparser.BruteForceMarkerIndex.Marker;
 import dev.wfj.gwtpdfbox.pdfparser.XrefTrailerResolver.XRefType;
 import elemental2.dom.DomGlobal;
 
@@ -42,10 +44,14 @@ import elemental2.dom.DomGlobal;
 public class BruteForceParser extends COSParser
 {
     private static final char[] XREF_TABLE = new char[] { 'x', 'r', 'e', 'f' };
-    private static final char[] XREF_STREAM = new char[] { '/', 'X', 'R', 'e', 'f' };
 
     private static final long MINIMUM_SEARCH_OFFSET = 6;
 
+    /**
+     * Number of object offsets to be checked before the results of a former search are used.
+     */
+    private static final int REPAIR_INDEX_SAMPLES = 8;
+
     /**
      * EOF-marker.
      */
@@ -60,18 +66,18 @@ public class BruteForceParser extends COSParser
      */
     private static final char[] TRAILER_MARKER = new char[] { 't', 'r', 'a', 'i', 'l', 'e', 'r' };
 
-    /**
-     * ObjStream-marker.
-     */
-    private static final char[] OBJ_STREAM = new char[] { '/', 'O', 'b', 'j', 'S', 't', 'm' };
-
     /**
      * Contains all found objects of a brute force search.
      */
-    private final Map<COSObjectKey, Long> bfSearchCOSObjectKeyOffsets = new HashMap<>();
+    private final COSObjectKeyLongMap bfSearchCOSObjectKeyOffsets = new COSObjectKeyLongMap();
 
     private boolean bfSearchTriggered = false;
 
+    /**
+     * Offsets of all markers of the pdf, filled by a single pass over the source when needed.
+     */
+    private BruteForceMarkerIndex markerIndex;
+
     /**
      * Constructor. Triggers a brute force search for all objects of the document.
      *
@@ -104,7 +110,7 @@ public class BruteForceParser extends COSParser
      * @throws IOException if something went wrong
      * 
      */
-    protected Map<COSObjectKey, Long> getBFCOSObjectOffsets() throws IOException
+    protected COSObjectKeyLongMap getBFCOSObjectOffsets() throws IOException
     {
         if (!bfSearchTriggered)
         {
@@ -114,6 +120,24 @@ public class BruteForceParser extends COSParser
         return bfSearchCOSObjectKeyOffsets;
     }
 
+    /**
+     * Returns the index of all markers of the pdf. The source is scanned once when the index is requested for the first
+     * time.
+     * 
+     * @return the index of all markers
+     * @throws IOException if something went wrong
+     */
+    private BruteForceMarkerIndex getMarkerIndex() throws IOException
+    {
+        if (markerIndex == null)
+        {
+            long originOffset = source.getPosition();
+            markerIndex = BruteForceMarkerIndex.scan(source, MINIMUM_SEARCH_OFFSET);
+            source.seek(originOffset);
+        }
+        return markerIndex;
+    }
+
     /**
      * Brute force search for every object in the pdf.
      * 
@@ -122,84 +146,85 @@ public class BruteForceParser extends COSParser
     private void bfSearchForObjects() throws IOException
     {
         long lastEOFMarker = bfSearchForLastEOFMarker();
+        BruteForceMarkerIndex index = getMarkerIndex();
         long originOffset = source.getPosition();
-        long currentOffset = MINIMUM_SEARCH_OFFSET;
         long lastObjectId = Long.MIN_VALUE;
         int lastGenID = Integer.MIN_VALUE;
         long lastObjOffset = Long.MIN_VALUE;
-        char[] endobjString = "ndo".toCharArray();
-        char[] endobjRemainingString = "bj".toCharArray();
-        boolean endOfObjFound = false;
-        do
+        long lastObjMarker = -1;
+        int objCount = index.getCount(Marker.OBJ);
+        for (int i = 0; i < objCount; i++)
         {
-            source.seek(currentOffset);
-            int nextChar = source.read();
-            currentOffset++;
-            if (isWhitespace(nextChar) && isString(OBJ_MARKER))
+            long objMarker = index.getOffset(Marker.OBJ, i);
+            // the marker has to be preceded by a whitespace within the search range
+            if (objMarker <= MINIMUM_SEARCH_OFFSET)
+            {
+                continue;
+            }
+            if (objMarker > lastEOFMarker)
+            {
+                break;
+            }
+            source.seek(objMarker - 1);
+            if (!isWhitespace())
+            {
+                continue;
+            }
+            long tempOffset = objMarker - 2;
+            source.seek(tempOffset);
+            int genID = source.peek();
+            // is the next char a digit?
+            if (isDigit(genID))
             {
-                long tempOffset = currentOffset - 2;
+                genID -= 48;
+                tempOffset--;
                 source.seek(tempOffset);
-                int genID = source.peek();
-                // is the next char a digit?
-                if (isDigit(genID))
+                if (isWhitespace())
                 {
-                    genID -= 48;
-                    tempOffset--;
-                    source.seek(tempOffset);
-                    if (isWhitespace())
+                    while (tempOffset > MINIMUM_SEARCH_OFFSET && isWhitespace())
                     {
-                        while (tempOffset > MINIMUM_SEARCH_OFFSET && isWhitespace())
-                        {
-                            source.seek(--tempOffset);
-                        }
-                        boolean objectIDFound = false;
-                        while (tempOffset > MINIMUM_SEARCH_OFFSET && isDigit())
-                        {
-                            source.seek(--tempOffset);
-                            objectIDFound = true;
-                        }
-                        if (objectIDFound)
+                        source.seek(--tempOffset);
+                    }
+                    boolean objectIDFound = false;
+                    while (tempOffset > MINIMUM_SEARCH_OFFSET && isDigit())
+                    {
+                        source.seek(--tempOffset);
+                        objectIDFound = true;
+                    }
+                    if (objectIDFound)
+                    {
+                        source.read();
+                        long objectId = readObjectNumber();
+                        if (lastObjOffset > 0)
                         {
-                            source.read();
-                            long objectId = readObjectNumber();
-                            if (lastObjOffset > 0)
-                            {
-                                // add the former object ID only if there was a subsequent object ID
-                                bfSearchCOSObjectKeyOffsets.put(
-                                        new COSObjectKey(lastObjectId, lastGenID), lastObjOffset);
-                            }
-                            lastObjectId = objectId;
-                            lastGenID = genID;
-                            lastObjOffset = tempOffset + 1;
-                            currentOffset += OBJ_MARKER.length - 1;
-                            endOfObjFound = false;
+                            // add the former object ID only if there was a subsequent object ID
+                            bfSearchCOSObjectKeyOffsets.putLong(
+                                    new COSObjectKey(lastObjectId, lastGenID), lastObjOffset);
                         }
+                        lastObjectId = objectId;
+                        lastGenID = genID;
+                        lastObjOffset = tempOffset + 1;
+                        lastObjMarker = objMarker;
                     }
                 }
             }
-            // check for "endo" as abbreviation for "endobj", as the pdf may be cut off
-            // in the middle of the keyword, see PDFBOX-3936.
-            // We could possibly implement a more intelligent algorithm if necessary
-            else if (nextChar == 'e' && isString(endobjString))
-            {
-                currentOffset += endobjString.length;
-                source.seek(currentOffset);
-                if (source.isEOF())
-                {
-                    endOfObjFound = true;
-                }
-                else if (isString(endobjRemainingString))
-                {
-                    currentOffset += endobjRemainingString.length;
-                    endOfObjFound = true;
-                }
-            }
-        } while (currentOffset < lastEOFMarker && !source.isEOF());
+        }
+        // check if the last object ends with an "endobj" marker, "endo" is accepted as an abbreviation at the end
+        // of the source as the pdf may be cut off in the middle of the keyword, see PDFBOX-3936.
+        boolean endOfObjFound = false;
+        if (lastObjOffset > 0)
+        {
+            int endObjIndex = index.indexOf(Marker.ENDOBJ, lastObjMarker);
+            long truncatedEndObj = index.getTruncatedEndObjOffset();
+            endOfObjFound = (endObjIndex < index.getCount(Marker.ENDOBJ)
+                    && index.getOffset(Marker.ENDOBJ, endObjIndex) < lastEOFMarker)
+                    || (truncatedEndObj > lastObjMarker && truncatedEndObj < lastEOFMarker);
+        }
         if ((lastEOFMarker < Long.MAX_VALUE || endOfObjFound) && lastObjOffset > 0)
         {
             // if the pdf wasn't cut off in the middle or if the last object ends with a "endobj" marker
             // the last object id has to be added here so that it can't get lost as there isn't any subsequent object id
-            bfSearchCOSObjectKeyOffsets.put(new COSObjectKey(lastObjectId, lastGenID),
+            bfSearchCOSObjectKeyOffsets.putLong(new COSObjectKey(lastObjectId, lastGenID),
                     lastObjOffset);
         }
         // reestablish origin position
@@ -375,11 +400,19 @@ public class BruteForceParser extends COSParser
     private boolean bfSearchForTrailer(COSDictionary trailer) throws IOException
     {
         long originOffset = source.getPosition();
-        source.seek(MINIMUM_SEARCH_OFFSET);
+        BruteForceMarkerIndex index = getMarkerIndex();
+        int trailerCount = index.getCount(Marker.TRAILER);
+        long searchOffset = MINIMUM_SEARCH_OFFSET;
         // search for trailer marker
-        long trailerOffset = findString(TRAILER_MARKER);
-        while (trailerOffset != -1)
+        for (int i = 0; i < trailerCount; i++)
         {
+            long trailerOffset = index.getOffset(Marker.TRAILER, i);
+            // skip markers within the data parsed for a former one
+            if (trailerOffset < searchOffset)
+            {
+                continue;
+            }
+            source.seek(trailerOffset + TRAILER_MARKER.length);
             try
             {
                 boolean rootFound = false;
@@ -436,7 +469,7 @@ public class BruteForceParser extends COSParser
                 DomGlobal.console.debug("An exception occurred during brute force search for trailer - ignoring",
                         exception);
             }
-            trailerOffset = findString(TRAILER_MARKER);
+            searchOffset = source.getPosition();
         }
         source.seek(originOffset);
         return false;
@@ -518,10 +551,18 @@ public class BruteForceParser extends COSParser
     {
         long lastEOFMarker = -1;
         long originOffset = source.getPosition();
-        source.seek(MINIMUM_SEARCH_OFFSET);
-        long tempMarker = findString(EOF_MARKER);
-        while (tempMarker != -1)
+        BruteForceMarkerIndex index = getMarkerIndex();
+        int eofCount = index.getCount(Marker.EOF);
+        long searchOffset = MINIMUM_SEARCH_OFFSET;
+        for (int i = 0; i < eofCount; i++)
         {
+            long tempMarker = index.getOffset(Marker.EOF, i);
+            // skip markers within the data checked for a former one
+            if (tempMarker < searchOffset)
+            {
+                continue;
+            }
+            source.seek(tempMarker + EOF_MARKER.length);
             try
             {
                 // check if the following data is some valid pdf content
@@ -541,7 +582,7 @@ public class BruteForceParser extends COSParser
                         exception);
                 lastEOFMarker = tempMarker;
             }
-            tempMarker = findString(EOF_MARKER);
+            searchOffset = source.getPosition();
         }
         source.seek(originOffset);
         // no EOF marker found
@@ -561,68 +602,23 @@ public class BruteForceParser extends COSParser
     private Map<Long, COSObjectKey> bfSearchForObjStreamOffsets() throws IOException
     {
         HashMap<Long, COSObjectKey> bfSearchObjStreamsOffsets = new HashMap<>();
-        source.seek(MINIMUM_SEARCH_OFFSET);
-        char[] string = " obj".toCharArray();
+        BruteForceMarkerIndex index = getMarkerIndex();
+        int objStreamCount = index.getCount(Marker.OBJ_STREAM);
         // search for object stream marker
-        long positionObjStream = findString(OBJ_STREAM);
-        while (positionObjStream != -1)
+        for (int i = 0; i < objStreamCount; i++)
         {
+            long positionObjStream = index.getOffset(Marker.OBJ_STREAM, i);
             // search backwards for the beginning of the object
-            long newOffset = -1;
-            boolean objFound = false;
-            for (int i = 1; i < 40 && !objFound; i++)
+            long newOffset = bfSearchForObjectStart(positionObjStream);
+            if (newOffset > -1)
             {
-                long currentOffset = positionObjStream - (i * 10);
-                if (currentOffset > 0)
-                {
-                    source.seek(currentOffset);
-                    for (int j = 0; j < 10; j++)
-                    {
-                        if (isString(string))
-                        {
-                            long tempOffset = currentOffset - 1;
-                            source.seek(tempOffset);
-                            int genID = source.peek();
-                            // is the next char a digit?
-                            if (isDigit(genID))
-                            {
-                                tempOffset--;
-                                source.seek(tempOffset);
-                                if (isSpace())
-                                {
-                                    int length = 0;
-                                    source.seek(--tempOffset);
-                                    while (tempOffset > MINIMUM_SEARCH_OFFSET && isDigit())
-                                    {
-                                        source.seek(--tempOffset);
-                                        length++;
-                                    }
-                                    if (length > 0)
-                                    {
-                                        source.read();
-                                        newOffset = source.getPosition();
-                                        long objNumber = readObjectNumber();
-                                        int genNumber = readGenerationNumber();
-                                        COSObjectKey streamObjectKey = new COSObjectKey(objNumber,
-                                                genNumber);
-                                        bfSearchObjStreamsOffsets.put(newOffset, streamObjectKey);
-                                    }
-                                }
-                            }
-                            DomGlobal.console.debug("Dictionary start for object stream -> " + newOffset);
-                            objFound = true;
-                            break;
-                        }
-                        else
-                        {
-                            currentOffset++;
-                            source.read();
-                        }
-                    }
-                }
+                source.seek(newOffset);
+                long objNumber = readObjectNumber();
+                int genNumber = readGenerationNumber();
+                COSObjectKey streamObjectKey = new COSObjectKey(objNumber, genNumber);
+                bfSearchObjStreamsOffsets.put(newOffset, streamObjectKey);
             }
-            source.seek(positionObjStream + OBJ_STREAM.length);
-            positionObjStream = findString(OBJ_STREAM);
+            DomGlobal.console.debug("Dictionary start for object stream -> " + newOffset);
         }
         return bfSearchObjStreamsOffsets;
     }
@@ -635,20 +631,18 @@ public class BruteForceParser extends COSParser
     private List<Long> bfSearchForXRefTables() throws IOException
     {
         List<Long> bfSearchXRefTablesOffsets = new ArrayList<>();
+        BruteForceMarkerIndex index = getMarkerIndex();
+        int xrefCount = index.getCount(Marker.XREF_TABLE);
         // a pdf may contain more than one xref entry
-        source.seek(MINIMUM_SEARCH_OFFSET);
-        // search for xref tables
-        long newOffset = findString(XREF_TABLE);
-        while (newOffset != -1)
+        for (int i = 0; i < xrefCount; i++)
         {
+            long newOffset = index.getOffset(Marker.XREF_TABLE, i);
             source.seek(newOffset - 1);
             // ensure that we don't read "startxref" instead of "xref"
             if (isWhitespace())
             {
                 bfSearchXRefTablesOffsets.add(newOffset);
             }
-            source.seek(newOffset + 4);
-            newOffset = findString(XREF_TABLE);
         }
         return bfSearchXRefTablesOffsets;
     }
@@ -661,72 +655,77 @@ public class BruteForceParser extends COSParser
     private List<Long> bfSearchForXRefStreams() throws IOException
     {
         List<Long> bfSearchXRefStreamsOffsets = new ArrayList<>();
+        BruteForceMarkerIndex index = getMarkerIndex();
+        int xrefCount = index.getCount(Marker.XREF_STREAM);
         // a pdf may contain more than one /XRef entry
-        source.seek(MINIMUM_SEARCH_OFFSET);
-        // search for XRef streams
-        String objString = " obj";
-        char[] string = objString.toCharArray();
-        long xrefOffset = findString(XREF_STREAM);
-        while (xrefOffset != -1)
+        for (int i = 0; i < xrefCount; i++)
         {
+            long xrefOffset = index.getOffset(Marker.XREF_STREAM, i);
             // search backwards for the beginning of the stream
-            long newOffset = -1;
-            boolean objFound = false;
-            for (int i = 1; i < 40 && !objFound; i++)
+            long newOffset = bfSearchForObjectStart(xrefOffset);
+            DomGlobal.console.debug("Fixed reference for xref stream " + xrefOffset + " -> " + newOffset);
+            if (newOffset > -1)
             {
-                long currentOffset = xrefOffset - (i * 10);
-                if (currentOffset > 0)
+                bfSearchXRefStreamsOffsets.add(newOffset);
+            }
+        }
+        return bfSearchXRefStreamsOffsets;
+    }
+
+    /**
+     * Search backwards for the beginning of the object containing the given marker. The nearest " obj" keyword within
+     * the preceding 390 bytes is taken, it has to be preceded by a generation and an object number.
+     * 
+     * @param markerOffset the offset of the marker within the object
+     * @return the offset of the object or -1 if it couldn't be found
+     * @throws IOException if something went wrong
+     */
+    private long bfSearchForObjectStart(long markerOffset) throws IOException
+    {
+        BruteForceMarkerIndex index = getMarkerIndex();
+        int objCount = index.getCount(Marker.OBJ);
+        for (int i = 1; i < 40; i++)
+        {
+            long currentOffset = markerOffset - (i * 10);
+            if (currentOffset <= 0)
+            {
+                break;
+            }
+            // look for a " obj" starting within the next 10 bytes
+            for (int objIndex = index.indexOf(Marker.OBJ, currentOffset + 1); objIndex < objCount
+                    && index.getOffset(Marker.OBJ, objIndex) <= currentOffset + 10; objIndex++)
+            {
+                long tempOffset = index.getOffset(Marker.OBJ, objIndex) - 1;
+                source.seek(tempOffset);
+                if (!isSpace())
                 {
-                    source.seek(currentOffset);
-                    for (int j = 0; j < 10; j++)
+                    continue;
+                }
+                source.seek(--tempOffset);
+                // is the next char a digit?
+                if (isDigit())
+                {
+                    source.seek(--tempOffset);
+                    if (isSpace())
                     {
-                        if (isString(string))
+                        int length = 0;
+                        source.seek(--tempOffset);
+                        while (tempOffset > MINIMUM_SEARCH_OFFSET && isDigit())
                         {
-                            long tempOffset = currentOffset - 1;
-                            source.seek(tempOffset);
-                            int genID = source.peek();
-                            // is the next char a digit?
-                            if (isDigit(genID))
-                            {
-                                tempOffset--;
-                                source.seek(tempOffset);
-                                if (isSpace())
-                                {
-                                    int length = 0;
-                                    source.seek(--tempOffset);
-                                    while (tempOffset > MINIMUM_SEARCH_OFFSET && isDigit())
-                                    {
-                                        source.seek(--tempOffset);
-                                        length++;
-                                    }
-                                    if (length > 0)
-                                    {
-                                        source.read();
-                                        newOffset = source.getPosition();
-                                    }
-                                }
-                            }
-                            DomGlobal.console.debug("Fixed reference for xref stream " + xrefOffset + " -> "
-                                    + newOffset);
-                            objFound = true;
-                            break;
+                            source.seek(--tempOffset);
+                            length++;
                         }
-                        else
+                        if (length > 0)
                         {
-                            currentOffset++;
                             source.read();
+                            return source.getPosition();
                         }
                     }
                 }
+                return -1;
             }
-            if (newOffset > -1)
-            {
-                bfSearchXRefStreamsOffsets.add(newOffset);
-            }
-            source.seek(xrefOffset + 5);
-            xrefOffset = findString(XREF_STREAM);
         }
-        return bfSearchXRefStreamsOffsets;
+        return -1;
     }
 
     /**
@@ -764,43 +763,103 @@ public class BruteForceParser extends COSParser
     }
 
     /**
-     * Search for the given string. The search starts at the current position and returns the start position if the
-     * string was found. -1 is returned if there isn't any further occurrence of the given string. After returning the
-     * current position is either the end of the string or the end of the input.
+     * Creates the repair index holding the results of the brute force search and the given rebuilt trailer.
+     * 
+     * @param trailer the rebuilt trailer dictionary
+     * @return the repair index
+     * 
+     * @throws IOException if something went wrong
+     */
+    RepairIndex createRepairIndex(COSDictionary trailer) throws IOException
+    {
+        return RepairIndex.create(getBFCOSObjectOffsets(), trailer);
+    }
+
+    /**
+     * Rebuild the trailer dictionary using the results of a former brute force search of the same pdf. Some of the
+     * object offsets are checked before, the search has to be repeated if any of them is wrong.
+     * 
+     * @param trailerResolver the trailer resolver of the document
+     * @param repairIndex the results of the former brute force search
+     * @return the rebuilt trailer dictionary or null if the repair index doesn't match the pdf
      * 
-     * @param string the string to be searched
-     * @return the start position of the found string
      * @throws IOException if something went wrong
      */
-    private long findString(char[] string) throws IOException
+    COSDictionary rebuildTrailer(XrefTrailerResolver trailerResolver, RepairIndex repairIndex)
+            throws IOException
     {
-        long position = -1L;
-        int stringLength = string.length;
-        int counter = 0;
-        int readChar = source.read();
-        while (readChar != -1)
+        COSObjectKeyLongMap objectOffsets = repairIndex.getObjectOffsets();
+        if (objectOffsets.isEmpty() || !checkObjectOffsets(objectOffsets))
         {
-            if (readChar == string[counter])
+            return null;
+        }
+        bfSearchCOSObjectKeyOffsets.clear();
+        bfSearchCOSObjectKeyOffsets.putAll(objectOffsets);
+        bfSearchTriggered = true;
+        trailerResolver.reset();
+        trailerResolver.nextXrefObj(0, XRefType.TABLE);
+        objectOffsets.forEach(trailerResolver::setXRef);
+        trailerResolver.setStartxref(0);
+        COSDictionary trailer = trailerResolver.getTrailer();
+        document.setTrailer(trailer);
+        repairIndex.getTrailerReferences().forEach(
+                (name, key) -> trailer.setItem(name, document.getObjectFromPool(key)));
+        COSArray id = repairIndex.getId();
+        if (id != null)
+        {
+            trailer.setItem(COSName.ID, id);
+        }
+        return trailer;
+    }
+
+    /**
+     * Checks if the objects of some evenly distributed entries of the given offsets can be found at their offsets.
+     * 
+     * @param objectOffsets the offsets to be checked
+     * @return true if all checked objects were found
+     * 
+     * @throws IOException if something went wrong
+     */
+    private boolean checkObjectOffsets(COSObjectKeyLongMap objectOffsets) throws IOException
+    {
+        long originOffset = source.getPosition();
+        long fileLength = source.length();
+        int uncompressedCount = (int) objectOffsets.values().stream().filter(offset -> offset > 0).count();
+        int step = Math.max(1, uncompressedCount / REPAIR_INDEX_SAMPLES);
+        int index = 0;
+        try
+        {
+            for (Entry<COSObjectKey, Long> entry : objectOffsets.entrySet())
             {
-                if (counter == 0)
+                long offset = entry.getValue();
+                // check some of the uncompressed objects only
+                if (offset <= 0 || index++ % step != 0)
                 {
-                    position = source.getPosition() - 1;
+                    continue;
                 }
-                counter++;
-                if (counter == stringLength)
+                if (offset >= fileLength)
                 {
-                    return position;
+                    return false;
                 }
+                source.seek(offset);
+                COSObjectKey key = entry.getKey();
+                if (readObjectNumber() != key.getNumber() || readGenerationNumber() != key.getGeneration())
+                {
+                    return false;
+                }
+                readExpectedString(OBJ_MARKER, true);
             }
-            else if (counter > 0)
-            {
-                counter = 0;
-                position = -1L;
-                continue;
-            }
-            readChar = source.read();
+            return true;
+        }
+        catch (IOException exception)
+        {
+            DomGlobal.console.debug("Repair index doesn't match the pdf", exception);
+            return false;
+        }
+        finally
+        {
+            source.seek(originOffset);
         }
-        return position;
     }
 
     /**
@@ -21,13 +21,16 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeSet;
 
 import dev.wfj.gwtpdfbox.cos.COSArray;
 import dev.wfj.gwtpdfbox.cos.COSBase;
@@ -39,9 +42,12 @@ import dev.wfj.gwtpdfbox.cos.COSObject;
 import dev.wfj.gwtpdfbox.cos.COSObjectKey;
 import dev.wfj.gwtpdfbox.cos.COSStream;
 import dev.wfj.gwtpdfbox.cos.ICOSParser;
+import dev.wfj.gwtpdfbox.io.GwtIncompatible;
 import dev.wfj.gwtpdfbox.io.IOUtils;
 import dev.wfj.gwtpdfbox.io.RandomAccessRead;
+import dev.wfj.gwtpdfbox.io.RandomAccessReadBuffer;
 import dev.wfj.gwtpdfbox.io.RandomAccessReadView;
+import dev.wfj.gwtpdfbox.io.RandomAccessReadWindow;
 import dev.wfj.gwtpdfbox.pdfparser.XrefTrailerResolver.XRefType;
 
 import elemental2.dom.DomGlobal;
@@ -68,9 +74,20 @@ public class COSParser extends BaseParser implements ICOSParser
     private static final byte[] ENDOBJ = new byte[] { E, N, D, O, B, J };
 
     private static final long MINIMUM_SEARCH_OFFSET = 6;
+
+    /** the linearization dictionary has to be contained within the first 1024 bytes */
+    private static final long LINEARIZATION_DICTIONARY_LIMIT = 1024;
     
     private static final int X = 'x';
 
+    /** length of an xref table entry with the regular layout */
+    private static final int XREF_ENTRY_LENGTH = 20;
+    /** number of xref table entries decoded per lookahead window */
+    private static final int XREF_ENTRIES_PER_WINDOW = 1024;
+
+    /** number of object streams whose decoded data is kept, see {@link #decodedObjectStreams} */
+    private static final int DECODED_OBJECT_STREAM_COUNT = 4;
+
     private static final int STRMBUFLEN = 2048;
     private final byte[] strmBuf = new byte[ STRMBUFLEN ];
 
@@ -121,6 +138,48 @@ public class COSParser extends BaseParser implements ICOSParser
      */
     private final Map<Long, Map<Long, COSBase>> decompressedObjects = new HashMap<>();
 
+    /**
+     * The decoded data of the most recently used object streams, used to parse single objects if the objects of the
+     * document may be evicted, see {@link #parseSingleObjectStreamObject(long, COSObjectKey)}.
+     */
+    private final Map<Long, DecodedObjectStream> decodedObjectStreams = new LinkedHashMap<Long, DecodedObjectStream>(
+            DECODED_OBJECT_STREAM_COUNT * 2, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, DecodedObjectStream> eldest)
+        {
+            return size() > DECODED_OBJECT_STREAM_COUNT;
+        }
+    };
+
+    /**
+     * Runs the eager loading of all object streams, <code>null</code> if they are loaded on demand.
+     */
+    private ObjectStreamTaskRunner objectStreamTaskRunner = null;
+
+    /**
+     * Keeps the results of brute force searches, <code>null</code> if they aren't kept.
+     */
+    private RepairIndexStore repairIndexStore = null;
+
+    /**
+     * The linearization dictionary if only the first-page xref section of a linearized document was read.
+     */
+    private COSDictionary linearizationDictionary = null;
+
+    /**
+     * Indicates that the main xref table of a linearized document still has to be read.
+     */
+    private boolean xrefIncomplete = false;
+
+    /**
+     * The page offset hint table of a linearized document, read on demand.
+     */
+    private PageOffsetHintTable pageOffsetHints = null;
+    private boolean pageOffsetHintsRead = false;
+
     /**
      * The security handler.
      */
@@ -241,7 +300,7 @@ public class COSParser extends BaseParser implements ICOSParser
         }
         if (rebuildTrailer)
         {
-            trailer = getBruteForceParser().rebuildTrailer(xrefTrailerResolver);
+            trailer = rebuildTrailer();
             trailerWasRebuild = true;
             // transfer encryption information from BruteForceParser
             /* encryption = getBruteForceParser().getEncryption();
@@ -269,6 +328,50 @@ public class COSParser extends BaseParser implements ICOSParser
         return trailer;
     }
 
+    /**
+     * Rebuilds the trailer using a brute force search. The results of a former search of the same file are used if
+     * there is a repair index store containing them.
+     * 
+     * @return the rebuilt trailer dictionary
+     * @throws IOException if something went wrong
+     */
+    private COSDictionary rebuildTrailer() throws IOException
+    {
+        if (repairIndexStore == null)
+        {
+            return getBruteForceParser().rebuildTrailer(xrefTrailerResolver);
+        }
+        String key = RepairIndex.computeKey(source);
+        try
+        {
+            byte[] data = repairIndexStore.load(key);
+            if (data != null)
+            {
+                COSDictionary trailer = getBruteForceParser().rebuildTrailer(xrefTrailerResolver,
+                        RepairIndex.fromBytes(data));
+                if (trailer != null)
+                {
+                    DomGlobal.console.debug("Rebuilt trailer using the stored repair index " + key);
+                    return trailer;
+                }
+            }
+        }
+        catch (IOException exception)
+        {
+            DomGlobal.console.warn("Couldn't read the stored repair index " + key + " - ignoring", exception);
+        }
+        COSDictionary trailer = getBruteForceParser().rebuildTrailer(xrefTrailerResolver);
+        try
+        {
+            repairIndexStore.store(key, getBruteForceParser().createRepairIndex(trailer).toBytes());
+        }
+        catch (IOException exception)
+        {
+            DomGlobal.console.warn("Couldn't store the repair index " + key + " - ignoring", exception);
+        }
+        return trailer;
+    }
+
     /**
      * Indicates whether the xref trailer resolver should be reset or not. Should be overwritten if the xref trailer
      * resolver is needed after the initial parsing.
@@ -564,6 +667,309 @@ public class COSParser extends BaseParser implements ICOSParser
         this.isLenient = lenient;
     }
 
+    /**
+     * Enables decoding and parsing all object streams in parallel when the document is loaded. By default object
+     * streams are decoded one by one when an object within is accessed for the first time. Loading them eagerly pays
+     * off for documents with many object streams if most of the objects are accessed anyway, e.g. when indexing.
+     *
+     * This method can only be called before the parsing of the file.
+     *
+     * @param pool the pool to decode the object streams on, <code>null</code> to load them on demand
+     */
+    @GwtIncompatible("the browser has no threads")
+    public void setParallelObjectStreamLoading(java.util.concurrent.ForkJoinPool pool)
+    {
+        if (initialParseDone)
+        {
+            throw new IllegalArgumentException("Cannot change object stream loading after parsing");
+        }
+        objectStreamTaskRunner = pool != null ? new ParallelObjectStreamTaskRunner(pool) : null;
+    }
+
+    /**
+     * Sets the store to keep the results of brute force searches in. If the trailer of a damaged document has to be
+     * rebuilt, the results of a former search of the same file are taken from the store instead of searching the whole
+     * file once more. The file is identified by its length and a hash of its first and last 64 KB, the stored object
+     * offsets are checked by sampling some of them before they are used.
+     *
+     * This method can only be called before the parsing of the file.
+     *
+     * @param store the store to be used, <code>null</code> to search the file every time
+     */
+    public void setRepairIndexStore(RepairIndexStore store)
+    {
+        if (initialParseDone)
+        {
+            throw new IllegalArgumentException("Cannot change the repair index store after parsing");
+        }
+        repairIndexStore = store;
+    }
+
+    /**
+     * Reads the first-page xref section of a linearized document. The main xref table isn't read, that is done as
+     * soon as an object is requested which isn't part of the first-page section.
+     *
+     * @return the first-page trailer or <code>null</code> if the document isn't linearized, was updated
+     * incrementally or the first-page section couldn't be read
+     * @throws IOException if something went wrong
+     */
+    protected COSDictionary retrieveLinearizedTrailer() throws IOException
+    {
+        COSDictionary linearized = parseLinearizationDictionary();
+        if (linearized == null)
+        {
+            return null;
+        }
+        XrefTrailerResolver mainXrefTrailerResolver = xrefTrailerResolver;
+        xrefTrailerResolver = new XrefTrailerResolver();
+        try
+        {
+            skipSpaces();
+            long xrefOffset = source.getPosition();
+            if (source.peek() == X)
+            {
+                if (!parseXrefTable(xrefOffset) || !parseTrailer())
+                {
+                    throw new IOException("Expected first-page trailer at offset " + source.getPosition());
+                }
+            }
+            else
+            {
+                parseXrefObjStream(xrefOffset, true);
+            }
+            // the Prev entry points to the main xref table
+            xrefTrailerResolver.setStartxref(xrefOffset, false);
+            COSDictionary trailer = xrefTrailerResolver.getTrailer();
+            if (trailer.getItem(COSName.ROOT) == null)
+            {
+                throw new IOException("Missing root object specification in first-page trailer");
+            }
+            document.setTrailer(trailer);
+            document.setIsXRefStream(XRefType.STREAM == xrefTrailerResolver.getXrefType());
+            document.addXRefTable(xrefTrailerResolver.getXrefTable());
+            linearizationDictionary = linearized;
+            xrefIncomplete = true;
+            return trailer;
+        }
+        catch (IOException exception)
+        {
+            DomGlobal.console.debug("Can't read the first-page xref section, reading the whole xref", exception);
+            return null;
+        }
+        finally
+        {
+            xrefTrailerResolver = mainXrefTrailerResolver;
+        }
+    }
+
+    /**
+     * Parses the linearization dictionary, it has to be the first object within the file.
+     *
+     * @return the linearization dictionary or <code>null</code> if the document isn't linearized or was updated
+     * incrementally
+     * @throws IOException if something went wrong
+     */
+    private COSDictionary parseLinearizationDictionary() throws IOException
+    {
+        source.seek(0);
+        // skips the header as well, as it is a comment
+        skipSpaces();
+        if (source.getPosition() > LINEARIZATION_DICTIONARY_LIMIT || !isDigit())
+        {
+            return null;
+        }
+        COSDictionary linearized;
+        try
+        {
+            readObjectNumber();
+            readGenerationNumber();
+            readExpectedString(OBJ_MARKER, true);
+            skipSpaces();
+            if (source.peek() != '<')
+            {
+                return null;
+            }
+            linearized = parseCOSDictionary(false);
+            skipSpaces();
+            if (!readString().startsWith(ENDOBJ_STRING))
+            {
+                return null;
+            }
+        }
+        catch (IOException exception)
+        {
+            DomGlobal.console.debug("The first object isn't a linearization dictionary", exception);
+            return null;
+        }
+        COSArray hints = linearized.getCOSArray(COSName.H);
+        // the length doesn't match if the document was updated incrementally
+        if (!linearized.containsKey(COSName.LINEARIZED) || linearized.getLong(COSName.L) != fileLen
+                || linearized.getLong(COSName.O) <= 0 || linearized.getInt(COSName.N) <= 0
+                || hints == null || hints.size() < 2)
+        {
+            return null;
+        }
+        return linearized;
+    }
+
+    /**
+     * Returns the dictionary of the page with the given index of a document opened by
+     * {@link #retrieveLinearizedTrailer()}. The first page is located via the linearization dictionary, the other
+     * pages via the page offset hint table. The page tree and the main xref table aren't needed.
+     *
+     * @param pageIndex the zero based page index
+     * @return the page dictionary or <code>null</code> if the page can't be located this way
+     * @throws IOException if something went wrong
+     */
+    protected synchronized COSDictionary getLinearizedPageDictionary(int pageIndex) throws IOException
+    {
+        if (linearizationDictionary == null || pageIndex < 0
+                || pageIndex >= linearizationDictionary.getInt(COSName.N))
+        {
+            return null;
+        }
+        COSObjectKey pageKey;
+        if (pageIndex == 0)
+        {
+            pageKey = new COSObjectKey(linearizationDictionary.getLong(COSName.O), 0);
+        }
+        else
+        {
+            PageOffsetHintTable hints = getPageOffsetHints();
+            if (hints == null)
+            {
+                return null;
+            }
+            long pageOffset = hints.getPageOffset(pageIndex);
+            long currentPos = source.getPosition();
+            try
+            {
+                source.seek(pageOffset);
+                pageKey = new COSObjectKey(readObjectNumber(), readGenerationNumber());
+                readExpectedString(OBJ_MARKER, true);
+            }
+            catch (IOException exception)
+            {
+                DomGlobal.console.debug("No object at offset " + pageOffset + " of page " + pageIndex,
+                        exception);
+                return null;
+            }
+            finally
+            {
+                source.seek(currentPos);
+            }
+            // the main xref table contains the same offset, so that it doesn't have to be read
+            document.getXrefTable().putLongIfAbsent(pageKey, pageOffset);
+        }
+        COSBase page = document.getObjectFromPool(pageKey).getObject();
+        if (page instanceof COSDictionary
+                && COSName.PAGE.equals(((COSDictionary) page).getCOSName(COSName.TYPE)))
+        {
+            return (COSDictionary) page;
+        }
+        return null;
+    }
+
+    private PageOffsetHintTable getPageOffsetHints() throws IOException
+    {
+        if (pageOffsetHintsRead)
+        {
+            return pageOffsetHints;
+        }
+        pageOffsetHintsRead = true;
+        COSArray hints = linearizationDictionary.getCOSArray(COSName.H);
+        long hintOffset = hints.getInt(0);
+        long hintLength = hints.getInt(1);
+        long currentPos = source.getPosition();
+        try
+        {
+            source.seek(hintOffset);
+            readObjectNumber();
+            readGenerationNumber();
+            readExpectedString(OBJ_MARKER, true);
+            COSDictionary dict = parseCOSDictionary(false);
+            byte[] data;
+            try (COSStream hintStream = parseCOSStream(dict);
+                    InputStream hintData = hintStream.createInputStream())
+            {
+                data = IOUtils.toByteArray(hintData);
+            }
+            pageOffsetHints = PageOffsetHintTable.parse(data, linearizationDictionary.getInt(COSName.N),
+                    hintOffset, hintLength, source.length());
+        }
+        catch (IOException exception)
+        {
+            DomGlobal.console.warn("Can't read the page offset hint table", exception);
+        }
+        finally
+        {
+            source.seek(currentPos);
+        }
+        return pageOffsetHints;
+    }
+
+    /**
+     * Reads the main xref table of a linearized document if only the first-page section was read so far.
+     *
+     * @throws IOException if something went wrong
+     */
+    private void completeXref() throws IOException
+    {
+        xrefIncomplete = false;
+        COSDictionary firstPageTrailer = document.getTrailer();
+        COSDictionary trailer = retrieveTrailer();
+        if (trailer != null && trailer != firstPageTrailer)
+        {
+            // keep the instance, it is referenced by the document already
+            firstPageTrailer.addAll(trailer);
+            document.setTrailer(firstPageTrailer);
+        }
+    }
+
+    /**
+     * Decodes and parses all object streams referenced by the xref table if enabled by
+     * {@link #setParallelObjectStreamLoading(java.util.concurrent.ForkJoinPool)}. The encoded data is read one stream
+     * after another, the decoding and parsing is done in parallel.
+     *
+     * @throws IOException if an object stream couldn't be read
+     */
+    protected void preloadObjectStreams() throws IOException
+    {
+        if (objectStreamTaskRunner == null)
+        {
+            return;
+        }
+        // read the object streams in ascending order of their numbers
+        Set<Long> objstmObjNrs = new TreeSet<>();
+        for (Long offsetOrObjstmObNr : document.getXrefTable().values())
+        {
+            if (offsetOrObjstmObNr < 0)
+            {
+                objstmObjNrs.add(-offsetOrObjstmObNr);
+            }
+        }
+        List<ObjectStreamTask> tasks = new ArrayList<>(objstmObjNrs.size());
+        for (Long objstmObjNr : objstmObjNrs)
+        {
+            COSBase objstmBaseObj = document.getObjectFromPool(new COSObjectKey(objstmObjNr, 0)).getObject();
+            if (objstmBaseObj instanceof COSStream)
+            {
+                tasks.add(new ObjectStreamTask(objstmObjNr, (COSStream) objstmBaseObj, document));
+            }
+        }
+        objectStreamTaskRunner.runAll(tasks);
+        for (ObjectStreamTask task : tasks)
+        {
+            Map<Long, COSBase> objects = task.getObjects();
+            if (objects != null)
+            {
+                Map<Long, COSBase> streamObjects = decompressedObjects
+                        .computeIfAbsent(task.getObjectStreamNumber(), n -> new HashMap<>());
+                objects.forEach(streamObjects::putIfAbsent);
+            }
+        }
+    }
+
     @Override
     public COSBase dereferenceCOSObject(COSObject obj) throws IOException
     {
@@ -635,6 +1041,13 @@ public class COSParser extends BaseParser implements ICOSParser
         // read offset or object stream object number from xref table
         Long offsetOrObjstmObNr = document.getXrefTable().get(objKey);
 
+        // the object isn't part of the first-page section of a linearized document
+        if (offsetOrObjstmObNr == null && xrefIncomplete)
+        {
+            completeXref();
+            offsetOrObjstmObNr = document.getXrefTable().get(objKey);
+        }
+
         // maybe something is wrong with the xref table -> perform brute force search for all objects
         if (offsetOrObjstmObNr == null && isLenient)
         {
@@ -753,6 +1166,10 @@ public class COSParser extends BaseParser implements ICOSParser
      */
     protected COSBase parseObjectStreamObject(long objstmObjNr, COSObjectKey key) throws IOException
     {
+        if (document.getObjectCacheSize() >= 0)
+        {
+            return parseSingleObjectStreamObject(objstmObjNr, key);
+        }
         Map<Long, COSBase> streamObjects = decompressedObjects.computeIfAbsent(objstmObjNr,
                 n -> new HashMap<>());
         // did we already read the compressed object stream?
@@ -799,6 +1216,83 @@ public class COSParser extends BaseParser implements ICOSParser
         return objectStreamObject;
     }
 
+    /**
+     * Parse the object with the given key from the object stream with the given number without keeping the other
+     * objects of the stream. Used if the objects of the document may be evicted, see
+     * {@link COSDocument#setObjectCacheSize(long)}. The decoded data of the most recently used object streams is kept,
+     * so that the stream isn't decoded and tokenized again for each of its objects.
+     */
+    private COSBase parseSingleObjectStreamObject(long objstmObjNr, COSObjectKey key) throws IOException
+    {
+        COSBase objstmBaseObj = document.getObjectFromPool(new COSObjectKey(objstmObjNr, 0)).getObject();
+        if (objstmBaseObj instanceof COSStream)
+        {
+            try
+            {
+                COSStream objectStream = (COSStream) objstmBaseObj;
+                DecodedObjectStream decoded = getDecodedObjectStream(objstmObjNr, objectStream);
+                Integer position = decoded.objectPositions.get(key.getNumber());
+                if (position == null)
+                {
+                    return null;
+                }
+                return new PDFObjectStreamParser(objectStream, new RandomAccessReadBuffer(decoded.data), document)
+                        .parseObjectAt(position);
+            }
+            catch (IOException ex)
+            {
+                if (isLenient)
+                {
+                    DomGlobal.console.error("object stream " + objstmObjNr
+                            + " could not be parsed due to an exception", ex);
+                }
+                else
+                {
+                    throw ex;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the decoded data of the given object stream, it is decoded if it isn't one of the most recently used
+     * object streams.
+     */
+    private DecodedObjectStream getDecodedObjectStream(long objstmObjNr, COSStream objectStream) throws IOException
+    {
+        synchronized (decodedObjectStreams)
+        {
+            DecodedObjectStream decoded = decodedObjectStreams.get(objstmObjNr);
+            if (decoded != null)
+            {
+                return decoded;
+            }
+        }
+        byte[] data;
+        try (RandomAccessRead view = objectStream.createView())
+        {
+            data = new byte[(int) view.length()];
+            int bytesRead = 0;
+            while (bytesRead < data.length)
+            {
+                int read = view.read(data, bytesRead, data.length - bytesRead);
+                if (read <= 0)
+                {
+                    break;
+                }
+                bytesRead += read;
+            }
+        }
+        DecodedObjectStream decoded = new DecodedObjectStream(data, new PDFObjectStreamParser(objectStream,
+                new RandomAccessReadBuffer(data), document).readObjectPositions());
+        synchronized (decodedObjectStreams)
+        {
+            decodedObjectStreams.put(objstmObjNr, decoded);
+        }
+        return decoded;
+    }
+
     /** 
      * Returns length value referred to or defined in given object. 
      */
@@ -1706,7 +2200,11 @@ public class COSParser extends BaseParser implements ICOSParser
             }
             
             skipSpaces();
-            for(int i = 0; i < count; i++)
+            // decode the regular entries directly, continue with the lenient parsing if an irregular one is found
+            int i = currObjID >= 0 ? parseXrefTableEntries(currObjID, count) : 0;
+            currObjID += i;
+            skipSpaces();
+            for(; i < count; i++)
             {
                 if(source.isEOF() || isEndOfName((char)source.peek()))
                 {
@@ -1760,6 +2258,96 @@ public class COSParser extends BaseParser implements ICOSParser
         return true;
     }
 
+    /**
+     * Parses the entries of an xref table section as long as they match the fixed 20-byte layout
+     * "nnnnnnnnnn ggggg n\r\n" (the end of line may also be " \r" or " \n"). A '\n' following the end of line " \r"
+     * belongs to the entry as well. The source is positioned at the first entry which wasn't parsed.
+     *
+     * @param firstObjID the object number of the first entry
+     * @param count the number of entries of the section
+     * @return the number of parsed entries
+     * @throws IOException If an IO error occurs.
+     */
+    private int parseXrefTableEntries(long firstObjID, int count) throws IOException
+    {
+        int parsed = 0;
+        while (parsed < count)
+        {
+            int entries = Math.min(count - parsed, XREF_ENTRIES_PER_WINDOW);
+            // room for an additional '\n' per entry
+            RandomAccessReadWindow window = source.lookahead(entries * (XREF_ENTRY_LENGTH + 1));
+            byte[] bytes = window.getArray();
+            int start = window.getOffset();
+            int limit = start + window.getLength();
+            int pos = start;
+            int parsedInWindow = 0;
+            while (parsedInWindow < entries && pos + XREF_ENTRY_LENGTH <= limit && isXrefTableEntry(bytes, pos))
+            {
+                if (bytes[pos + 17] == 'n')
+                {
+                    long offset = parseDigits(bytes, pos, 10);
+                    // skip 0 offsets
+                    if (offset > 0)
+                    {
+                        xrefTrailerResolver.setXRef(firstObjID + parsed, (int) parseDigits(bytes, pos + 11, 5),
+                                offset);
+                    }
+                }
+                parsed++;
+                parsedInWindow++;
+                pos += XREF_ENTRY_LENGTH;
+                if (bytes[pos - 1] == ASCII_CR && pos < limit && bytes[pos] == ASCII_LF)
+                {
+                    pos++;
+                }
+            }
+            source.skip(pos - start);
+            if (parsedInWindow < entries)
+            {
+                break;
+            }
+        }
+        return parsed;
+    }
+
+    private static boolean isXrefTableEntry(byte[] bytes, int pos)
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            if (bytes[pos + i] < '0' || bytes[pos + i] > '9')
+            {
+                return false;
+            }
+        }
+        if (bytes[pos + 10] != ' ' || bytes[pos + 16] != ' ')
+        {
+            return false;
+        }
+        for (int i = 11; i < 16; i++)
+        {
+            if (bytes[pos + i] < '0' || bytes[pos + i] > '9')
+            {
+                return false;
+            }
+        }
+        byte type = bytes[pos + 17];
+        byte eol1 = bytes[pos + 18];
+        byte eol2 = bytes[pos + 19];
+        return (type == 'n' || type == 'f')
+                && ((eol1 == ' ' && (eol2 == ASCII_CR || eol2 == ASCII_LF))
+                        || (eol1 == ASCII_CR && eol2 == ASCII_LF));
+    }
+
+    private static long parseDigits(byte[] bytes, int pos, int length)
+    {
+        long value = 0;
+        for (int i = pos; i < pos + length; i++)
+        {
+            value = value * 10 + (bytes[i] - '0');
+        }
+        return value;
+    }
+
     /**
      * Fills XRefTrailerResolver with data of given stream.
      * Stream must be of type XRef.
@@ -1871,4 +2459,18 @@ public class COSParser extends BaseParser implements ICOSParser
         }
     } */
 
+    /**
+     * The decoded data of an object stream and the positions of its objects within the data.
+     */
+    private static final class DecodedObjectStream
+    {
+        private final byte[] data;
+        private final Map<Long, Integer> objectPositions;
+
+        DecodedObjectStream(byte[] data, Map<Long, Integer> objectPositions)
+        {
+            this.data = data;
+            this.objectPositions = objectPositions;
+        }
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import dev.wfj.gwtpdfbox.cos.COSBase;
+import dev.wfj.gwtpdfbox.cos.COSName;
+import dev.wfj.gwtpdfbox.cos.COSObjectKey;
+
+/**
+ * Receives the content of a pdf from a {@link COSScanner} as a sequence of events. Nothing is kept by the scanner,
+ * a visitor keeps whatever it needs. All methods do nothing by default.
+ *
+ * <p>The events of a value are nested, e.g. a dictionary is reported as {@link #beginDictionary()}, followed by
+ * {@link #key(COSName)} and the events of the value for each entry, followed by {@link #endDictionary()}.</p>
+ */
+public interface COSScanVisitor
+{
+    /**
+     * Start of an indirect object, followed by the events of its value.
+     *
+     * @param key the key of the object
+     * @param offset the offset of the object within the file or the negated object number of the object stream
+     * containing it
+     */
+    default void beginObject(COSObjectKey key, long offset)
+    {
+    }
+
+    /**
+     * End of an indirect object.
+     *
+     * @param key the key of the object
+     */
+    default void endObject(COSObjectKey key)
+    {
+    }
+
+    /**
+     * Start of a trailer dictionary of an xref table, followed by the events of the dictionary.
+     *
+     * @param offset the offset of the trailer keyword within the file
+     */
+    default void beginTrailer(long offset)
+    {
+    }
+
+    /**
+     * End of a trailer dictionary.
+     */
+    default void endTrailer()
+    {
+    }
+
+    /**
+     * Start of a dictionary.
+     */
+    default void beginDictionary()
+    {
+    }
+
+    /**
+     * Key of a dictionary entry, followed by the events of the value.
+     *
+     * @param key the key
+     */
+    default void key(COSName key)
+    {
+    }
+
+    /**
+     * End of a dictionary.
+     */
+    default void endDictionary()
+    {
+    }
+
+    /**
+     * Start of an array, followed by the events of the elements.
+     */
+    default void beginArray()
+    {
+    }
+
+    /**
+     * End of an array.
+     */
+    default void endArray()
+    {
+    }
+
+    /**
+     * A simple value.
+     *
+     * @param value a number, string, name, boolean or null
+     */
+    default void scalar(COSBase value)
+    {
+    }
+
+    /**
+     * A reference to an indirect object. The object isn't dereferenced.
+     *
+     * @param key the key of the referenced object
+     */
+    default void reference(COSObjectKey key)
+    {
+    }
+
+    /**
+     * The data of a stream object, reported after the events of its dictionary. The data isn't read, it may be read
+     * from the source once the scan is finished.
+     *
+     * @param offset the offset of the encoded data within the file
+     * @param length the length of the encoded data
+     */
+    default void stream(long offset, long length)
+    {
+    }
+}
@@ -0,0 +1,624 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import java.io.IOException;
+import java.util.Map;
+
+import dev.wfj.gwtpdfbox.cos.COSArray;
+import dev.wfj.gwtpdfbox.cos.COSBase;
+import dev.wfj.gwtpdfbox.cos.COSDictionary;
+import dev.wfj.gwtpdfbox.cos.COSInteger;
+import dev.wfj.gwtpdfbox.cos.COSName;
+import dev.wfj.gwtpdfbox.cos.COSObject;
+import dev.wfj.gwtpdfbox.cos.COSObjectKey;
+import dev.wfj.gwtpdfbox.cos.COSStream;
+import dev.wfj.gwtpdfbox.io.RandomAccessRead;
+import elemental2.dom.DomGlobal;
+
+/**
+ * Walks all indirect objects of a pdf in file order and reports their content to a {@link COSScanVisitor} without
+ * building a {@link dev.wfj.gwtpdfbox.cos.COSDocument}. Neither the xref table is read nor any reference is
+ * dereferenced, so the memory usage doesn't depend on the size of the pdf. It is meant for jobs looking at every object
+ * anyway, e.g. collecting all fonts or the document information of many files.
+ *
+ * <p>Object streams are decoded and their objects are reported right after the object stream. This needs the
+ * dictionary of the object stream and the decoded data in memory, one object stream at a time.</p>
+ *
+ * <p>Incrementally updated objects are reported once per revision, it is up to the visitor to take the last one.</p>
+ */
+public class COSScanner extends BaseParser
+{
+    private static final char[] TRAILER_MARKER = new char[] { 't', 'r', 'a', 'i', 'l', 'e', 'r' };
+    private static final char[] XREF_MARKER = new char[] { 'x', 'r', 'e', 'f' };
+    private static final char[] OBJ_MARKER = new char[] { 'o', 'b', 'j' };
+    private static final char[] STREAM_MARKER = STREAM_STRING.toCharArray();
+    private static final char[] ENDSTREAM_MARKER = ENDSTREAM_STRING.toCharArray();
+    private static final char[] ENDOBJ_MARKER = ENDOBJ_STRING.toCharArray();
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private boolean scanObjectStreams = true;
+
+    private COSScanVisitor visitor;
+    /** the values of /Length and /Type of the current top level dictionary */
+    private COSBase length;
+    private COSBase type;
+    /** the last simple value reported */
+    private COSBase lastScalar;
+
+    /**
+     * Constructor.
+     *
+     * @param source input representing the pdf
+     */
+    public COSScanner(RandomAccessRead source)
+    {
+        super(source);
+    }
+
+    /**
+     * Enables or disables reporting the objects within object streams, it is enabled by default.
+     *
+     * @param scanObjectStreams true to decode object streams and report their objects
+     */
+    public void setScanObjectStreams(boolean scanObjectStreams)
+    {
+        this.scanObjectStreams = scanObjectStreams;
+    }
+
+    /**
+     * Reports the content of the whole pdf to the given visitor. Data which can't be parsed is skipped.
+     *
+     * @param visitor the visitor to report to
+     * @throws IOException if the source couldn't be read
+     */
+    public void scan(COSScanVisitor visitor) throws IOException
+    {
+        this.visitor = visitor;
+        try
+        {
+            source.seek(0);
+            skipSpaces();
+            while (!source.isEOF())
+            {
+                long offset = source.getPosition();
+                int c = source.peek();
+                if (isDigit(c))
+                {
+                    if (!scanObject(offset))
+                    {
+                        skipToken();
+                    }
+                }
+                else if (c == 't' && isString(TRAILER_MARKER))
+                {
+                    source.skip(TRAILER_MARKER.length);
+                    visitor.beginTrailer(offset);
+                    scanValue(true);
+                    visitor.endTrailer();
+                }
+                else if (c == 'x' && isString(XREF_MARKER))
+                {
+                    source.skip(XREF_MARKER.length);
+                    skipXrefEntries();
+                }
+                else
+                {
+                    skipToken();
+                }
+                skipSpaces();
+            }
+        }
+        finally
+        {
+            this.visitor = null;
+        }
+    }
+
+    /**
+     * Reports the object at the current position.
+     *
+     * @param offset the current position
+     * @return false if there isn't any object at the current position
+     * @throws IOException if the source couldn't be read
+     */
+    private boolean scanObject(long offset) throws IOException
+    {
+        COSObjectKey key;
+        try
+        {
+            long objectNumber = readObjectNumber();
+            int generation = readGenerationNumber();
+            skipSpaces();
+            if (!isString(OBJ_MARKER))
+            {
+                source.seek(offset);
+                return false;
+            }
+            key = new COSObjectKey(objectNumber, generation);
+        }
+        catch (IOException exception)
+        {
+            source.seek(offset);
+            return false;
+        }
+        source.skip(OBJ_MARKER.length);
+        visitor.beginObject(key, offset);
+        length = null;
+        type = null;
+        skipSpaces();
+        long dictionaryOffset = source.getPosition();
+        scanValue(true);
+        skipSpaces();
+        boolean isObjectStream = false;
+        long dataOffset = -1;
+        long dataLength = 0;
+        if (isString(STREAM_MARKER))
+        {
+            source.skip(STREAM_MARKER.length);
+            skipWhiteSpaces();
+            dataOffset = source.getPosition();
+            dataLength = readStreamLength(dataOffset);
+            visitor.stream(dataOffset, dataLength);
+            isObjectStream = COSName.OBJ_STM.equals(type);
+            skipSpaces();
+            if (isString(ENDSTREAM_MARKER))
+            {
+                source.skip(ENDSTREAM_MARKER.length);
+                skipSpaces();
+            }
+        }
+        if (isString(ENDOBJ_MARKER))
+        {
+            source.skip(ENDOBJ_MARKER.length);
+        }
+        visitor.endObject(key);
+        if (isObjectStream && scanObjectStreams)
+        {
+            long position = source.getPosition();
+            scanObjectStream(key, dictionaryOffset, dataOffset, dataLength);
+            source.seek(position);
+        }
+        return true;
+    }
+
+    /**
+     * Reports the value at the current position.
+     *
+     * @param topLevel true if the value is the value of an indirect object or a trailer
+     * @return false if there isn't any value at the current position
+     * @throws IOException if the source couldn't be read
+     */
+    private boolean scanValue(boolean topLevel) throws IOException
+    {
+        skipSpaces();
+        int c = source.peek();
+        switch (c)
+        {
+        case '<':
+            source.read();
+            c = source.peek();
+            source.rewind(1);
+            if (c == '<')
+            {
+                scanDictionary(topLevel);
+            }
+            else
+            {
+                reportScalar(parseCOSString());
+            }
+            return true;
+        case '[':
+            scanArray();
+            return true;
+        case '(':
+            reportScalar(parseCOSString());
+            return true;
+        case '/':
+            reportScalar(parseCOSName());
+            return true;
+        case -1:
+        case ']':
+        case '>':
+        case ')':
+            return false;
+        default:
+            COSBase value;
+            try
+            {
+                value = parseDirObject();
+            }
+            catch (IOException exception)
+            {
+                DomGlobal.console.debug("Skipped unexpected value at offset " + source.getPosition(), exception);
+                return false;
+            }
+            if (value == null || value instanceof COSObject)
+            {
+                // an unexpected token, a single 'R' or the end of the object
+                return false;
+            }
+            COSObjectKey reference = value instanceof COSInteger ? readReference((COSInteger) value) : null;
+            if (reference != null)
+            {
+                lastScalar = null;
+                visitor.reference(reference);
+            }
+            else
+            {
+                reportScalar(value);
+            }
+            return true;
+        }
+    }
+
+    private void reportScalar(COSBase value)
+    {
+        lastScalar = value;
+        visitor.scalar(value);
+    }
+
+    /**
+     * Reads the remaining part of a reference if the given number is followed by a generation number and 'R'.
+     *
+     * @param number the number which was read last
+     * @return the key of the reference or null if the number isn't part of a reference
+     * @throws IOException if the source couldn't be read
+     */
+    private COSObjectKey readReference(COSInteger number) throws IOException
+    {
+        long position = source.getPosition();
+        skipSpaces();
+        if (number.longValue() >= 0 && isDigit())
+        {
+            try
+            {
+                int generation = readGenerationNumber();
+                skipSpaces();
+                if (source.peek() == 'R')
+                {
+                    source.read();
+                    return new COSObjectKey(number.longValue(), generation);
+                }
+            }
+            catch (IOException exception)
+            {
+                // not a reference
+            }
+        }
+        source.seek(position);
+        return null;
+    }
+
+    private void scanDictionary(boolean topLevel) throws IOException
+    {
+        source.skip(2);
+        visitor.beginDictionary();
+        while (true)
+        {
+            skipSpaces();
+            int c = source.peek();
+            if (c == '/')
+            {
+                COSName key = parseCOSName();
+                visitor.key(key);
+                lastScalar = null;
+                scanValue(false);
+                if (topLevel && COSName.LENGTH.equals(key))
+                {
+                    length = lastScalar;
+                }
+                else if (topLevel && COSName.TYPE.equals(key))
+                {
+                    type = lastScalar;
+                }
+            }
+            else if (c == '>')
+            {
+                source.read();
+                if (source.peek() == '>')
+                {
+                    source.read();
+                }
+                break;
+            }
+            else if (c == -1 || isEndOfObject())
+            {
+                break;
+            }
+            else
+            {
+                // invalid dictionary, we were expecting a /Name
+                DomGlobal.console.warn("Invalid dictionary, found: '" + (char) c + "' but expected: '/' at offset "
+                        + source.getPosition());
+                skipToken();
+            }
+        }
+        visitor.endDictionary();
+        lastScalar = null;
+    }
+
+    private void scanArray() throws IOException
+    {
+        source.read();
+        visitor.beginArray();
+        while (true)
+        {
+            skipSpaces();
+            int c = source.peek();
+            if (c == ']')
+            {
+                source.read();
+                break;
+            }
+            if (c == -1 || c == '>' || isEndOfObject())
+            {
+                break;
+            }
+            if (!scanValue(false))
+            {
+                // it could be a bad element which is just skipped
+                DomGlobal.console.warn("Corrupt array element at offset " + source.getPosition());
+                skipToken();
+            }
+        }
+        visitor.endArray();
+        lastScalar = null;
+    }
+
+    private boolean isEndOfObject() throws IOException
+    {
+        return isString(ENDOBJ_MARKER) || isString(ENDSTREAM_MARKER);
+    }
+
+    /**
+     * Skips the next token, at least one byte.
+     */
+    private void skipToken() throws IOException
+    {
+        int c = source.read();
+        if (c == -1 || isEndOfName(c))
+        {
+            // a single delimiter
+            return;
+        }
+        c = source.read();
+        while (c != -1 && !isEndOfName(c))
+        {
+            c = source.read();
+        }
+        if (c != -1)
+        {
+            source.rewind(1);
+        }
+    }
+
+    /**
+     * Checks if the given string can be found at the current offset.
+     */
+    private boolean isString(char[] string) throws IOException
+    {
+        long originOffset = source.getPosition();
+        boolean bytesMatching = true;
+        for (char c : string)
+        {
+            if (source.read() != c)
+            {
+                bytesMatching = false;
+                break;
+            }
+        }
+        source.seek(originOffset);
+        return bytesMatching;
+    }
+
+    /**
+     * Skips the entries of an xref table.
+     */
+    private void skipXrefEntries() throws IOException
+    {
+        skipSpaces();
+        int c = source.peek();
+        while (isDigit(c) || c == 'f' || c == 'n')
+        {
+            skipToken();
+            skipSpaces();
+            c = source.peek();
+        }
+    }
+
+    /**
+     * Determines the length of the stream data starting at the given offset. The /Length value is used if it is a
+     * direct number which is followed by "endstream", otherwise the data is searched for "endstream".
+     *
+     * @param dataOffset the offset of the stream data
+     * @return the length of the stream data, the position is the end of the data
+     * @throws IOException if the source couldn't be read
+     */
+    private long readStreamLength(long dataOffset) throws IOException
+    {
+        if (length instanceof COSInteger)
+        {
+            long streamLength = ((COSInteger) length).longValue();
+            if (streamLength >= 0 && dataOffset + streamLength <= source.length())
+            {
+                source.seek(dataOffset + streamLength);
+                skipSpaces();
+                if (isString(ENDSTREAM_MARKER))
+                {
+                    source.seek(dataOffset + streamLength);
+                    return streamLength;
+                }
+            }
+        }
+        long endOffset = findEndstream(dataOffset);
+        source.seek(endOffset);
+        // the end of line marker in front of "endstream" isn't part of the data
+        long end = endOffset;
+        if (end > dataOffset)
+        {
+            source.seek(end - 1);
+            if (source.read() == ASCII_LF)
+            {
+                end--;
+                if (end > dataOffset)
+                {
+                    source.seek(end - 1);
+                    if (source.read() == ASCII_CR)
+                    {
+                        end--;
+                    }
+                }
+            }
+        }
+        source.seek(end);
+        return end - dataOffset;
+    }
+
+    /**
+     * Searches for the next "endstream" keyword.
+     *
+     * @param offset the offset to start at
+     * @return the offset of the keyword or the end of the source if there isn't any
+     * @throws IOException if the source couldn't be read
+     */
+    private long findEndstream(long offset) throws IOException
+    {
+        int markerLength = ENDSTREAM_MARKER.length;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        source.seek(offset);
+        // bytes at the end of the buffer which may be the beginning of the keyword are kept
+        int kept = 0;
+        long bufferOffset = offset;
+        int read;
+        while ((read = source.read(buffer, kept, buffer.length - kept)) > 0)
+        {
+            int available = kept + read;
+            int last = available - markerLength;
+            for (int i = 0; i <= last; i++)
+            {
+                if (buffer[i] == 'e' && matches(buffer, i, ENDSTREAM_MARKER))
+                {
+                    return bufferOffset + i;
+                }
+            }
+            kept = Math.min(available, markerLength - 1);
+            System.arraycopy(buffer, available - kept, buffer, 0, kept);
+            bufferOffset += available - kept;
+        }
+        return source.length();
+    }
+
+    private static boolean matches(byte[] buffer, int offset, char[] marker)
+    {
+        for (int i = 1; i < marker.length; i++)
+        {
+            if (buffer[offset + i] != marker[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the object stream with the given data and reports its objects in the order of their offsets.
+     */
+    private void scanObjectStream(COSObjectKey key, long dictionaryOffset, long dataOffset, long dataLength)
+            throws IOException
+    {
+        Map<Long, COSBase> objects;
+        try
+        {
+            source.seek(dictionaryOffset);
+            COSStream stream = new COSStream();
+            stream.addAll(parseCOSDictionary(false));
+            byte[] encodedData = new byte[(int) dataLength];
+            source.seek(dataOffset);
+            int length = 0;
+            int read;
+            while (length < encodedData.length
+                    && (read = source.read(encodedData, length, encodedData.length - length)) > 0)
+            {
+                length += read;
+            }
+            PDFObjectStreamParser parser = new PDFObjectStreamParser(stream, stream.createView(encodedData), null)
+            {
+                @Override
+                COSBase getObjectFromPool(COSObjectKey objectKey)
+                {
+                    return new COSObject(null, objectKey);
+                }
+            };
+            objects = parser.parseAllObjects();
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            DomGlobal.console.debug("Skipped object stream " + key + " which couldn't be decoded", exception);
+            return;
+        }
+        for (Map.Entry<Long, COSBase> entry : objects.entrySet())
+        {
+            COSObjectKey objectKey = new COSObjectKey(entry.getKey(), 0);
+            visitor.beginObject(objectKey, -key.getNumber());
+            report(entry.getValue());
+            visitor.endObject(objectKey);
+        }
+    }
+
+    @Override
+    COSBase getObjectFromPool(COSObjectKey key)
+    {
+        // references within the dictionary of an object stream aren't resolved
+        return new COSObject(null, key);
+    }
+
+    /**
+     * Reports an already parsed value.
+     */
+    private void report(COSBase value)
+    {
+        if (value instanceof COSObject)
+        {
+            visitor.reference(((COSObject) value).getKey());
+        }
+        else if (value instanceof COSDictionary)
+        {
+            visitor.beginDictionary();
+            for (Map.Entry<COSName, COSBase> entry : ((COSDictionary) value).entrySet())
+            {
+                visitor.key(entry.getKey());
+                report(entry.getValue());
+            }
+            visitor.endDictionary();
+        }
+        else if (value instanceof COSArray)
+        {
+            visitor.beginArray();
+            for (COSBase element : (COSArray) value)
+            {
+                report(element);
+            }
+            visitor.endArray();
+        }
+        else if (value != null)
+        {
+            visitor.scalar(value);
+        }
+    }
+}
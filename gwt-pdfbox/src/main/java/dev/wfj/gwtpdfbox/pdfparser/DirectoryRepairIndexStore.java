@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import dev.wfj.gwtpdfbox.io.GwtIncompatible;
+
+/**
+ * A {@link RepairIndexStore} keeping each entry in a file within the given directory, so that the data survives a
+ * restart and can be shared by several processes. An entry is written to a temporary file first which is renamed
+ * afterwards, a reader never sees a partially written entry.
+ */
+@GwtIncompatible("the browser has no file system")
+public class DirectoryRepairIndexStore implements RepairIndexStore
+{
+    private static final String SUFFIX = ".bfidx";
+
+    private final Path directory;
+
+    /**
+     * Creates a store using the given directory.
+     *
+     * @param directory the directory to keep the entries in
+     * @throws IOException if the directory doesn't exist and couldn't be created
+     */
+    public DirectoryRepairIndexStore(Path directory) throws IOException
+    {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public byte[] load(String key) throws IOException
+    {
+        Path file = directory.resolve(key + SUFFIX);
+        return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+    }
+
+    @Override
+    public void store(String key, byte[] data) throws IOException
+    {
+        Path tempFile = Files.createTempFile(directory, key, ".tmp");
+        try
+        {
+            Files.write(tempFile, data);
+            Files.move(tempFile, directory.resolve(key + SUFFIX), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
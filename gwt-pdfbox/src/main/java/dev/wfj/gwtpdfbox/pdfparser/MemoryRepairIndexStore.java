@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link RepairIndexStore} keeping the data in main memory. The least recently used entries are dropped if the
+ * maximum number of entries is exceeded.
+ *
+ * <p>This class is thread safe.</p>
+ */
+public class MemoryRepairIndexStore implements RepairIndexStore
+{
+    private static final int DEFAULT_MAX_ENTRIES = 100;
+
+    private final Map<String, byte[]> entries;
+
+    /**
+     * Creates a store holding up to 100 entries.
+     */
+    public MemoryRepairIndexStore()
+    {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a store holding up to the given number of entries.
+     *
+     * @param maxEntries the maximum number of entries
+     */
+    public MemoryRepairIndexStore(final int maxEntries)
+    {
+        if (maxEntries < 1)
+        {
+            throw new IllegalArgumentException("The maximum number of entries must be positive: " + maxEntries);
+        }
+        entries = new LinkedHashMap<String, byte[]>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest)
+            {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized byte[] load(String key)
+    {
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void store(String key, byte[] data)
+    {
+        entries.put(key, data);
+    }
+}
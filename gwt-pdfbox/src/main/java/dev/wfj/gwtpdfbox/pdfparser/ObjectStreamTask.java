@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import dev.wfj.gwtpdfbox.cos.COSArray;
+import dev.wfj.gwtpdfbox.cos.COSBase;
+import dev.wfj.gwtpdfbox.cos.COSDocument;
+import dev.wfj.gwtpdfbox.cos.COSName;
+import dev.wfj.gwtpdfbox.cos.COSObjectKey;
+import dev.wfj.gwtpdfbox.cos.COSStream;
+import dev.wfj.gwtpdfbox.io.IOUtils;
+import elemental2.dom.DomGlobal;
+
+/**
+ * Decodes and parses one object stream independently of the parser of the document. The encoded data is read and
+ * all objects needed for decoding are dereferenced when the task is created, so {@link #run()} neither accesses the
+ * source of the document nor the parser and may be called by another thread.
+ */
+final class ObjectStreamTask
+{
+    private final long objstmObjNr;
+    private final COSStream stream;
+    private final byte[] encodedData;
+    private final COSDocument document;
+    private Map<Long, COSBase> objects;
+
+    /**
+     * Constructor.
+     *
+     * @param objstmObjNr the object number of the object stream
+     * @param stream the object stream
+     * @param document the document the object stream belongs to
+     * @throws IOException if the encoded data couldn't be read
+     */
+    ObjectStreamTask(long objstmObjNr, COSStream stream, COSDocument document) throws IOException
+    {
+        this.objstmObjNr = objstmObjNr;
+        this.stream = stream;
+        this.document = document;
+        // the filters read the stream dictionary while decoding, resolve indirect filter parameters now
+        stream.getFilters();
+        COSBase decodeParams = stream.getDictionaryObject(COSName.DP, COSName.DECODE_PARMS);
+        if (decodeParams instanceof COSArray)
+        {
+            COSArray array = (COSArray) decodeParams;
+            for (int i = 0; i < array.size(); i++)
+            {
+                array.getObject(i);
+            }
+        }
+        try (InputStream input = stream.createRawInputStream())
+        {
+            encodedData = IOUtils.toByteArray(input);
+        }
+    }
+
+    /**
+     * Decodes and parses the object stream. Failures are only logged, the object stream is parsed again on demand
+     * and reports the failure then.
+     */
+    void run()
+    {
+        try
+        {
+            PDFObjectStreamParser parser = new PDFObjectStreamParser(stream, stream.createView(encodedData),
+                    document)
+            {
+                @Override
+                COSBase getObjectFromPool(COSObjectKey key) throws IOException
+                {
+                    // other tasks create references at the same time
+                    synchronized (document)
+                    {
+                        return super.getObjectFromPool(key);
+                    }
+                }
+            };
+            objects = parser.parseAllObjects();
+        }
+        catch (IOException | RuntimeException ex)
+        {
+            // don't fail loading the document for an object stream which might never be accessed
+            DomGlobal.console.debug("object stream " + objstmObjNr + " could not be preloaded", ex);
+        }
+    }
+
+    /**
+     * Returns the object number of the object stream.
+     *
+     * @return the object number
+     */
+    long getObjectStreamNumber()
+    {
+        return objstmObjNr;
+    }
+
+    /**
+     * Returns the parsed objects.
+     *
+     * @return the parsed objects using the object number as key, <code>null</code> if the task didn't run or failed
+     */
+    Map<Long, COSBase> getObjects()
+    {
+        return objects;
+    }
+}
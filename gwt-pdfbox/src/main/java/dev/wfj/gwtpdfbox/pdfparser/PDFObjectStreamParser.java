@@ -18,6 +18,7 @@ package dev.wfj.gwtpdfbox.pdfparser;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
@@ -26,6 +27,7 @@ import dev.wfj.gwtpdfbox.cos.COSBase;
 import dev.wfj.gwtpdfbox.cos.COSDocument;
 import dev.wfj.gwtpdfbox.cos.COSName;
 import dev.wfj.gwtpdfbox.cos.COSStream;
+import dev.wfj.gwtpdfbox.io.RandomAccessRead;
 
 /**
  * This will parse a PDF 1.5 object stream and extract the object with given object number from the stream.
@@ -47,7 +49,21 @@ public class PDFObjectStreamParser extends BaseParser
      */
     public PDFObjectStreamParser(COSStream stream, COSDocument document) throws IOException
     {
-        super(stream.createView());
+        this(stream, stream.createView(), document);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param stream The stream to parse.
+     * @param decodedData The decoded data of the stream.
+     * @param document The document for the current parsing.
+     * @throws IOException If there is an error initializing the stream.
+     */
+    PDFObjectStreamParser(COSStream stream, RandomAccessRead decodedData, COSDocument document)
+            throws IOException
+    {
+        super(decodedData);
         this.document = document;
         // get mandatory number of objects
         numberOfObjects = stream.getInt(COSName.N);
@@ -113,12 +129,12 @@ public class PDFObjectStreamParser extends BaseParser
     /**
      * Parse all compressed objects. The stream is closed after parsing.
      * 
-     * @return a map containing all parsed objects using the object number as key
+     * @return a map containing all parsed objects using the object number as key, in the order of their offsets
      * @throws IOException if there is an error while parsing the stream
      */
     public Map<Long, COSBase> parseAllObjects() throws IOException
     {
-        Map<Long, COSBase> allObjects = new HashMap<>();
+        Map<Long, COSBase> allObjects = new LinkedHashMap<>();
         try
         {
             Map<Integer, Long> objectNumbers = privateReadObjectOffsets();
@@ -152,6 +168,50 @@ public class PDFObjectStreamParser extends BaseParser
         return allObjects;
     }
 
+    /**
+     * Read the positions of all objects within the decoded data of the stream, i.e. the offsets of the objects plus
+     * the offset of the first object. The stream is closed after reading the positions.
+     * 
+     * @return a map of all object numbers and the corresponding position within the decoded data
+     * @throws IOException if there is an error while parsing the stream
+     */
+    Map<Long, Integer> readObjectPositions() throws IOException
+    {
+        Map<Long, Integer> objectPositions = readObjectNumbers();
+        for (Entry<Long, Integer> entry : objectPositions.entrySet())
+        {
+            entry.setValue(firstObject + entry.getValue());
+        }
+        return objectPositions;
+    }
+
+    /**
+     * Parse the object at the given position within the decoded data of the stream, see
+     * {@link #readObjectPositions()}. The stream is closed after parsing the object.
+     * 
+     * @param position the position of the object
+     * @return the parsed object
+     * @throws IOException if there is an error while parsing the stream
+     */
+    COSBase parseObjectAt(int position) throws IOException
+    {
+        try
+        {
+            source.seek(position);
+            COSBase streamObject = parseDirObject();
+            if (streamObject != null)
+            {
+                streamObject.setDirect(false);
+            }
+            return streamObject;
+        }
+        finally
+        {
+            source.close();
+            document = null;
+        }
+    }
+
     private Map<Long, Integer> privateReadObjectNumbers() throws IOException
     {
         // don't initialize map using numberOfObjects as there might by less object numbers than expected
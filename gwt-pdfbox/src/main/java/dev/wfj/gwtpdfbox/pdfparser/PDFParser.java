@@ -28,10 +28,14 @@ import dev.wfj.gwtpdfbox.io.IOUtils;
 import dev.wfj.gwtpdfbox.io.RandomAccessRead;
 import dev.wfj.gwtpdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
 import dev.wfj.gwtpdfbox.pdmodel.PDDocument;
+import dev.wfj.gwtpdfbox.pdmodel.PDPage;
+import dev.wfj.gwtpdfbox.pdmodel.PDPageTree;
 import elemental2.dom.DomGlobal;
 
 public class PDFParser extends COSParser
 {
+    private boolean linearizedFastOpen = false;
+
     /**
      * Constructor.
      * Unrestricted main memory will be used for buffering PDF streams.
@@ -108,7 +112,13 @@ public class PDFParser extends COSParser
      */
     protected void initialParse() throws IOException
     {
-        COSDictionary trailer = retrieveTrailer();
+        COSDictionary trailer = linearizedFastOpen ? retrieveLinearizedTrailer() : null;
+        boolean fastOpen = trailer != null;
+        if (!fastOpen)
+        {
+            trailer = retrieveTrailer();
+            preloadObjectStreams();
+        }
     
         COSDictionary root = trailer.getCOSDictionary(COSName.ROOT);
         if (root == null)
@@ -120,12 +130,64 @@ public class PDFParser extends COSParser
         {
             root.setItem(COSName.TYPE, COSName.CATALOG);
         }
-        // check pages dictionaries
-        checkPages(root);
+        // check pages dictionaries, the page tree root isn't part of the first-page section
+        if (!fastOpen)
+        {
+            checkPages(root);
+        }
         document.setDecrypted();
         initialParseDone = true;
     }
 
+    /**
+     * Enables the fast-open mode for linearized documents. Only the linearization dictionary and the first-page xref
+     * section at the beginning of the file are read when parsing, the main xref table is read as soon as an object
+     * outside of the first-page section is requested. Together with a source reading on demand, e.g.
+     * {@link dev.wfj.gwtpdfbox.io.RandomAccessReadRemote}, the first page can be shown after reading only the
+     * beginning of a large document, see {@link #getLinearizedPage(int)}.
+     *
+     * Documents which aren't linearized or were updated incrementally are parsed as usual.
+     *
+     * This method can only be called before the parsing of the file.
+     *
+     * @param fastOpen true to enable the fast-open mode
+     */
+    public void setLinearizedFastOpen(boolean fastOpen)
+    {
+        if (initialParseDone)
+        {
+            throw new IllegalArgumentException("Cannot change the fast-open mode after parsing");
+        }
+        linearizedFastOpen = fastOpen;
+    }
+
+    /**
+     * Returns the page with the given index. In fast-open mode the first page is located via the linearization
+     * dictionary and the other pages via the page offset hint table, without reading the page tree or the main xref
+     * table. Otherwise, or if a page can't be located this way, the page is taken from the page tree.
+     *
+     * This method can only be called after parsing the file.
+     *
+     * @param pageIndex the zero based page index
+     * @return the page
+     * @throws IOException if something went wrong
+     * @throws IndexOutOfBoundsException if the requested index is higher than the page count
+     */
+    public PDPage getLinearizedPage(int pageIndex) throws IOException
+    {
+        if (!initialParseDone || document == null)
+        {
+            throw new IllegalStateException("The document has to be parsed first");
+        }
+        COSDictionary page = getLinearizedPageDictionary(pageIndex);
+        if (page != null)
+        {
+            return new PDPage(page);
+        }
+        COSDictionary root = document.getTrailer().getCOSDictionary(COSName.ROOT);
+        return new PDPageTree(root.getCOSDictionary(COSName.PAGES)).get(pageIndex);
+    }
+
     /**
      * This will parse the stream and populate the PDDocument object. This will close the keystore stream when it is
      * done parsing. Lenient mode is active by default.
@@ -21,8 +21,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import dev.wfj.gwtpdfbox.contentstream.PDContentStream;
+import dev.wfj.gwtpdfbox.contentstream.operator.OperandStack;
 import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
 import dev.wfj.gwtpdfbox.contentstream.operator.OperatorName;
+import dev.wfj.gwtpdfbox.cos.COSArray;
 import dev.wfj.gwtpdfbox.cos.COSBase;
 import dev.wfj.gwtpdfbox.cos.COSBoolean;
 import dev.wfj.gwtpdfbox.cos.COSDictionary;
@@ -30,6 +32,7 @@ import dev.wfj.gwtpdfbox.cos.COSName;
 import dev.wfj.gwtpdfbox.cos.COSNull;
 import dev.wfj.gwtpdfbox.cos.COSNumber;
 import dev.wfj.gwtpdfbox.io.RandomAccessReadBuffer;
+import dev.wfj.gwtpdfbox.io.RandomAccessReadWindow;
 import elemental2.dom.DomGlobal;
 
 /**
@@ -40,7 +43,13 @@ import elemental2.dom.DomGlobal;
 public class PDFStreamParser extends BaseParser
 {
     private static final int MAX_BIN_CHAR_TEST_LENGTH = 10;
+    /** keywords and operators are parsed from a window of this size, longer ones byte by byte */
+    private static final int KEYWORD_WINDOW_SIZE = 32;
+    /** window size used to search for the end of ASCII encoded inline image data */
+    private static final int INLINE_IMAGE_WINDOW_SIZE = 4096;
     private final byte[] binCharTestArr = new byte[MAX_BIN_CHAR_TEST_LENGTH];
+    /** the dictionary of the inline image whose data is parsed next */
+    private COSDictionary inlineImageParameters;
     
     /**
      * Constructor.
@@ -80,6 +89,38 @@ public class PDFStreamParser extends BaseParser
         return streamObjects;
     }
 
+    /**
+     * Parses the tokens up to the next operator. The operands are pushed onto the given stack, plain numbers as
+     * primitive values.
+     *
+     * @param operands the stack to push the operands onto
+     * @return the next operator in the stream or null if there are no more operators in the stream
+     * @throws IOException If an io error occurs while parsing the stream.
+     */
+    public Operator parseNextOperator(OperandStack operands) throws IOException
+    {
+        while (true)
+        {
+            skipSpaces();
+            if (source.isEOF())
+            {
+                source.close();
+                return null;
+            }
+            int c = source.peek();
+            if (((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.') && pushNumberInWindow(operands))
+            {
+                continue;
+            }
+            Object token = parseNextToken();
+            if (token == null || token instanceof Operator)
+            {
+                return (Operator) token;
+            }
+            operands.push((COSBase) token);
+        }
+    }
+
     /**
      * This will parse the next token in the stream.
      *
@@ -126,31 +167,10 @@ public class PDFStreamParser extends BaseParser
                 // name
                 return parseCOSName();
             case 'n':   
-                // null
-                String nullString = readString();
-                if( nullString.equals( "null") )
-                {
-                    return COSNull.NULL;
-                }
-                else
-                {
-                    return Operator.getOperator(nullString);
-                }
             case 't':
             case 'f':
-                String next = readString();
-                if( next.equals( "true" ) )
-                {
-                    return COSBoolean.TRUE;
-                }
-                else if( next.equals( "false" ) )
-                {
-                    return COSBoolean.FALSE;
-                }
-                else
-                {
-                    return Operator.getOperator(next);
-                }
+                // null, true, false or an operator
+                return parseKeyword();
             case '0':
             case '1':
             case '2':
@@ -164,6 +184,11 @@ public class PDFStreamParser extends BaseParser
             case '-':
             case '+':
             case '.':
+                COSNumber number = parseNumberInWindow();
+                if (number != null)
+                {
+                    return number;
+                }
                 /* We will be filling buf with the rest of the number.  Only
                  * allow 1 "." and "-" and "+" at start of number. */
                 StringBuilder buf = new StringBuilder();
@@ -194,12 +219,12 @@ public class PDFStreamParser extends BaseParser
                 }
                 return COSNumber.get(buf.toString());
             case 'B':
-                String nextOperator = readString();
-                Operator beginImageOP = Operator.getOperator(nextOperator);
-                if (nextOperator.equals(OperatorName.BEGIN_INLINE_IMAGE))
+                Operator beginImageOP = (Operator) parseKeyword();
+                if (beginImageOP.getName().equals(OperatorName.BEGIN_INLINE_IMAGE))
                 {
                     COSDictionary imageParams = new COSDictionary();
                     beginImageOP.setImageParameters( imageParams );
+                    inlineImageParameters = imageParams;
                     Object nextToken = null;
                     while( (nextToken = parseNextToken()) instanceof COSName )
                     {
@@ -212,6 +237,7 @@ public class PDFStreamParser extends BaseParser
                         }
                         imageParams.setItem( (COSName)nextToken, (COSBase)value );
                     }
+                    inlineImageParameters = null;
                     //final token will be the image data, maybe??
                     if (nextToken instanceof Operator)
                     {
@@ -232,33 +258,23 @@ public class PDFStreamParser extends BaseParser
                     throw new IOException( "Error: Expected operator 'ID' actual='" + id +
                             "' at stream offset " + source.getPosition());
                 }
-                ByteArrayOutputStream imageData = new ByteArrayOutputStream();
+                COSDictionary imageParameters = inlineImageParameters;
+                inlineImageParameters = null;
                 if( isWhitespace() )
                 {
                     //pull off the whitespace character
                     source.read();
                 }
-                int lastByte = source.read();
-                int currentByte = source.read();
-                // PDF spec is kinda unclear about this. Should a whitespace
-                // always appear before EI? Not sure, so that we just read
-                // until EI<whitespace>.
-                // Be aware not all kind of whitespaces are allowed here. see PDFBOX-1561
-                while( !(lastByte == 'E' &&
-                         currentByte == 'I' &&
-                         hasNextSpaceOrReturn() &&
-                    hasNoFollowingBinData()) &&
-                    !isEOF())
+                byte[] imageData = imageParameters != null ? readInlineImageData(imageParameters) : null;
+                if (imageData == null)
                 {
-                    imageData.write( lastByte );
-                    lastByte = currentByte;
-                    currentByte = source.read();
+                    imageData = scanInlineImageData();
                 }
                 // the EI operator isn't unread, as it won't be processed anyway
                 Operator beginImageDataOP = Operator
                         .getOperator(OperatorName.BEGIN_INLINE_IMAGE_DATA);
                 // save the image data to the operator, so that it can be accessed later
-                beginImageDataOP.setImageData(imageData.toByteArray());
+                beginImageDataOP.setImageData(imageData);
                 return beginImageDataOP;
             case ']':
                 // some ']' around without its previous '['
@@ -269,13 +285,436 @@ public class PDFStreamParser extends BaseParser
                 return COSNull.NULL;
             default:
                 // we must be an operator
-                String operator = readOperator().trim();
-                if (operator.length() > 0)
+                return parseOperator();
+        }
+    }
+
+    /**
+     * Parses the keyword starting at the current position directly from the next bytes. A keyword ends at the same
+     * characters as a string read by {@link #readString()}.
+     *
+     * @return {@link COSNull}, {@link COSBoolean} or the {@link Operator} for the keyword
+     * @throws IOException If an io error occurs while parsing the keyword.
+     */
+    private Object parseKeyword() throws IOException
+    {
+        RandomAccessReadWindow window = source.lookahead(KEYWORD_WINDOW_SIZE);
+        byte[] bytes = window.getArray();
+        int start = window.getOffset();
+        int end = start + window.getLength();
+        int pos = start;
+        while (pos < end && !isEndOfName(bytes[pos] & 0xff))
+        {
+            pos++;
+        }
+        if (pos == end && window.getLength() == KEYWORD_WINDOW_SIZE)
+        {
+            // the keyword exceeds the window, it can't be null, true or false
+            return Operator.getOperator(readString());
+        }
+        int length = pos - start;
+        Object keyword;
+        if (isKeyword(bytes, start, length, "null"))
+        {
+            keyword = COSNull.NULL;
+        }
+        else if (isKeyword(bytes, start, length, "true"))
+        {
+            keyword = COSBoolean.TRUE;
+        }
+        else if (isKeyword(bytes, start, length, "false"))
+        {
+            keyword = COSBoolean.FALSE;
+        }
+        else
+        {
+            keyword = Operator.getOperator(bytes, start, length);
+        }
+        source.skip(length);
+        return keyword;
+    }
+
+    private static boolean isKeyword(byte[] bytes, int offset, int length, String keyword)
+    {
+        if (length != keyword.length())
+        {
+            return false;
+        }
+        for (int i = 0; i < length; i++)
+        {
+            if (bytes[offset + i] != keyword.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the operator starting at the current position directly from the next bytes, see {@link #readOperator()}.
+     *
+     * @return the operator or null if there isn't any
+     * @throws IOException If an io error occurs while parsing the operator.
+     */
+    private Operator parseOperator() throws IOException
+    {
+        RandomAccessReadWindow window = source.lookahead(KEYWORD_WINDOW_SIZE);
+        byte[] bytes = window.getArray();
+        int start = window.getOffset();
+        int end = start + window.getLength();
+        int pos = start;
+        while (pos < end && isOperatorChar(bytes[pos] & 0xff))
+        {
+            // Type3 Glyph description has operators with a number in the name
+            if (bytes[pos++] == 'd' && pos < end && (bytes[pos] == '0' || bytes[pos] == '1'))
+            {
+                pos++;
+            }
+        }
+        if (pos == end && window.getLength() == KEYWORD_WINDOW_SIZE)
+        {
+            // the operator exceeds the window
+            String operator = readOperator().trim();
+            return operator.length() > 0 ? Operator.getOperator(operator) : null;
+        }
+        int length = pos - start;
+        // same as String.trim()
+        while (pos > start && (bytes[pos - 1] & 0xff) <= ' ')
+        {
+            pos--;
+        }
+        int first = start;
+        while (first < pos && (bytes[first] & 0xff) <= ' ')
+        {
+            first++;
+        }
+        Operator operator = pos > first ? Operator.getOperator(bytes, first, pos - first) : null;
+        source.skip(length);
+        return operator;
+    }
+
+    private boolean isOperatorChar(int c)
+    {
+        return !isWhitespace(c) && !isClosing(c) && c != '[' && c != '<' && c != '(' && c != '/'
+                && (c < '0' || c > '9');
+    }
+
+    /**
+     * Parses the number starting at the current position directly from the next bytes without creating a string.
+     * 
+     * @return the number or null if it has to be parsed byte by byte because it contains a "-" to be ignored or it
+     * exceeds the lookahead window
+     * @throws IOException If an io error occurs while parsing the number.
+     */
+    private COSNumber parseNumberInWindow() throws IOException
+    {
+        RandomAccessReadWindow window = source.lookahead(NUMBER_WINDOW_SIZE);
+        int length = getNumberLength(window);
+        if (length < 0)
+        {
+            return null;
+        }
+        source.skip(length);
+        return COSNumber.get(window.getArray(), window.getOffset(), length);
+    }
+
+    /**
+     * Parses the number starting at the current position directly from the next bytes and pushes it onto the given
+     * stack. A plain number is pushed as primitive value.
+     * 
+     * @param operands the stack to push the number onto
+     * @return false if the number has to be parsed byte by byte, see {@link #parseNumberInWindow()}
+     * @throws IOException If an io error occurs while parsing the number.
+     */
+    private boolean pushNumberInWindow(OperandStack operands) throws IOException
+    {
+        RandomAccessReadWindow window = source.lookahead(NUMBER_WINDOW_SIZE);
+        int length = getNumberLength(window);
+        if (length < 0)
+        {
+            return false;
+        }
+        byte[] bytes = window.getArray();
+        int start = window.getOffset();
+        double value = COSNumber.parsePlainNumber(bytes, start, length);
+        if (Double.isNaN(value))
+        {
+            operands.push(COSNumber.get(bytes, start, length));
+        }
+        else if (indexOf(bytes, start, length, '.') < 0)
+        {
+            operands.pushInteger((long) value);
+        }
+        else
+        {
+            operands.pushFloat((float) value);
+        }
+        source.skip(length);
+        return true;
+    }
+
+    /**
+     * Returns the length of the number at the start of the given window.
+     * 
+     * @return the length of the number or -1 if it has to be parsed byte by byte because it contains a "-" to be
+     * ignored or it exceeds the window
+     */
+    private static int getNumberLength(RandomAccessReadWindow window)
+    {
+        byte[] bytes = window.getArray();
+        int start = window.getOffset();
+        int end = start + window.getLength();
+        // only allow 1 "." and "-" and "+" at start of number
+        boolean dotNotRead = bytes[start] != '.';
+        int pos = start + 1;
+        while (pos < end)
+        {
+            int c = bytes[pos];
+            if (c == '-')
+            {
+                // double negative or "-" in the middle of a number
+                return -1;
+            }
+            if (dotNotRead && c == '.')
+            {
+                dotNotRead = false;
+            }
+            else if (c < '0' || c > '9')
+            {
+                break;
+            }
+            pos++;
+        }
+        if (pos == end && window.getLength() == NUMBER_WINDOW_SIZE)
+        {
+            return -1;
+        }
+        return pos - start;
+    }
+
+    private static int indexOf(byte[] bytes, int offset, int length, char c)
+    {
+        for (int i = offset; i < offset + length; i++)
+        {
+            if (bytes[i] == c)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the data of an inline image up to the next EI.
+     *
+     * @return the image data
+     * @throws IOException If an io error occurs while reading the data.
+     */
+    private byte[] scanInlineImageData() throws IOException
+    {
+        ByteArrayOutputStream imageData = new ByteArrayOutputStream();
+        int lastByte = source.read();
+        int currentByte = source.read();
+        // PDF spec is kinda unclear about this. Should a whitespace
+        // always appear before EI? Not sure, so that we just read
+        // until EI<whitespace>.
+        // Be aware not all kind of whitespaces are allowed here. see PDFBOX-1561
+        while( !(lastByte == 'E' &&
+                 currentByte == 'I' &&
+                 hasNextSpaceOrReturn() &&
+            hasNoFollowingBinData()) &&
+            !isEOF())
+        {
+            imageData.write( lastByte );
+            lastByte = currentByte;
+            currentByte = source.read();
+        }
+        return imageData.toByteArray();
+    }
+
+    /**
+     * Reads the data of an inline image without looking at every byte, if the end of the data can be derived from
+     * the image dictionary. That's the case for unfiltered images with a known color space and for ASCII encoded
+     * data, which ends with a terminator. The data has to be followed by EI, otherwise the position is restored.
+     *
+     * @param parameters the dictionary of the inline image
+     * @return the image data including the white space before EI, or null if the data has to be scanned for EI
+     * @throws IOException If an io error occurs while reading the data.
+     */
+    private byte[] readInlineImageData(COSDictionary parameters) throws IOException
+    {
+        long start = source.getPosition();
+        long end;
+        COSBase filters = parameters.getDictionaryObject(COSName.F, COSName.FILTER);
+        if (filters instanceof COSArray)
+        {
+            // the first filter has been applied last
+            filters = ((COSArray) filters).size() > 0 ? ((COSArray) filters).getObject(0) : null;
+        }
+        if (filters == null)
+        {
+            long length = getInlineImageDataLength(parameters);
+            if (length < 0 || start + length > source.length())
+            {
+                return null;
+            }
+            end = start + length;
+        }
+        else if (COSName.ASCII_HEX_DECODE.equals(filters) || COSName.ASCII_HEX_DECODE_ABBREVIATION.equals(filters))
+        {
+            end = findInlineImageTerminator(-1, '>');
+        }
+        else if (COSName.ASCII85_DECODE.equals(filters) || COSName.ASCII85_DECODE_ABBREVIATION.equals(filters))
+        {
+            end = findInlineImageTerminator('~', '>');
+        }
+        else
+        {
+            return null;
+        }
+        long endOfData = end >= 0 ? findEndOfInlineImage(end) : -1;
+        source.seek(start);
+        if (endOfData < 0 || endOfData - start > Integer.MAX_VALUE)
+        {
+            return null;
+        }
+        byte[] imageData = new byte[(int) (endOfData - start)];
+        int offset = 0;
+        while (offset < imageData.length)
+        {
+            int read = source.read(imageData, offset, imageData.length - offset);
+            if (read <= 0)
+            {
+                source.seek(start);
+                return null;
+            }
+            offset += read;
+        }
+        // skip EI
+        source.skip(2);
+        return imageData;
+    }
+
+    /**
+     * Computes the length of unfiltered inline image data.
+     *
+     * @param parameters the dictionary of the inline image
+     * @return the length in bytes or -1 if it can't be computed
+     */
+    private static long getInlineImageDataLength(COSDictionary parameters)
+    {
+        int width = parameters.getInt(COSName.W, COSName.WIDTH, -1);
+        int height = parameters.getInt(COSName.H, COSName.HEIGHT, -1);
+        int bitsPerComponent;
+        int components;
+        if (parameters.getBoolean(COSName.IM, COSName.IMAGE_MASK, false))
+        {
+            bitsPerComponent = 1;
+            components = 1;
+        }
+        else
+        {
+            bitsPerComponent = parameters.getInt(COSName.BPC, COSName.BITS_PER_COMPONENT, -1);
+            components = getInlineImageComponents(parameters.getDictionaryObject(COSName.CS, COSName.COLORSPACE));
+        }
+        if (width <= 0 || height <= 0 || components <= 0 || bitsPerComponent != 1 && bitsPerComponent != 2
+                && bitsPerComponent != 4 && bitsPerComponent != 8 && bitsPerComponent != 16)
+        {
+            return -1;
+        }
+        // each row starts at a byte boundary
+        long rowLength = ((long) width * components * bitsPerComponent + 7) / 8;
+        return rowLength * height;
+    }
+
+    /**
+     * Returns the number of color components of the given inline image color space.
+     *
+     * @return the number of components or -1 for a color space resource or an unknown color space
+     */
+    private static int getInlineImageComponents(COSBase colorSpace)
+    {
+        if (colorSpace instanceof COSArray && ((COSArray) colorSpace).size() > 0)
+        {
+            COSBase family = ((COSArray) colorSpace).getObject(0);
+            return COSName.I.equals(family) || COSName.INDEXED.equals(family) ? 1 : -1;
+        }
+        if (COSName.G.equals(colorSpace) || COSName.DEVICEGRAY.equals(colorSpace))
+        {
+            return 1;
+        }
+        if (COSName.RGB.equals(colorSpace) || COSName.DEVICERGB.equals(colorSpace))
+        {
+            return 3;
+        }
+        if (COSName.CMYK.equals(colorSpace) || COSName.DEVICECMYK.equals(colorSpace))
+        {
+            return 4;
+        }
+        return -1;
+    }
+
+    /**
+     * Searches the terminator of ASCII encoded inline image data starting at the current position.
+     *
+     * @param first the first character of a two character terminator, -1 for a single character
+     * @param last the last character of the terminator
+     * @return the position after the terminator or -1 if there isn't any
+     * @throws IOException If an io error occurs while searching.
+     */
+    private long findInlineImageTerminator(int first, int last) throws IOException
+    {
+        int previous = -1;
+        while (true)
+        {
+            RandomAccessReadWindow window = source.lookahead(INLINE_IMAGE_WINDOW_SIZE);
+            int length = window.getLength();
+            if (length == 0)
+            {
+                return -1;
+            }
+            byte[] bytes = window.getArray();
+            int offset = window.getOffset();
+            for (int i = 0; i < length; i++)
+            {
+                byte b = bytes[offset + i];
+                if (b == last && (first < 0 || previous == first))
                 {
-                    return Operator.getOperator(operator);
+                    long end = source.getPosition() + i + 1;
+                    source.skip(i + 1);
+                    return end;
                 }
+                previous = b;
+            }
+            source.skip(length);
+        }
+    }
+
+    /**
+     * Checks that the given position is followed by optional white space and EI.
+     *
+     * @param position the end of the image data
+     * @return the position of EI or -1 if it doesn't follow
+     * @throws IOException If an io error occurs while reading.
+     */
+    private long findEndOfInlineImage(long position) throws IOException
+    {
+        source.seek(position);
+        int c = source.read();
+        while (c != -1 && isWhitespace(c))
+        {
+            c = source.read();
+        }
+        if (c != 'E' || source.read() != 'I')
+        {
+            return -1;
+        }
+        int next = source.peek();
+        if (next != -1 && !isWhitespace(next))
+        {
+            return -1;
         }
-        return null;
+        return source.getPosition() - 2;
     }
 
     /**
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import java.io.IOException;
+
+/**
+ * The page offset hint table of a linearized document, see PDF 1.7 specification, Annex F.4.1. Only the byte offset
+ * of each page is evaluated, it is the location of the page object which starts the page's part of the file.
+ *
+ * <p>The offsets within the hint table ignore the primary hint stream, they are adjusted by its length.</p>
+ */
+final class PageOffsetHintTable
+{
+    /** byte length of the fixed size header of the table */
+    private static final int HEADER_LENGTH = 36;
+
+    private final long[] pageOffsets;
+
+    private PageOffsetHintTable(long[] pageOffsets)
+    {
+        this.pageOffsets = pageOffsets;
+    }
+
+    /**
+     * Parses the page offset hint table at the beginning of the given decoded hint stream data. The page count is
+     * taken from the linearization dictionary, it is checked against the hint data and the file length before any
+     * per-page data is allocated.
+     *
+     * @param data the decoded data of the primary hint stream
+     * @param pageCount the number of pages of the document
+     * @param hintOffset the offset of the primary hint stream
+     * @param hintLength the length of the primary hint stream
+     * @param fileLength the length of the file
+     * @return the page offset hint table
+     * @throws IOException if the table is truncated or doesn't match the page count
+     */
+    static PageOffsetHintTable parse(byte[] data, int pageCount, long hintOffset, long hintLength,
+            long fileLength) throws IOException
+    {
+        if (pageCount <= 0)
+        {
+            throw new IOException("Illegal page count in linearization dictionary: " + pageCount);
+        }
+        if (data.length < HEADER_LENGTH)
+        {
+            throw new IOException("Page offset hint table is truncated");
+        }
+        BitReader reader = new BitReader(data);
+        // item 1: least number of objects in a page
+        reader.read(32);
+        // item 2: location of the first page's page object
+        long firstPageOffset = reader.read(32);
+        // item 3: bits needed for the difference between the greatest and least number of objects in a page
+        int objectCountBits = (int) reader.read(16);
+        // item 4: least length of a page in bytes
+        long leastPageLength = reader.read(32);
+        // item 5: bits needed for the difference between the greatest and least length of a page
+        int pageLengthBits = (int) reader.read(16);
+        // items 6 to 13 describe content streams and shared objects, they aren't needed
+        reader.skipToByte(HEADER_LENGTH);
+
+        // each page needs its entries within the hint data and at least one byte within the file
+        long objectCountGroupBits = ((long) objectCountBits * pageCount + 7) & ~7L;
+        long requiredBits = (long) HEADER_LENGTH * 8 + objectCountGroupBits + (long) pageLengthBits * pageCount;
+        if (requiredBits > (long) data.length * 8)
+        {
+            throw new IOException("Page offset hint table is too short for " + pageCount + " pages");
+        }
+        if ((leastPageLength == 0 && pageLengthBits == 0) || leastPageLength * pageCount > fileLength)
+        {
+            throw new IOException("Page offset hint table doesn't match " + pageCount + " pages");
+        }
+
+        // the per-page entries are grouped by item, each group starts at a byte boundary
+        reader.skip((long) objectCountBits * pageCount);
+        reader.alignToByte();
+        long[] pageOffsets = new long[pageCount];
+        long offset = firstPageOffset;
+        for (int i = 0; i < pageCount; i++)
+        {
+            pageOffsets[i] = offset >= hintOffset ? offset + hintLength : offset;
+            if (pageOffsets[i] >= fileLength)
+            {
+                throw new IOException("Offset " + pageOffsets[i] + " of page " + i + " is beyond the end of the file");
+            }
+            offset += leastPageLength + reader.read(pageLengthBits);
+        }
+        return new PageOffsetHintTable(pageOffsets);
+    }
+
+    /**
+     * Returns the byte offset of the page object of the page with the given index.
+     *
+     * @param pageIndex the zero based page index
+     * @return the byte offset within the file
+     */
+    long getPageOffset(int pageIndex)
+    {
+        return pageOffsets[pageIndex];
+    }
+
+    /**
+     * Reads big endian bit fields of up to 32 bits.
+     */
+    private static final class BitReader
+    {
+        private final byte[] data;
+        private long bitPosition = 0;
+
+        BitReader(byte[] data)
+        {
+            this.data = data;
+        }
+
+        long read(int bits) throws IOException
+        {
+            if (bitPosition + bits > (long) data.length * 8)
+            {
+                throw new IOException("Page offset hint table is truncated");
+            }
+            long value = 0;
+            for (int i = 0; i < bits; i++)
+            {
+                int bit = (data[(int) (bitPosition >>> 3)] >>> (7 - (int) (bitPosition & 7))) & 1;
+                value = (value << 1) | bit;
+                bitPosition++;
+            }
+            return value;
+        }
+
+        void skip(long bits)
+        {
+            bitPosition += bits;
+        }
+
+        void skipToByte(int bytePosition)
+        {
+            bitPosition = (long) bytePosition * 8;
+        }
+
+        void alignToByte()
+        {
+            bitPosition = (bitPosition + 7) & ~7L;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import dev.wfj.gwtpdfbox.io.GwtIncompatible;
+
+/**
+ * Runs the object stream tasks in parallel on a fork-join pool.
+ *
+ * <p>This class is only available on the JVM.</p>
+ */
+@GwtIncompatible("the browser has no threads")
+final class ParallelObjectStreamTaskRunner implements ObjectStreamTaskRunner
+{
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor.
+     *
+     * @param pool the pool to run the tasks on
+     */
+    ParallelObjectStreamTaskRunner(ForkJoinPool pool)
+    {
+        this.pool = pool;
+    }
+
+    @Override
+    public void runAll(List<ObjectStreamTask> tasks)
+    {
+        // the tasks don't throw, parallel streams of a task submitted to a pool use that pool
+        pool.submit(() -> tasks.parallelStream().forEach(ObjectStreamTask::run)).join();
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.wfj.gwtpdfbox.cos.COSArray;
+import dev.wfj.gwtpdfbox.cos.COSBase;
+import dev.wfj.gwtpdfbox.cos.COSDictionary;
+import dev.wfj.gwtpdfbox.cos.COSName;
+import dev.wfj.gwtpdfbox.cos.COSObject;
+import dev.wfj.gwtpdfbox.cos.COSObjectKey;
+import dev.wfj.gwtpdfbox.cos.COSObjectKeyLongMap;
+import dev.wfj.gwtpdfbox.cos.COSString;
+import dev.wfj.gwtpdfbox.io.RandomAccessRead;
+
+/**
+ * The result of a brute force search of a damaged pdf: the offsets of all found objects and the references of the
+ * rebuilt trailer. It is kept in a {@link RepairIndexStore} so that the search doesn't have to be repeated if the same
+ * file is opened again.
+ */
+final class RepairIndex
+{
+    /** "BFIX" */
+    private static final int MAGIC = 0x42464958;
+    private static final int VERSION = 1;
+
+    /** number of bytes at the beginning and the end of the source which are part of the key */
+    private static final int HASHED_LENGTH = 64 * 1024;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** trailer entries which are references to an object */
+    private static final COSName[] TRAILER_REFERENCES = { COSName.ROOT, COSName.INFO, COSName.ENCRYPT };
+
+    private final COSObjectKeyLongMap objectOffsets;
+    private final Map<COSName, COSObjectKey> trailerReferences;
+    private final List<byte[]> ids;
+
+    private RepairIndex(COSObjectKeyLongMap objectOffsets, Map<COSName, COSObjectKey> trailerReferences,
+            List<byte[]> ids)
+    {
+        this.objectOffsets = objectOffsets;
+        this.trailerReferences = trailerReferences;
+        this.ids = ids;
+    }
+
+    /**
+     * Computes the key of the given source. It is made up of the length of the source and a hash of its first and last
+     * 64 KB. The position of the source isn't changed.
+     *
+     * @param source the source of the pdf
+     * @return the key of the source
+     * @throws IOException if the source couldn't be read
+     */
+    static String computeKey(RandomAccessRead source) throws IOException
+    {
+        long originOffset = source.getPosition();
+        long length = source.length();
+        byte[] buffer = new byte[HASHED_LENGTH];
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(source, 0, buffer, hash);
+        hash = hash(source, Math.max(HASHED_LENGTH, length - HASHED_LENGTH), buffer, hash);
+        source.seek(originOffset);
+        return Long.toHexString(length) + "-" + Long.toHexString(hash);
+    }
+
+    /**
+     * Hashes up to {@link #HASHED_LENGTH} bytes of the source starting at the given offset using FNV-1a.
+     */
+    private static long hash(RandomAccessRead source, long offset, byte[] buffer, long hash) throws IOException
+    {
+        if (offset >= source.length())
+        {
+            return hash;
+        }
+        source.seek(offset);
+        int length = 0;
+        int read = source.read(buffer, 0, buffer.length);
+        while (read > 0 && length < buffer.length)
+        {
+            length += read;
+            read = length < buffer.length ? source.read(buffer, length, buffer.length - length) : -1;
+        }
+        for (int i = 0; i < length; i++)
+        {
+            hash ^= buffer[i] & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Creates the repair index for the given brute force search results.
+     *
+     * @param objectOffsets the offsets of all found objects, negative values are object stream numbers
+     * @param trailer the rebuilt trailer
+     * @return the repair index
+     */
+    static RepairIndex create(COSObjectKeyLongMap objectOffsets, COSDictionary trailer)
+    {
+        COSObjectKeyLongMap offsets = new COSObjectKeyLongMap(objectOffsets.size());
+        offsets.putAll(objectOffsets);
+        Map<COSName, COSObjectKey> references = new LinkedHashMap<>();
+        for (COSName name : TRAILER_REFERENCES)
+        {
+            COSBase value = trailer.getItem(name);
+            if (value instanceof COSObject && ((COSObject) value).getKey() != null)
+            {
+                references.put(name, ((COSObject) value).getKey());
+            }
+        }
+        List<byte[]> ids = new ArrayList<>();
+        COSBase id = trailer.getItem(COSName.ID);
+        if (id instanceof COSArray)
+        {
+            for (COSBase element : (COSArray) id)
+            {
+                if (element instanceof COSString)
+                {
+                    ids.add(((COSString) element).getBytes());
+                }
+            }
+        }
+        return new RepairIndex(offsets, references, ids);
+    }
+
+    /**
+     * Returns the offsets of all found objects.
+     *
+     * @return the offsets of all found objects, negative values are object stream numbers
+     */
+    COSObjectKeyLongMap getObjectOffsets()
+    {
+        return objectOffsets;
+    }
+
+    /**
+     * Returns the references of the rebuilt trailer.
+     *
+     * @return the keys of the objects referenced by the trailer
+     */
+    Map<COSName, COSObjectKey> getTrailerReferences()
+    {
+        return Collections.unmodifiableMap(trailerReferences);
+    }
+
+    /**
+     * Returns the /ID array of the rebuilt trailer.
+     *
+     * @return the /ID array or <code>null</code> if the trailer doesn't contain one
+     */
+    COSArray getId()
+    {
+        if (ids.isEmpty())
+        {
+            return null;
+        }
+        COSArray id = new COSArray();
+        for (byte[] bytes : ids)
+        {
+            id.add(new COSString(bytes));
+        }
+        return id;
+    }
+
+    /**
+     * Serializes the repair index.
+     *
+     * @return the serialized repair index
+     */
+    byte[] toBytes()
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + objectOffsets.size() * 20);
+        writeInt(out, MAGIC);
+        writeInt(out, VERSION);
+        writeInt(out, objectOffsets.size());
+        for (Map.Entry<COSObjectKey, Long> entry : objectOffsets.entrySet())
+        {
+            writeLong(out, entry.getKey().getNumber());
+            writeInt(out, entry.getKey().getGeneration());
+            writeLong(out, entry.getValue());
+        }
+        writeInt(out, trailerReferences.size());
+        for (Map.Entry<COSName, COSObjectKey> entry : trailerReferences.entrySet())
+        {
+            writeBytes(out, entry.getKey().getName().getBytes());
+            writeLong(out, entry.getValue().getNumber());
+            writeInt(out, entry.getValue().getGeneration());
+        }
+        writeInt(out, ids.size());
+        for (byte[] bytes : ids)
+        {
+            writeBytes(out, bytes);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Deserializes a repair index.
+     *
+     * @param data the serialized repair index
+     * @return the repair index
+     * @throws IOException if the data isn't a valid repair index
+     */
+    static RepairIndex fromBytes(byte[] data) throws IOException
+    {
+        Reader reader = new Reader(data);
+        if (reader.readInt() != MAGIC || reader.readInt() != VERSION)
+        {
+            throw new IOException("Unknown repair index format");
+        }
+        int offsetCount = reader.readCount(20);
+        COSObjectKeyLongMap offsets = new COSObjectKeyLongMap(offsetCount);
+        for (int i = 0; i < offsetCount; i++)
+        {
+            offsets.putLong(reader.readObjectKey(), reader.readLong());
+        }
+        int referenceCount = reader.readCount(16);
+        Map<COSName, COSObjectKey> references = new LinkedHashMap<>();
+        for (int i = 0; i < referenceCount; i++)
+        {
+            byte[] name = reader.readBytes();
+            references.put(COSName.getPDFName(name, 0, name.length), reader.readObjectKey());
+        }
+        int idCount = reader.readCount(4);
+        List<byte[]> ids = new ArrayList<>(idCount);
+        for (int i = 0; i < idCount; i++)
+        {
+            ids.add(reader.readBytes());
+        }
+        return new RepairIndex(offsets, references, ids);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value)
+    {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value)
+    {
+        writeInt(out, (int) (value >>> 32));
+        writeInt(out, (int) value);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes)
+    {
+        writeInt(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reads big-endian values from a byte array, each read checks the remaining length.
+     */
+    private static final class Reader
+    {
+        private final byte[] data;
+        private int position = 0;
+
+        Reader(byte[] data)
+        {
+            this.data = data;
+        }
+
+        private void require(long length) throws IOException
+        {
+            if (length < 0 || position + length > data.length)
+            {
+                throw new IOException("Repair index is truncated");
+            }
+        }
+
+        int readInt() throws IOException
+        {
+            require(4);
+            int value = (data[position] & 0xff) << 24 | (data[position + 1] & 0xff) << 16
+                    | (data[position + 2] & 0xff) << 8 | (data[position + 3] & 0xff);
+            position += 4;
+            return value;
+        }
+
+        long readLong() throws IOException
+        {
+            return ((long) readInt() << 32) | (readInt() & 0xffffffffL);
+        }
+
+        /**
+         * Reads an object number and a generation number, a corrupt store may contain negative ones.
+         */
+        COSObjectKey readObjectKey() throws IOException
+        {
+            long number = readLong();
+            int generation = readInt();
+            if (number < 0 || generation < 0)
+            {
+                throw new IOException("Illegal object key " + number + " " + generation + " in repair index");
+            }
+            return new COSObjectKey(number, generation);
+        }
+
+        /**
+         * Reads the number of the following entries and checks that they fit into the remaining data.
+         */
+        int readCount(int minEntryLength) throws IOException
+        {
+            int count = readInt();
+            require((long) count * minEntryLength);
+            return count;
+        }
+
+        byte[] readBytes() throws IOException
+        {
+            int length = readInt();
+            require(length);
+            byte[] bytes = new byte[length];
+            System.arraycopy(data, position, bytes, 0, length);
+            position += length;
+            return bytes;
+        }
+    }
+}
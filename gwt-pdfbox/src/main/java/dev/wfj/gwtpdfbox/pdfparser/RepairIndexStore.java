@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import java.io.IOException;
+
+/**
+ * A store for the results of brute force searches of damaged pdfs, see
+ * {@link COSParser#setRepairIndexStore(RepairIndexStore)}. If a damaged file is opened again, the stored results are
+ * used instead of searching the whole file once more.
+ *
+ * <p>The data is opaque to the store. The keys are made up of hexadecimal digits and '-' only, so they may be used as
+ * file names. Implementations have to be thread safe if they are shared by parsers running concurrently.</p>
+ */
+public interface RepairIndexStore
+{
+    /**
+     * Returns the data stored for the given key.
+     *
+     * @param key the key of the source the data belongs to
+     * @return the stored data or <code>null</code> if there isn't any
+     * @throws IOException if the data couldn't be read
+     */
+    byte[] load(String key) throws IOException;
+
+    /**
+     * Stores the given data for the given key, former data for the same key is replaced.
+     *
+     * @param key the key of the source the data belongs to
+     * @param data the data to be stored
+     * @throws IOException if the data couldn't be stored
+     */
+    void store(String key, byte[] data) throws IOException;
+}
@@ -29,6 +29,7 @@ import java.util.TreeSet;
 import dev.wfj.gwtpdfbox.cos.COSDictionary;
 import dev.wfj.gwtpdfbox.cos.COSName;
 import dev.wfj.gwtpdfbox.cos.COSObjectKey;
+import dev.wfj.gwtpdfbox.cos.COSObjectKeyLongMap;
 import elemental2.dom.DomGlobal;
 
 /**
@@ -63,7 +64,7 @@ public class XrefTrailerResolver
 
         private XRefType xrefType;
 
-        private final Map<COSObjectKey, Long> xrefTable = new HashMap<>();
+        private final COSObjectKeyLongMap xrefTable = new COSObjectKeyLongMap();
         
         /**
          *  Default constructor.
@@ -179,10 +180,26 @@ public class XrefTrailerResolver
         }
         // PDFBOX-3506 check before adding to the map, to avoid entries from the table being 
         // overwritten by obsolete entries in hybrid files (/XRefStm entry)
-        if (!curXrefTrailerObj.xrefTable.containsKey(objKey) )
+        curXrefTrailerObj.xrefTable.putLongIfAbsent(objKey, offset);
+    }
+
+    /**
+     * Populate XRef HashMap of current XRef object without creating a key object, see
+     * {@link #setXRef(COSObjectKey, long)}.
+     *
+     * @param objNumber the object number, must not be negative
+     * @param generation the generation number, must not be negative
+     * @param offset The byte offset in this file
+     */
+    public void setXRef(long objNumber, int generation, long offset)
+    {
+        if ( curXrefTrailerObj == null )
         {
-            curXrefTrailerObj.xrefTable.put(objKey, offset);
+            // should not happen...
+            DomGlobal.console.warn( "Cannot add XRef entry for '" + objNumber + "' because XRef start was not signalled." );
+            return;
         }
+        curXrefTrailerObj.xrefTable.putLongIfAbsent(objNumber, generation, offset);
     }
 
     /**
@@ -227,6 +244,18 @@ public class XrefTrailerResolver
      * 
      */
     public void setStartxref( long startxrefBytePosValue )
+    {
+        setStartxref(startxrefBytePosValue, true);
+    }
+
+    /**
+     * Sets the byte position of the first XRef. Unlike {@link #setStartxref(long)} the 'Prev' chain may be ignored,
+     * e.g. to resolve only the first-page XRef section of a linearized document.
+     *
+     * @param startxrefBytePosValue starting position of the first XRef
+     * @param followPrev whether the chain defined by 'Prev' keys shall be followed
+     */
+    public void setStartxref( long startxrefBytePosValue, boolean followPrev )
     {
         if ( resolvedXrefTrailer != null )
         {
@@ -256,7 +285,7 @@ public class XrefTrailerResolver
             // found starting Xref object
             // add this and follow chain defined by 'Prev' keys
             xrefSeqBytePos.add( startxrefBytePosValue );
-            while ( curObj.trailer != null )
+            while ( followPrev && curObj.trailer != null )
             {
                 long prevBytePos = curObj.trailer.getLong( COSName.PREV, -1L );
                 if ( prevBytePos == -1 )
@@ -312,7 +341,7 @@ public class XrefTrailerResolver
      *
      * @return the xrefTable if available
      */
-    public Map<COSObjectKey, Long> getXrefTable()
+    public COSObjectKeyLongMap getXrefTable()
     {
         return ( resolvedXrefTrailer == null ) ? null : resolvedXrefTrailer.xrefTable;
     }
@@ -20,8 +20,17 @@
  import java.io.IOException;
  //import java.lang.ref.SoftReference;
  import java.util.HashMap;
+ import java.util.Iterator;
+ import java.util.LinkedHashMap;
  import java.util.Map;
+ import dev.wfj.gwtpdfbox.contentstream.CompiledContentStream;
+ import dev.wfj.gwtpdfbox.contentstream.PDContentStream;
+ import dev.wfj.gwtpdfbox.cos.COSArray;
+ import dev.wfj.gwtpdfbox.cos.COSBase;
+ import dev.wfj.gwtpdfbox.cos.COSName;
  import dev.wfj.gwtpdfbox.cos.COSObject;
+ import dev.wfj.gwtpdfbox.cos.COSStream;
+ import dev.wfj.gwtpdfbox.pdmodel.common.COSObjectable;
  import dev.wfj.gwtpdfbox.pdmodel.documentinterchange.markedcontent.PDPropertyList;
  import dev.wfj.gwtpdfbox.pdmodel.font.PDFont;
  import dev.wfj.gwtpdfbox.pdmodel.graphics.PDXObject;
@@ -57,6 +66,49 @@
  
      private final Map<COSObject, PDPropertyList> properties =
              new HashMap<>();
+
+     /**
+      * compiled content streams in access order, keyed by the object holding the content; only to be accessed under
+      * synchronization of this map, as a lookup changes the order as well
+      */
+     private final LinkedHashMap<COSBase, CompiledEntry> contentStreams =
+             new LinkedHashMap<>(16, 0.75f, true);
+     private long contentStreamCacheSize = -1;
+     private long contentStreamBytes = 0;
+
+     /**
+      * Sets the maximum number of bytes used by compiled content streams. Pages processed several times, e.g. by
+      * different text extractors, are only parsed once as long as their compiled content fits into the cache. The
+      * least recently used content streams are dropped when the limit is exceeded.
+      *
+      * <p>A content stream whose data was written after being compiled, e.g. by a {@link PDPageContentStream}, is
+      * compiled again. Setting the size drops all compiled content streams.</p>
+      *
+      * @param maxBytes the maximum number of bytes, <code>-1</code> (the default) to not compile content streams
+      */
+     public void setContentStreamCacheSize(long maxBytes)
+     {
+         synchronized (contentStreams)
+         {
+             contentStreamCacheSize = maxBytes;
+             contentStreams.clear();
+             contentStreamBytes = 0;
+         }
+     }
+
+     /**
+      * Returns the maximum number of bytes used by compiled content streams, see
+      * {@link #setContentStreamCacheSize(long)}.
+      *
+      * @return the maximum number of bytes, <code>-1</code> if content streams aren't compiled
+      */
+     public long getContentStreamCacheSize()
+     {
+         synchronized (contentStreams)
+         {
+             return contentStreamCacheSize;
+         }
+     }
  
      @Override
      public PDFont getFont(COSObject indirect) throws IOException
@@ -176,5 +228,123 @@
      {
          xobjects.put(indirect, xobject);
      }
+ 
+
+     @Override
+     public CompiledContentStream getCompiledContentStream(PDContentStream contentStream) throws IOException
+     {
+         COSBase contents = getContents(contentStream);
+         if (contents == null)
+         {
+             return null;
+         }
+         synchronized (contentStreams)
+         {
+             if (contentStreamCacheSize < 0)
+             {
+                 return null;
+             }
+             CompiledEntry entry = contentStreams.get(contents);
+             if (entry != null && entry.isUpToDate(contents))
+             {
+                 return entry.compiled;
+             }
+         }
+         // the versions are taken before compiling, so that a concurrent modification is detected by the next lookup
+         CompiledEntry entry = new CompiledEntry(contents);
+         entry.compiled = CompiledContentStream.compile(contentStream);
+         synchronized (contentStreams)
+         {
+             if (contentStreamCacheSize >= 0 && entry.compiled.getByteSize() <= contentStreamCacheSize)
+             {
+                 CompiledEntry oldEntry = contentStreams.put(contents, entry);
+                 if (oldEntry != null)
+                 {
+                     contentStreamBytes -= oldEntry.compiled.getByteSize();
+                 }
+                 contentStreamBytes += entry.compiled.getByteSize();
+                 evictContentStreams();
+             }
+         }
+         return entry.compiled;
+     }
+
+     /**
+      * Only to be called under synchronization of {@link #contentStreams}.
+      */
+     private void evictContentStreams()
+     {
+         Iterator<CompiledEntry> iterator = contentStreams.values().iterator();
+         while (contentStreamBytes > contentStreamCacheSize)
+         {
+             contentStreamBytes -= iterator.next().compiled.getByteSize();
+             iterator.remove();
+         }
+     }
+
+     /**
+      * Returns the object holding the content of the given content stream, the content of a page may be split into
+      * several streams.
+      */
+     private static COSBase getContents(PDContentStream contentStream)
+     {
+         if (contentStream instanceof PDPage)
+         {
+             return ((PDPage) contentStream).getCOSObject().getDictionaryObject(COSName.CONTENTS);
+         }
+         if (contentStream instanceof COSObjectable)
+         {
+             return ((COSObjectable) contentStream).getCOSObject();
+         }
+         return null;
+     }
+ 
+     /**
+      * A compiled content stream and the data versions of the streams it was compiled from.
+      */
+     private static final class CompiledEntry
+     {
+         private final COSStream[] streams;
+         private final long[] versions;
+         private CompiledContentStream compiled;
+
+         CompiledEntry(COSBase contents)
+         {
+             int count = contents instanceof COSArray ? ((COSArray) contents).size() : 1;
+             streams = new COSStream[count];
+             versions = new long[count];
+             for (int i = 0; i < count; i++)
+             {
+                 streams[i] = getStream(contents, i);
+                 versions[i] = streams[i] != null ? streams[i].getDataVersion() : 0;
+             }
+         }
+
+         /**
+          * Checks that the given contents still consist of the same streams and that none of them was written.
+          */
+         boolean isUpToDate(COSBase contents)
+         {
+             int count = contents instanceof COSArray ? ((COSArray) contents).size() : 1;
+             if (count != streams.length)
+             {
+                 return false;
+             }
+             for (int i = 0; i < count; i++)
+             {
+                 COSStream stream = getStream(contents, i);
+                 if (stream != streams[i] || (stream != null && stream.getDataVersion() != versions[i]))
+                 {
+                     return false;
+                 }
+             }
+             return true;
+         }
+
+         private static COSStream getStream(COSBase contents, int index)
+         {
+             COSBase base = contents instanceof COSArray ? ((COSArray) contents).getObject(index) : contents;
+             return base instanceof COSStream ? (COSStream) base : null;
+         }
+     }
  }
- 
\ No newline at end of file
@@ -44,8 +44,10 @@ import dev.wfj.gwtpdfbox.cos.COSObject;
 import dev.wfj.gwtpdfbox.cos.COSObjectKey;
 import dev.wfj.gwtpdfbox.cos.COSUpdateInfo;
 import dev.wfj.gwtpdfbox.fontbox.ttf.TrueTypeFont;
+import dev.wfj.gwtpdfbox.io.CountingRandomAccessRead;
 import dev.wfj.gwtpdfbox.io.IOUtils;
 import dev.wfj.gwtpdfbox.io.RandomAccessRead;
+import dev.wfj.gwtpdfbox.io.RandomAccessReadStatistics;
 import dev.wfj.gwtpdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
 import dev.wfj.gwtpdfbox.pdmodel.common.COSArrayList;
 import dev.wfj.gwtpdfbox.pdmodel.common.PDRectangle;
@@ -704,6 +706,19 @@ public class PDDocument implements Closeable
         return document;
     }
 
+    /**
+     * Returns the I/O statistics collected while reading this document. They are only collected if the document was
+     * loaded from a {@link CountingRandomAccessRead}, i.e. the source was wrapped in one and passed to
+     * {@code Loader.loadPDF(RandomAccessRead)}.
+     * 
+     * @return the I/O statistics or null if they weren't collected
+     */
+    public RandomAccessReadStatistics getIOStatistics()
+    {
+        return pdfSource instanceof CountingRandomAccessRead
+                ? ((CountingRandomAccessRead) pdfSource).getStatistics() : null;
+    }
+
     /**
      * This will get the document info dictionary. If it doesn't exist, an empty document info
      * dictionary is created in the document trailer.
@@ -18,6 +18,8 @@
 package dev.wfj.gwtpdfbox.pdmodel;
 
 import java.io.IOException;
+import dev.wfj.gwtpdfbox.contentstream.CompiledContentStream;
+import dev.wfj.gwtpdfbox.contentstream.PDContentStream;
 import dev.wfj.gwtpdfbox.cos.COSObject;
 import dev.wfj.gwtpdfbox.pdmodel.documentinterchange.markedcontent.PDPropertyList;
 import dev.wfj.gwtpdfbox.pdmodel.font.PDFont;
@@ -103,4 +105,15 @@ public interface ResourceCache
      * Puts the given indirect XObject resource in the cache.
      */
     void put(COSObject indirect, PDXObject xobject) throws IOException;
+
+    /**
+     * Returns the compiled operators of the given content stream, the stream is compiled if it isn't in the cache.
+     * The default implementation doesn't cache compiled content streams.
+     *
+     * @return the compiled content stream or null if compiled content streams aren't cached
+     */
+    default CompiledContentStream getCompiledContentStream(PDContentStream contentStream) throws IOException
+    {
+        return null;
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.cos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import dev.wfj.gwtpdfbox.Loader;
+import dev.wfj.gwtpdfbox.pdmodel.PDDocument;
+
+/**
+ * Tests the bounded object cache of {@link COSDocument}, see {@link COSDocument#setObjectCacheSize(long)}.
+ */
+class COSObjectCacheTest
+{
+    private static final int PAGE_COUNT = 50;
+    private static final long CACHE_SIZE = 2048;
+
+    @Test
+    void testUnchangedStreamsAreEvicted() throws IOException
+    {
+        try (PDDocument document = Loader.loadPDF(createPdf(PAGE_COUNT)))
+        {
+            COSDocument cosDocument = document.getDocument();
+            cosDocument.setObjectCacheSize(CACHE_SIZE);
+            for (int i = 0; i < PAGE_COUNT; i++)
+            {
+                assertEquals(content(i), readContent(cosDocument, i));
+            }
+            assertFalse(contentObject(cosDocument, 0).isDereferenced());
+            assertEquals(content(0), readContent(cosDocument, 0));
+        }
+    }
+
+    @Test
+    void testModifiedObjectIsPinned() throws IOException
+    {
+        try (PDDocument document = Loader.loadPDF(createPdf(PAGE_COUNT)))
+        {
+            COSDocument cosDocument = document.getDocument();
+            cosDocument.setObjectCacheSize(CACHE_SIZE);
+            COSObject pageObject = pageObject(cosDocument, 0);
+            COSDictionary page = (COSDictionary) pageObject.getObject();
+            page.getCOSArray(COSName.MEDIA_BOX).set(2, COSInteger.get(100));
+            readAll(cosDocument);
+            assertTrue(pageObject.isDereferenced());
+            assertSame(page, pageObject.getObject());
+        }
+    }
+
+    @Test
+    void testModifiedEvictedCopyIsAttached() throws IOException
+    {
+        try (PDDocument document = Loader.loadPDF(createPdf(PAGE_COUNT)))
+        {
+            COSDocument cosDocument = document.getDocument();
+            cosDocument.setObjectCacheSize(CACHE_SIZE);
+            COSObject pageObject = pageObject(cosDocument, 0);
+            COSDictionary page = (COSDictionary) pageObject.getObject();
+            readAll(cosDocument);
+            assertFalse(pageObject.isDereferenced());
+
+            page.setInt(COSName.ROTATE, 90);
+            assertTrue(pageObject.isDereferenced());
+            assertSame(page, pageObject.getObject());
+            readAll(cosDocument);
+            assertEquals(90, ((COSDictionary) pageObject.getObject()).getInt(COSName.ROTATE));
+        }
+    }
+
+    @Test
+    void testWrittenStreamIsPinned() throws IOException
+    {
+        try (PDDocument document = Loader.loadPDF(createPdf(PAGE_COUNT)))
+        {
+            COSDocument cosDocument = document.getDocument();
+            cosDocument.setObjectCacheSize(CACHE_SIZE);
+            COSStream stream = (COSStream) contentObject(cosDocument, 3).getObject();
+            try (OutputStream out = stream.createOutputStream())
+            {
+                out.write("0 0 m 10 10 l S".getBytes(StandardCharsets.US_ASCII));
+            }
+            readAll(cosDocument);
+            assertSame(stream, contentObject(cosDocument, 3).getObject());
+            assertEquals("0 0 m 10 10 l S", readContent(cosDocument, 3));
+        }
+    }
+
+    private static void readAll(COSDocument cosDocument) throws IOException
+    {
+        for (int i = 0; i < PAGE_COUNT; i++)
+        {
+            pageObject(cosDocument, i).getObject();
+            readContent(cosDocument, i);
+        }
+    }
+
+    private static COSObject pageObject(COSDocument cosDocument, int pageIndex)
+    {
+        return cosDocument.getObjectFromPool(new COSObjectKey(3 + 2 * pageIndex, 0));
+    }
+
+    private static COSObject contentObject(COSDocument cosDocument, int pageIndex)
+    {
+        return cosDocument.getObjectFromPool(new COSObjectKey(4 + 2 * pageIndex, 0));
+    }
+
+    private static String readContent(COSDocument cosDocument, int pageIndex) throws IOException
+    {
+        COSStream stream = (COSStream) contentObject(cosDocument, pageIndex).getObject();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = stream.createInputStream())
+        {
+            byte[] buffer = new byte[256];
+            int read;
+            while ((read = in.read(buffer)) > 0)
+            {
+                out.write(buffer, 0, read);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static String content(int pageIndex)
+    {
+        return "BT /F1 12 Tf 72 720 Td (This is page " + pageIndex + ") Tj ET";
+    }
+
+    /**
+     * Creates a document with the given number of pages, each page has its own content stream.
+     */
+    static byte[] createPdf(int pageCount)
+    {
+        StringBuilder pdf = new StringBuilder("%PDF-1.4\n");
+        long[] offsets = new long[3 + 2 * pageCount];
+        offsets[1] = pdf.length();
+        pdf.append("1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+        offsets[2] = pdf.length();
+        pdf.append("2 0 obj\n<< /Type /Pages /Count ").append(pageCount).append(" /Kids [");
+        for (int i = 0; i < pageCount; i++)
+        {
+            pdf.append(' ').append(3 + 2 * i).append(" 0 R");
+        }
+        pdf.append(" ] >>\nendobj\n");
+        for (int i = 0; i < pageCount; i++)
+        {
+            offsets[3 + 2 * i] = pdf.length();
+            pdf.append(3 + 2 * i).append(" 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Contents ")
+                    .append(4 + 2 * i).append(" 0 R >>\nendobj\n");
+            String content = content(i);
+            offsets[4 + 2 * i] = pdf.length();
+            pdf.append(4 + 2 * i).append(" 0 obj\n<< /Length ").append(content.length()).append(" >>\nstream\n")
+                    .append(content).append("\nendstream\nendobj\n");
+        }
+        long xrefOffset = pdf.length();
+        pdf.append("xref\n0 ").append(offsets.length).append("\n0000000000 65535 f\r\n");
+        for (int i = 1; i < offsets.length; i++)
+        {
+            pdf.append(String.format("%010d 00000 n\r\n", offsets[i]));
+        }
+        pdf.append("trailer\n<< /Size ").append(offsets.length).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xrefOffset).append("\n%%EOF\n");
+        return pdf.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
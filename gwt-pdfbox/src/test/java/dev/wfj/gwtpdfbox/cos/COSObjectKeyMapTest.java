@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.cos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link COSObjectKeyMap} and {@link COSObjectKeyLongMap} against a {@link HashMap}.
+ */
+class COSObjectKeyMapTest
+{
+    @Test
+    void testHugeObjectNumbers()
+    {
+        // the packed keys of these object numbers are negative, -1 and -2 included
+        COSObjectKey huge = new COSObjectKey(1L << 47, 0);
+        COSObjectKey minusOne = new COSObjectKey((1L << 48) - 1, 0xFFFF);
+        COSObjectKey minusTwo = new COSObjectKey((1L << 48) - 1, 0xFFFE);
+        COSObjectKeyMap<String> map = new COSObjectKeyMap<>();
+        COSObjectKeyLongMap longMap = new COSObjectKeyLongMap();
+        map.put(huge, "huge");
+        map.put(minusOne, "minusOne");
+        map.put(minusTwo, "minusTwo");
+        longMap.putLong(huge, 1);
+        longMap.putLong(minusOne, 2);
+        longMap.putLong(minusTwo, 3);
+        for (int i = 1; i < 200; i++)
+        {
+            map.put(new COSObjectKey(i, 0), "obj" + i);
+            longMap.putLong(new COSObjectKey(i, 0), i * 10L);
+        }
+        assertEquals(202, map.size());
+        assertEquals("huge", map.get(huge));
+        assertEquals("minusOne", map.get(minusOne));
+        assertEquals("minusTwo", map.get(minusTwo));
+        assertEquals(1, longMap.getLong(huge, -1));
+        assertEquals(2, longMap.getLong(minusOne, -1));
+        assertEquals(3, longMap.getLong(minusTwo, -1));
+
+        COSObjectKeyLongMap copy = new COSObjectKeyLongMap();
+        copy.putAll(longMap);
+        assertEquals(202, copy.size());
+        assertEquals(2, copy.getLong(minusOne, -1));
+        assertTrue(copy.keySet().contains(minusTwo));
+    }
+
+    @Test
+    void testMatchesHashMap()
+    {
+        COSObjectKeyMap<Long> map = new COSObjectKeyMap<>();
+        Map<COSObjectKey, Long> expected = new HashMap<>();
+        Random random = new Random(4711);
+        for (int i = 0; i < 100000; i++)
+        {
+            long number = random.nextInt(4) == 0 ? random.nextLong() >>> 16 : random.nextInt(2000);
+            COSObjectKey key = new COSObjectKey(number, random.nextInt(3));
+            if (random.nextInt(3) == 0)
+            {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            else
+            {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        for (Map.Entry<COSObjectKey, Long> entry : expected.entrySet())
+        {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void testIteratorRemove()
+    {
+        COSObjectKeyMap<String> map = new COSObjectKeyMap<>();
+        for (int i = 0; i < 100; i++)
+        {
+            map.put(new COSObjectKey(i, 0), "obj" + i);
+        }
+        Iterator<Map.Entry<COSObjectKey, String>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            if (iterator.next().getKey().getNumber() % 2 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        assertEquals(50, map.size());
+        assertNull(map.get(new COSObjectKey(10, 0)));
+        assertEquals("obj11", map.get(new COSObjectKey(11, 0)));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(new COSObjectKey(11, 0)));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the parsing and validation of the {@link PageOffsetHintTable}.
+ */
+class PageOffsetHintTableTest
+{
+    private static final long HINT_OFFSET = 500;
+    private static final long HINT_LENGTH = 50;
+
+    @Test
+    void testPageOffsets() throws IOException
+    {
+        byte[] data = createTable(400, 4, 100, 8, new int[] { 1, 2, 3 }, new int[] { 5, 6, 7 });
+        PageOffsetHintTable table = PageOffsetHintTable.parse(data, 3, HINT_OFFSET, HINT_LENGTH, 100000);
+        // the first page is located before the hint stream
+        assertEquals(400, table.getPageOffset(0));
+        assertEquals(400 + 105 + HINT_LENGTH, table.getPageOffset(1));
+        assertEquals(400 + 105 + 106 + HINT_LENGTH, table.getPageOffset(2));
+    }
+
+    @Test
+    void testInvalidPageCount() throws IOException
+    {
+        byte[] data = createTable(1000, 4, 100, 8, new int[3], new int[3]);
+        assertThrows(IOException.class, () -> PageOffsetHintTable.parse(data, 0, HINT_OFFSET, HINT_LENGTH, 100000));
+        // the hint data doesn't contain entries for that many pages
+        assertThrows(IOException.class,
+                () -> PageOffsetHintTable.parse(data, Integer.MAX_VALUE, HINT_OFFSET, HINT_LENGTH, 100000));
+        // pages without any entries need at least one byte each
+        byte[] empty = createTable(1000, 0, 0, 0, new int[1], new int[1]);
+        assertThrows(IOException.class,
+                () -> PageOffsetHintTable.parse(empty, Integer.MAX_VALUE, HINT_OFFSET, HINT_LENGTH, 100000));
+        byte[] fixedLength = createTable(1000, 0, 100, 0, new int[1], new int[1]);
+        assertThrows(IOException.class,
+                () -> PageOffsetHintTable.parse(fixedLength, Integer.MAX_VALUE, HINT_OFFSET, HINT_LENGTH, 100000));
+    }
+
+    @Test
+    void testOffsetBeyondFile() throws IOException
+    {
+        byte[] data = createTable(1000, 4, 100, 8, new int[3], new int[] { 5, 6, 7 });
+        assertThrows(IOException.class, () -> PageOffsetHintTable.parse(data, 3, HINT_OFFSET, HINT_LENGTH, 1200));
+    }
+
+    @Test
+    void testTruncatedTable() throws IOException
+    {
+        assertThrows(IOException.class,
+                () -> PageOffsetHintTable.parse(new byte[35], 1, HINT_OFFSET, HINT_LENGTH, 100000));
+        byte[] data = createTable(1000, 4, 100, 8, new int[3], new int[] { 5, 6, 7 });
+        byte[] truncated = new byte[data.length - 1];
+        System.arraycopy(data, 0, truncated, 0, truncated.length);
+        assertThrows(IOException.class,
+                () -> PageOffsetHintTable.parse(truncated, 3, HINT_OFFSET, HINT_LENGTH, 100000));
+    }
+
+    /**
+     * Creates a page offset hint table containing the header and the first two per-page items.
+     */
+    private static byte[] createTable(long firstPageOffset, int objectCountBits, long leastPageLength,
+            int pageLengthBits, int[] objectCounts, int[] pageLengths)
+    {
+        int pageCount = objectCounts.length;
+        int objectCountBytes = (objectCountBits * pageCount + 7) / 8;
+        byte[] data = new byte[36 + objectCountBytes + (pageLengthBits * pageCount + 7) / 8];
+        int bit = write(data, 0, 1, 32);
+        bit = write(data, bit, firstPageOffset, 32);
+        bit = write(data, bit, objectCountBits, 16);
+        bit = write(data, bit, leastPageLength, 32);
+        write(data, bit, pageLengthBits, 16);
+        bit = 36 * 8;
+        for (int objectCount : objectCounts)
+        {
+            bit = write(data, bit, objectCount, objectCountBits);
+        }
+        bit = (36 + objectCountBytes) * 8;
+        for (int pageLength : pageLengths)
+        {
+            bit = write(data, bit, pageLength, pageLengthBits);
+        }
+        return data;
+    }
+
+    /**
+     * Writes a big endian bit field and returns the bit position after it.
+     */
+    private static int write(byte[] data, int bit, long value, int bits)
+    {
+        for (int i = bits - 1; i >= 0; i--)
+        {
+            if (((value >>> i) & 1) != 0)
+            {
+                data[bit >>> 3] |= 0x80 >>> (bit & 7);
+            }
+            bit++;
+        }
+        return bit;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdfparser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import dev.wfj.gwtpdfbox.cos.COSArray;
+import dev.wfj.gwtpdfbox.cos.COSDictionary;
+import dev.wfj.gwtpdfbox.cos.COSName;
+import dev.wfj.gwtpdfbox.cos.COSObject;
+import dev.wfj.gwtpdfbox.cos.COSObjectKey;
+import dev.wfj.gwtpdfbox.cos.COSObjectKeyLongMap;
+import dev.wfj.gwtpdfbox.cos.COSString;
+import dev.wfj.gwtpdfbox.io.RandomAccessReadBuffer;
+import dev.wfj.gwtpdfbox.pdmodel.PDDocument;
+
+/**
+ * Tests the serialization of {@link RepairIndex} and its use by {@link COSParser}.
+ */
+class RepairIndexTest
+{
+    private static final int MAGIC = 0x42464958;
+    private static final int VERSION = 1;
+
+    @Test
+    void testRoundTrip() throws IOException
+    {
+        COSObjectKeyLongMap offsets = new COSObjectKeyLongMap();
+        offsets.putLong(new COSObjectKey(1, 0), 15);
+        offsets.putLong(new COSObjectKey(7, 2), 4711);
+        offsets.putLong(new COSObjectKey(12, 0), -3);
+        COSDictionary trailer = new COSDictionary();
+        trailer.setItem(COSName.ROOT, new COSObject(new COSDictionary(), new COSObjectKey(1, 0)));
+        COSArray id = new COSArray();
+        id.add(new COSString(new byte[] { 1, 2, 3 }));
+        id.add(new COSString(new byte[] { 4, 5 }));
+        trailer.setItem(COSName.ID, id);
+
+        RepairIndex index = RepairIndex.fromBytes(RepairIndex.create(offsets, trailer).toBytes());
+        assertEquals(offsets, index.getObjectOffsets());
+        assertEquals(new COSObjectKey(1, 0), index.getTrailerReferences().get(COSName.ROOT));
+        assertEquals(1, index.getTrailerReferences().size());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, ((COSString) index.getId().get(0)).getBytes());
+        assertArrayEquals(new byte[] { 4, 5 }, ((COSString) index.getId().get(1)).getBytes());
+    }
+
+    @Test
+    void testCorruptData() throws IOException
+    {
+        // negative object number
+        assertThrows(IOException.class, () -> RepairIndex.fromBytes(createIndex(-5, 0)));
+        // negative generation number
+        assertThrows(IOException.class, () -> RepairIndex.fromBytes(createIndex(5, -1)));
+        // truncated
+        byte[] data = createIndex(5, 0);
+        assertThrows(IOException.class, () -> RepairIndex.fromBytes(Arrays.copyOf(data, data.length - 1)));
+        // unknown format
+        assertThrows(IOException.class, () -> RepairIndex.fromBytes(new byte[16]));
+    }
+
+    @Test
+    void testCorruptStoreFallsBackToRebuild() throws IOException
+    {
+        MemoryRepairIndexStore store = new MemoryRepairIndexStore()
+        {
+            @Override
+            public byte[] load(String key)
+            {
+                try
+                {
+                    return createIndex(-1, -1);
+                }
+                catch (IOException exception)
+                {
+                    throw new IllegalStateException(exception);
+                }
+            }
+        };
+        PDFParser parser = new PDFParser(new RandomAccessReadBuffer(createDamagedPdf()));
+        parser.setRepairIndexStore(store);
+        try (PDDocument document = parser.parse())
+        {
+            assertEquals(1, document.getNumberOfPages());
+        }
+    }
+
+    @Test
+    void testStoredIndexIsUsed() throws IOException
+    {
+        int[] hits = new int[1];
+        MemoryRepairIndexStore store = new MemoryRepairIndexStore()
+        {
+            @Override
+            public synchronized byte[] load(String key)
+            {
+                byte[] data = super.load(key);
+                if (data != null)
+                {
+                    hits[0]++;
+                }
+                return data;
+            }
+        };
+        for (int i = 0; i < 2; i++)
+        {
+            PDFParser parser = new PDFParser(new RandomAccessReadBuffer(createDamagedPdf()));
+            parser.setRepairIndexStore(store);
+            try (PDDocument document = parser.parse())
+            {
+                assertEquals(1, document.getNumberOfPages());
+            }
+            assertEquals(i, hits[0]);
+        }
+    }
+
+    /**
+     * Creates a serialized repair index with a single object offset.
+     */
+    private static byte[] createIndex(long number, int generation) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(1);
+        out.writeLong(number);
+        out.writeInt(generation);
+        out.writeLong(9);
+        out.writeInt(0);
+        out.writeInt(0);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Creates a document whose xref offset is wrong, so that it has to be searched for its objects.
+     */
+    private static byte[] createDamagedPdf()
+    {
+        String pdf = "%PDF-1.4\n"
+                + "1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n"
+                + "2 0 obj\n<< /Type /Pages /Count 1 /Kids [3 0 R] >>\nendobj\n"
+                + "3 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] >>\nendobj\n"
+                + "trailer\n<< /Size 4 /Root 1 0 R >>\nstartxref\n999999\n%%EOF\n";
+        return pdf.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.wfj.gwtpdfbox.pdmodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.wfj.gwtpdfbox.contentstream.CompiledContentStream;
+import dev.wfj.gwtpdfbox.contentstream.PDFStreamEngine;
+import dev.wfj.gwtpdfbox.contentstream.operator.Operator;
+import dev.wfj.gwtpdfbox.cos.COSArray;
+import dev.wfj.gwtpdfbox.cos.COSBase;
+import dev.wfj.gwtpdfbox.cos.COSName;
+import dev.wfj.gwtpdfbox.cos.COSStream;
+
+/**
+ * Tests the compiled content streams of the {@link DefaultResourceCache}.
+ */
+class DefaultResourceCacheTest
+{
+    private static final String CONTENT = "q 1 0 0 1 5.5 -7 cm /F1 12 Tf (Hello) Tj [(a) -20 (b)] TJ Q";
+
+    @Test
+    void testCompiledStreamIsReused() throws IOException
+    {
+        try (PDDocument document = new PDDocument())
+        {
+            PDPage page = createPage(document, CONTENT);
+            DefaultResourceCache cache = (DefaultResourceCache) document.getResourceCache();
+            assertNull(cache.getCompiledContentStream(page));
+
+            cache.setContentStreamCacheSize(1 << 20);
+            CompiledContentStream compiled = cache.getCompiledContentStream(page);
+            assertNotNull(compiled);
+            assertSame(compiled, cache.getCompiledContentStream(page));
+
+            // a stream exceeding the cache size is compiled for every lookup
+            cache.setContentStreamCacheSize(compiled.getByteSize() - 1);
+            assertNotSame(cache.getCompiledContentStream(page), cache.getCompiledContentStream(page));
+        }
+    }
+
+    @Test
+    void testReplayMatchesParsing() throws IOException
+    {
+        try (PDDocument document = new PDDocument())
+        {
+            PDPage page = createPage(document, CONTENT);
+            List<String> parsed = processPage(page);
+            assertEquals(6, parsed.size());
+
+            ((DefaultResourceCache) document.getResourceCache()).setContentStreamCacheSize(1 << 20);
+            assertEquals(parsed, processPage(page));
+            assertEquals(parsed, processPage(page));
+        }
+    }
+
+    @Test
+    void testModifiedStreamIsCompiledAgain() throws IOException
+    {
+        try (PDDocument document = new PDDocument())
+        {
+            PDPage page = createPage(document, CONTENT);
+            DefaultResourceCache cache = (DefaultResourceCache) document.getResourceCache();
+            cache.setContentStreamCacheSize(1 << 20);
+            CompiledContentStream compiled = cache.getCompiledContentStream(page);
+
+            COSStream stream = (COSStream) page.getCOSObject().getDictionaryObject(COSName.CONTENTS);
+            writeContent(stream, "2 w");
+            assertNotSame(compiled, cache.getCompiledContentStream(page));
+            assertEquals(1, processPage(page).size());
+
+            // the contents are replaced by an array of streams
+            COSArray contents = new COSArray();
+            contents.add(stream);
+            contents.add(createStream(document, "0 0 m 10 10 l S"));
+            page.getCOSObject().setItem(COSName.CONTENTS, contents);
+            assertEquals(4, processPage(page).size());
+        }
+    }
+
+    /**
+     * Returns the operators of the given page with their operands.
+     */
+    private static List<String> processPage(PDPage page) throws IOException
+    {
+        List<String> operators = new ArrayList<>();
+        PDFStreamEngine engine = new PDFStreamEngine()
+        {
+            @Override
+            protected void processOperator(Operator operator, List<COSBase> operands) throws IOException
+            {
+                operators.add(operator.getName() + " " + operands);
+            }
+        };
+        engine.processPage(page);
+        return operators;
+    }
+
+    private static PDPage createPage(PDDocument document, String content) throws IOException
+    {
+        PDPage page = new PDPage();
+        page.getCOSObject().setItem(COSName.CONTENTS, createStream(document, content));
+        document.addPage(page);
+        return document.getPage(0);
+    }
+
+    private static COSStream createStream(PDDocument document, String content) throws IOException
+    {
+        COSStream stream = document.getDocument().createCOSStream();
+        writeContent(stream, content);
+        return stream;
+    }
+
+    private static void writeContent(COSStream stream, String content) throws IOException
+    {
+        try (OutputStream out = stream.createOutputStream())
+        {
+            out.write(content.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+}